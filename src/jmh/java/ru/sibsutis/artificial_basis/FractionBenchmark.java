@@ -0,0 +1,99 @@
+package ru.sibsutis.artificial_basis;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigInteger;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Арифметика {@link Fraction}: small — числители и знаменатели в long,
+ * big — значения, не помещающиеся в long (медленный путь через BigInteger).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FractionBenchmark {
+    private static final int COUNT = 1024;
+
+    @Param({"small", "big"})
+    private String magnitude;
+
+    private Fraction[] left;
+    private Fraction[] right;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        left = new Fraction[COUNT];
+        right = new Fraction[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            left[i] = randomFraction(random);
+            right[i] = randomFraction(random);
+        }
+    }
+
+    private Fraction randomFraction(Random random) {
+        if (magnitude.equals("small")) {
+            return new Fraction(random.nextInt(2001) - 1000, 1 + random.nextInt(1000));
+        }
+        BigInteger numerator = new BigInteger(96, random).subtract(BigInteger.ONE.shiftLeft(95));
+        BigInteger denominator = new BigInteger(96, random).add(BigInteger.ONE);
+        return new Fraction(numerator, denominator);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void add(Blackhole blackhole) {
+        for (int i = 0; i < COUNT; i++) {
+            blackhole.consume(left[i].add(right[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void subtract(Blackhole blackhole) {
+        for (int i = 0; i < COUNT; i++) {
+            blackhole.consume(left[i].subtract(right[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void multiply(Blackhole blackhole) {
+        for (int i = 0; i < COUNT; i++) {
+            blackhole.consume(left[i].multiply(right[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void divide(Blackhole blackhole) {
+        for (int i = 0; i < COUNT; i++) {
+            if (right[i].signum() != 0) {
+                blackhole.consume(left[i].divide(right[i]));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void compareTo(Blackhole blackhole) {
+        for (int i = 0; i < COUNT; i++) {
+            blackhole.consume(left[i].compareTo(right[i]));
+        }
+    }
+
+    // Типичная операция исключения: a - f * b
+    @Benchmark
+    @OperationsPerInvocation(COUNT)
+    public void subtractProduct(Blackhole blackhole) {
+        for (int i = 0; i < COUNT; i++) {
+            blackhole.consume(left[i].subtract(right[i].multiply(left[COUNT - 1 - i])));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package ru.sibsutis.artificial_basis;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Входные задачи бенчмарков. Имя задачи имеет вид {@code семейство:размер}:
+ * file:1 (src/main/resources/1.txt), klee-minty:8, dense:50x50, sparse:100x100, degenerate:50x50.
+ * Генерация детерминирована, поэтому одно и то же имя всегда даёт одну и ту же задачу.
+ */
+public final class ProblemGenerator {
+    private static final long SEED = 42;
+
+    private ProblemGenerator() {
+    }
+
+    public static SimplexProblem create(String name) {
+        String[] parts = name.split(":");
+        String family = parts[0];
+        String size = parts[1];
+        return switch (family) {
+            case "file" -> fromResource(size + ".txt");
+            case "klee-minty" -> kleeMinty(Integer.parseInt(size));
+            case "dense" -> randomDense(rows(size), columns(size));
+            case "sparse" -> sparse(rows(size), columns(size), 0.05);
+            case "degenerate" -> degenerate(rows(size), columns(size));
+            default -> throw new IllegalArgumentException("Unknown problem family: " + family);
+        };
+    }
+
+    public static SimplexProblem fromResource(String resource) {
+        InputStream stream = ProblemGenerator.class.getClassLoader().getResourceAsStream(resource);
+        if (stream == null) {
+            throw new IllegalArgumentException("Resource not found: " + resource);
+        }
+        try (stream) {
+            return SimplexInputReader.read(stream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Куб Кли–Минти: max sum 2^(n-j) x_j при 2 * sum_{j<i} 2^(i-j) x_j + x_i <= 5^i.
+     * С правилом Данцига симплекс-метод обходит все 2^n вершин. Столбец x_n был бы
+     * единичным и сразу попал бы в начальный базис, поэтому он масштабирован: x_n = 2 * y_n.
+     */
+    public static SimplexProblem kleeMinty(int n) {
+        List<Fraction> z = new ArrayList<>();
+        for (int j = 1; j <= n; j++) {
+            z.add(new Fraction(j == n ? 2 : 1L << (n - j)));
+        }
+        List<Equation> equations = new ArrayList<>();
+        long rhs = 1;
+        for (int i = 1; i <= n; i++) {
+            rhs *= 5;
+            SparseRow row = new SparseRow();
+            for (int j = 1; j <= n; j++) {
+                if (j < i) {
+                    row.add(new Fraction(2L << (i - j)));
+                } else {
+                    row.add(j == i ? new Fraction(j == n ? 2 : 1) : Fraction.ZERO);
+                }
+            }
+            equations.add(new Equation(row, "<=", new Fraction(rhs)));
+        }
+        return new SimplexProblem(Goal.MAX, z, equations);
+    }
+
+    // Плотная задача с положительными коэффициентами: допустима и ограничена
+    public static SimplexProblem randomDense(int m, int n) {
+        Random random = new Random(SEED);
+        List<Equation> equations = new ArrayList<>();
+        for (int i = 0; i < m; i++) {
+            SparseRow row = new SparseRow();
+            for (int j = 0; j < n; j++) {
+                row.add(new Fraction(1 + random.nextInt(9)));
+            }
+            equations.add(new Equation(row, "<=", new Fraction(10 + random.nextInt(90))));
+        }
+        return new SimplexProblem(Goal.MAX, objective(random, n), equations);
+    }
+
+    // Разреженная задача; у каждого столбца есть хотя бы один ненулевой элемент
+    public static SimplexProblem sparse(int m, int n, double density) {
+        Random random = new Random(SEED);
+        List<Equation> equations = new ArrayList<>();
+        for (int i = 0; i < m; i++) {
+            SparseRow row = new SparseRow();
+            for (int j = 0; j < n; j++) {
+                boolean present = j % m == i || random.nextDouble() < density;
+                row.add(present ? new Fraction(1 + random.nextInt(9)) : Fraction.ZERO);
+            }
+            equations.add(new Equation(row, "<=", new Fraction(10 + random.nextInt(90))));
+        }
+        return new SimplexProblem(Goal.MAX, objective(random, n), equations);
+    }
+
+    /*
+     * Сильно вырожденная задача: половина ограничений проходит через начало координат
+     * (нулевая правая часть, коэффициенты разных знаков), остальные ограничивают область.
+     */
+    public static SimplexProblem degenerate(int m, int n) {
+        Random random = new Random(SEED);
+        List<Equation> equations = new ArrayList<>();
+        for (int i = 0; i < m; i++) {
+            SparseRow row = new SparseRow();
+            boolean homogeneous = i % 2 == 0;
+            for (int j = 0; j < n; j++) {
+                int value = homogeneous ? random.nextInt(7) - 3 : 1 + random.nextInt(9);
+                row.add(new Fraction(value));
+            }
+            Fraction rhs = homogeneous ? Fraction.ZERO : new Fraction(10 + random.nextInt(90));
+            equations.add(new Equation(row, "<=", rhs));
+        }
+        return new SimplexProblem(Goal.MAX, objective(random, n), equations);
+    }
+
+    private static List<Fraction> objective(Random random, int n) {
+        List<Fraction> z = new ArrayList<>();
+        for (int j = 0; j < n; j++) {
+            z.add(new Fraction(1 + random.nextInt(9)));
+        }
+        return z;
+    }
+
+    private static int rows(String size) {
+        return Integer.parseInt(size.substring(0, size.indexOf('x')));
+    }
+
+    private static int columns(String size) {
+        return Integer.parseInt(size.substring(size.indexOf('x') + 1));
+    }
+}
@@ -0,0 +1,78 @@
+package ru.sibsutis.artificial_basis;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Горячие участки {@link SimplexSolver} на задачах из src/main/resources и сгенерированных
+ * семействах {@link ProblemGenerator}. Решатель работает с {@link SimplexListener#NONE},
+ * поэтому вывод в замеры не попадает. Запуск: {@code ./gradlew jmh} (с профилировщиком gc).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SimplexSolverBenchmark {
+    @Param({
+            "file:1", "file:2", "file:3", "file:4", "file:5", "file:6", "file:7", "file:8", "file:extra",
+            "klee-minty:4", "klee-minty:8", "klee-minty:10",
+            "dense:10x10", "dense:50x50", "dense:100x100",
+            "sparse:50x50", "sparse:100x100",
+            "degenerate:10x10", "degenerate:20x20", "degenerate:50x50"
+    })
+    private String problem;
+
+    private SimplexProblem simplexProblem;
+    private SimplexSolver solver;
+
+    @Setup(Level.Trial)
+    public void loadProblem() {
+        simplexProblem = ProblemGenerator.create(problem);
+        solver = new SimplexSolver(simplexProblem);
+    }
+
+    @Benchmark
+    public SimplexTable buildInitialSimplexTable() {
+        solver.buildInitialSimplexTable();
+        return solver.getSimplexTable();
+    }
+
+    @Benchmark
+    public Pivot findPivot() {
+        solver.findPivot();
+        return solver.getSimplexTable().getPivot();
+    }
+
+    @Benchmark
+    public SolutionStatus solve() {
+        return new SimplexSolver(simplexProblem).solve();
+    }
+
+    /**
+     * Одна операция поворота. Каждая операция меняет таблицу, поэтому решатель
+     * создаётся заново перед каждым вызовом; замеры имеют смысл для таблиц, где поворот
+     * занимает хотя бы десятки микросекунд.
+     */
+    @State(Scope.Thread)
+    public static class PivotState {
+        SimplexSolver solver;
+
+        @Setup(Level.Invocation)
+        public void prepare(SimplexSolverBenchmark benchmark) {
+            solver = new SimplexSolver(benchmark.simplexProblem);
+            solver.findPivot();
+        }
+    }
+
+    @Benchmark
+    public SimplexTable performPivotOperation(PivotState state) {
+        // Задача может оказаться оптимальной уже в начальной таблице
+        if (state.solver.getSimplexTable().getPivot().getRow() != null) {
+            state.solver.performPivotOperation();
+        }
+        return state.solver.getSimplexTable();
+    }
+}
@@ -0,0 +1,491 @@
+package ru.sibsutis.artificial_basis;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Метод искусственного базиса на целочисленной таблице без дробей. Таблица хранится как
+ * матрица целых чисел с общим знаменателем — определителем текущего базиса (по модулю):
+ * элемент таблицы равен rows[i][j] / denominator. Опорная операция выполняется по формуле
+ * Барейса a'_ij = (p * a_ij - a_ic * a_rj) / d, где p — опорный элемент, d — прежний
+ * знаменатель. Деление всегда точное, числа остаются не больше миноров исходной матрицы,
+ * и НОД во внутреннем цикле не вычисляется.
+ * Столбцы и строки выбираются так же, как в {@link SimplexSolver} с правилом Данцига,
+ * поэтому статус, решение и значение Z совпадают. Нижние границы переменных учитываются
+ * сдвигом, верхние записываются строками x_j &lt;= u_j.
+ */
+@Getter
+public class BareissSimplexSolver implements LinearSolver {
+    private final Goal goal;
+    private final int originalVarsCount;
+    private final int rowCount;
+    private final int varCount;        // исходные + дополнительные переменные
+    private final int width;           // varCount + искусственные; столбец width — правая часть
+
+    private final BigInteger[][] rows;
+    private final BigInteger[] zRow;
+    private final BigInteger[] mRow;
+    private BigInteger denominator;    // общий знаменатель таблицы, всегда положительный
+    private boolean hasMRow;
+
+    private final int[] basis;
+    private final boolean[] basic;     // столбец входит в basis
+    private final boolean[] artificial;
+    private final boolean[] active;    // нулевые и вышедшие искусственные столбцы не рассматриваются
+    private final Fraction[] lowerBounds;
+    private final Fraction objectiveOffset;
+
+    private int iteration;
+
+    @Setter
+    private int maxIterations = SimplexSolver.DEFAULT_MAX_ITERATIONS;
+    @Setter
+    private int degeneracyThreshold = SimplexSolver.DEFAULT_DEGENERACY_THRESHOLD;
+    private int degeneratePivots;
+    private boolean blandRule;
+
+    private SolutionStatus status;
+    private List<Fraction> solution;
+    private List<Fraction> alternativeSolution;
+    private Fraction zValue;
+
+    public BareissSimplexSolver(SimplexProblem problem) {
+        this.goal = problem.getGoal();
+        List<Fraction> zCoefficients = problem.getZCoefficients();
+        int n = zCoefficients.size();
+        this.originalVarsCount = n;
+
+        List<Equation> equations = new ArrayList<>(problem.getEquations());
+        for (int j = 0; j < n; j++) {
+            Fraction upper = problem.getUpperBound(j);
+            if (upper != null) {
+                SparseRow unit = new SparseRow(n, 1);
+                unit.set(j, Fraction.ONE);
+                equations.add(new Equation(unit, "<=", upper));
+            }
+        }
+        this.rowCount = equations.size();
+
+        // Сдвиг x = l + x' переносит нижние границы в правые части и в константу целевой функции
+        this.lowerBounds = new Fraction[n];
+        Fraction offset = Fraction.ZERO;
+        for (int j = 0; j < n; j++) {
+            Fraction lower = problem.getLowerBound(j);
+            if (lower == null) {
+                throw new IllegalArgumentException("Variable " + (j + 1) + " has no finite lower bound; free variables are not supported");
+            }
+            lowerBounds[j] = lower;
+            offset = offset.add(zCoefficients.get(j).multiply(lower));
+        }
+        this.objectiveOffset = offset;
+
+        // Каноническая форма: неотрицательные правые части и дополнительные переменные по порядку строк
+        int slackCount = 0;
+        for (Equation equation : equations) {
+            if (!equation.getSign().equals("=")) {
+                slackCount++;
+            }
+        }
+        this.varCount = n + slackCount;
+        Fraction[][] canonical = new Fraction[rowCount][varCount + 1];
+        int slack = n;
+        for (int i = 0; i < rowCount; i++) {
+            Equation equation = equations.get(i);
+            List<Fraction> coefficients = equation.getCoefficients();
+            Fraction[] row = canonical[i];
+            Arrays.fill(row, Fraction.ZERO);
+            Fraction result = equation.getResult();
+            for (int j = 0; j < Math.min(n, coefficients.size()); j++) {
+                row[j] = coefficients.get(j);
+                if (row[j].signum() != 0 && lowerBounds[j].signum() != 0) {
+                    result = result.subtract(row[j].multiply(lowerBounds[j]));
+                }
+            }
+            String sign = equation.getSign();
+            if (result.signum() < 0) {
+                for (int j = 0; j < n; j++) {
+                    row[j] = row[j].negate();
+                }
+                result = result.negate();
+                sign = sign.equals("<=") ? ">=" : sign.equals(">=") ? "<=" : "=";
+            }
+            if (!sign.equals("=")) {
+                row[slack++] = sign.equals("<=") ? Fraction.ONE : Fraction.MINUS_ONE;
+            }
+            row[varCount] = result;
+        }
+
+        // Строке достаётся первый единичный столбец, остальным строкам — искусственные переменные
+        this.basis = new int[rowCount];
+        Arrays.fill(basis, -1);
+        for (int j = varCount - 1; j >= 0; j--) {
+            int row = unitRow(canonical, j);
+            if (row >= 0) {
+                basis[row] = j;
+            }
+        }
+        int artificialVar = varCount;
+        for (int i = 0; i < rowCount; i++) {
+            if (basis[i] < 0) {
+                basis[i] = artificialVar++;
+            }
+        }
+        this.width = artificialVar;
+        this.artificial = new boolean[width];
+        Arrays.fill(artificial, varCount, width, true);
+        this.basic = new boolean[width];
+        for (int var : basis) {
+            basic[var] = true;
+        }
+
+        /*
+         * Начальный знаменатель — произведение НОК знаменателей каждой строки и целевой функции:
+         * это определитель начального базиса после приведения строк к целым числам, поэтому
+         * деления в формуле Барейса остаются точными.
+         */
+        Fraction[] costs = new Fraction[n];
+        BigInteger scale = BigInteger.ONE;
+        for (int j = 0; j < n; j++) {
+            costs[j] = goal == Goal.MIN ? zCoefficients.get(j).negate() : zCoefficients.get(j);
+            scale = lcm(scale, costs[j].getDenominator());
+        }
+        for (Fraction[] row : canonical) {
+            BigInteger rowScale = BigInteger.ONE;
+            for (Fraction value : row) {
+                rowScale = lcm(rowScale, value.getDenominator());
+            }
+            scale = scale.multiply(rowScale);
+        }
+        this.denominator = scale;
+
+        this.rows = new BigInteger[rowCount][width + 1];
+        for (int i = 0; i < rowCount; i++) {
+            BigInteger[] row = rows[i];
+            Arrays.fill(row, BigInteger.ZERO);
+            for (int j = 0; j < varCount; j++) {
+                row[j] = scaled(canonical[i][j], scale);
+            }
+            row[width] = scaled(canonical[i][varCount], scale);
+            if (artificial[basis[i]]) {
+                row[basis[i]] = scale;
+            }
+        }
+
+        // Z-строка z_j = sum c_B * a_ij - c_j: исходные переменные тоже могут быть в начальном базисе
+        Fraction[] reducedCosts = new Fraction[varCount + 1];
+        Arrays.fill(reducedCosts, Fraction.ZERO);
+        for (int j = 0; j < n; j++) {
+            reducedCosts[j] = costs[j].negate();
+        }
+        for (int i = 0; i < rowCount; i++) {
+            if (basis[i] >= n || costs[basis[i]].signum() == 0) continue;
+            for (int j = 0; j <= varCount; j++) {
+                reducedCosts[j] = reducedCosts[j].add(costs[basis[i]].multiply(canonical[i][j]));
+            }
+        }
+        this.zRow = new BigInteger[width + 1];
+        Arrays.fill(zRow, BigInteger.ZERO);
+        for (int j = 0; j < varCount; j++) {
+            zRow[j] = scaled(reducedCosts[j], scale);
+        }
+        zRow[width] = scaled(reducedCosts[varCount], scale);
+
+        // M-строка: минус сумма строк с искусственными базисными переменными
+        this.mRow = new BigInteger[width + 1];
+        Arrays.fill(mRow, BigInteger.ZERO);
+        for (int i = 0; i < rowCount; i++) {
+            if (!artificial[basis[i]]) continue;
+            for (int j = 0; j <= width; j++) {
+                if (j < width && artificial[j]) continue;
+                mRow[j] = mRow[j].subtract(rows[i][j]);
+            }
+        }
+        this.hasMRow = true;
+
+        // Нулевые столбцы в выборе не участвуют, как и в SimplexSolver; выгодный нулевой столбец
+        // остаётся, чтобы фаза II обнаружила неограниченность
+        this.active = new boolean[width];
+        for (int j = 0; j < n; j++) {
+            active[j] = costs[j].signum() > 0;
+        }
+        for (int i = 0; i < rowCount; i++) {
+            for (int j = 0; j < width; j++) {
+                active[j] |= rows[i][j].signum() != 0;
+            }
+        }
+        this.iteration = 1;
+    }
+
+    // Строка единственного ненулевого элемента столбца, если он равен 1; иначе -1
+    private static int unitRow(Fraction[][] canonical, int column) {
+        int row = -1;
+        for (int i = 0; i < canonical.length; i++) {
+            if (canonical[i][column].signum() == 0) continue;
+            if (row >= 0 || !canonical[i][column].equals(Fraction.ONE)) {
+                return -1;
+            }
+            row = i;
+        }
+        return row;
+    }
+
+    private static BigInteger lcm(BigInteger a, BigInteger b) {
+        return a.divide(a.gcd(b)).multiply(b);
+    }
+
+    // value * scale, где scale делится на знаменатель value
+    private static BigInteger scaled(Fraction value, BigInteger scale) {
+        return scale.divide(value.getDenominator()).multiply(value.getNumerator());
+    }
+
+    @Override
+    public SolutionStatus solve() {
+        // Phase I
+        while (true) {
+            boolean allZero = true;
+            boolean allNonNegative = true;
+            for (int j = 0; j < width; j++) {
+                allZero &= mRow[j].signum() == 0;
+                allNonNegative &= mRow[j].signum() >= 0;
+            }
+            if (allZero) {
+                break;
+            }
+            if (allNonNegative) {
+                // Сумма искусственных переменных уже нулевая: вырожденный, но допустимый базис
+                if (mRow[width].signum() == 0) {
+                    break;
+                }
+                return status = SolutionStatus.INFEASIBLE;
+            }
+            if (iteration > maxIterations) {
+                return status = SolutionStatus.ITERATION_LIMIT;
+            }
+
+            int col = findPivotColumn(mRow);
+            int row = findPivotRow(col);
+            if (row < 0) {
+                return status = SolutionStatus.INFEASIBLE;
+            }
+            trackDegeneracy(row);
+            pivot(row, col);
+            iteration++;
+        }
+
+        for (int i = 0; i < rowCount; i++) {
+            if (artificial[basis[i]] && rows[i][width].signum() != 0) {
+                return status = SolutionStatus.INFEASIBLE;
+            }
+        }
+        removeArtificialVars();
+
+        // Phase II: Z-строка пересчитывалась вместе с таблицей и уже соответствует базису
+        while (!isOptimal()) {
+            if (iteration > maxIterations) {
+                return status = SolutionStatus.ITERATION_LIMIT;
+            }
+            int col = findPivotColumn(zRow);
+            int row = findPivotRow(col);
+            if (row < 0) {
+                return status = SolutionStatus.UNBOUNDED;
+            }
+            trackDegeneracy(row);
+            pivot(row, col);
+            iteration++;
+        }
+
+        solution = currentSolution(-1, -1);
+        Fraction z = new Fraction(zRow[width], denominator);
+        zValue = (goal == Goal.MIN ? z.negate() : z).add(objectiveOffset);
+        status = SolutionStatus.OPTIMAL;
+
+        // Альтернативное решение: небазисный столбец с нулевой оценкой, опорная операция только для значений
+        for (int col = 0; col < width; col++) {
+            if (!active[col] || artificial[col] || basic[col] || zRow[col].signum() != 0) continue;
+            int row = -1;
+            for (int i = 0; i < rowCount; i++) {
+                if (rows[i][col].signum() > 0 && (row < 0 || compareRatios(i, row, col) < 0)) {
+                    row = i;
+                }
+            }
+            if (row < 0) continue;
+            alternativeSolution = currentSolution(row, col);
+            status = SolutionStatus.ALTERNATIVE_OPTIMA;
+            break;
+        }
+        return status;
+    }
+
+    private boolean isOptimal() {
+        for (int j = 0; j < width; j++) {
+            if (active[j] && zRow[j].signum() < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Правило Данцига, после серии вырожденных шагов — правило Бленда; знаменатель общий, сравниваются числители
+    private int findPivotColumn(BigInteger[] costRow) {
+        int col = -1;
+        for (int j = 0; j < width; j++) {
+            if (!active[j] || costRow[j].signum() >= 0) continue;
+            if (blandRule) {
+                return j;
+            }
+            if (col < 0 || costRow[j].compareTo(costRow[col]) < 0) {
+                col = j;
+            }
+        }
+        return col;
+    }
+
+    //  Минимальное положительное отношение b_i / a_ij
+    private int findPivotRow(int col) {
+        int row = -1;
+        for (int i = 0; i < rowCount; i++) {
+            if (!isCandidate(i, col)) continue;
+            int cmp = row < 0 ? -1 : compareRatios(i, row, col);
+            // По правилу Бленда из равных отношений берётся строка с меньшим номером базисной переменной
+            if (cmp < 0 || (cmp == 0 && blandRule && basis[i] < basis[row])) {
+                row = i;
+            }
+        }
+        return row;
+    }
+
+    // Искусственная переменная, оставшаяся в базисе после Phase I, должна остаться нулевой
+    private boolean isBlocking(int row, int col) {
+        return !hasMRow && artificial[basis[row]] && rows[row][col].signum() != 0;
+    }
+
+    private boolean isCandidate(int row, int col) {
+        return rows[row][col].signum() > 0 || isBlocking(row, col);
+    }
+
+    // Сравнение b_i / a_ic и b_k / a_kc перекрёстным умножением; у блокирующей строки отношение 0
+    private int compareRatios(int i, int k, int col) {
+        BigInteger leftNumerator = isBlocking(i, col) ? BigInteger.ZERO : rows[i][width];
+        BigInteger leftDenominator = isBlocking(i, col) ? BigInteger.ONE : rows[i][col];
+        BigInteger rightNumerator = isBlocking(k, col) ? BigInteger.ZERO : rows[k][width];
+        BigInteger rightDenominator = isBlocking(k, col) ? BigInteger.ONE : rows[k][col];
+        return leftNumerator.multiply(rightDenominator).compareTo(rightNumerator.multiply(leftDenominator));
+    }
+
+    private void trackDegeneracy(int row) {
+        if (rows[row][width].signum() == 0) {
+            degeneratePivots++;
+            if (degeneratePivots >= degeneracyThreshold) {
+                blandRule = true;
+            }
+        } else {
+            degeneratePivots = 0;
+            blandRule = false;
+        }
+    }
+
+    /*
+     * Опорная операция Барейса: строка r не меняется, остальные строки (и Z-, M-строки)
+     * пересчитываются как (p * a_ij - a_ic * a_rj) / d, новый знаменатель — p. Если p < 0,
+     * вся таблица меняет знак, чтобы знаменатель оставался положительным.
+     */
+    private void pivot(int row, int col) {
+        BigInteger[] pivotRow = rows[row];
+        BigInteger p = pivotRow[col];
+        BigInteger divisor = p.signum() < 0 ? denominator.negate() : denominator;
+        for (int i = 0; i < rowCount; i++) {
+            if (i != row) {
+                eliminate(rows[i], pivotRow, col, p, divisor);
+            }
+        }
+        eliminate(zRow, pivotRow, col, p, divisor);
+        if (hasMRow) {
+            eliminate(mRow, pivotRow, col, p, divisor);
+        }
+        if (p.signum() < 0) {
+            for (int j = 0; j <= width; j++) {
+                pivotRow[j] = pivotRow[j].negate();
+            }
+        }
+        denominator = p.abs();
+        int leaving = basis[row];
+        basis[row] = col;
+        basic[leaving] = false;
+        basic[col] = true;
+
+        // Вышедший искусственный столбец выключается целиком: частичное обнуление нарушило бы точность деления
+        if (artificial[leaving]) {
+            deactivate(leaving);
+        }
+    }
+
+    private static void eliminate(BigInteger[] target, BigInteger[] pivotRow, int col, BigInteger p, BigInteger divisor) {
+        BigInteger factor = target[col];
+        if (factor.signum() == 0 && p.equals(divisor)) {
+            return;
+        }
+        for (int j = 0; j < target.length; j++) {
+            boolean crossTerm = factor.signum() != 0 && pivotRow[j].signum() != 0;
+            if (target[j].signum() == 0 && !crossTerm) continue;
+            BigInteger value = target[j].multiply(p);
+            if (crossTerm) {
+                value = value.subtract(factor.multiply(pivotRow[j]));
+            }
+            // Деление точное, пока знаменатель — определитель базиса; остаток означает ошибку масштабирования
+            BigInteger[] quotient = value.divideAndRemainder(divisor);
+            assert quotient[1].signum() == 0 : "Inexact Bareiss division of " + value + " by " + divisor;
+            target[j] = quotient[0];
+        }
+    }
+
+    // Небазисные искусственные столбцы очищаются и больше не рассматриваются
+    private void removeArtificialVars() {
+        for (int j = varCount; j < width; j++) {
+            if (!basic[j]) {
+                deactivate(j);
+            }
+        }
+        hasMRow = false;
+    }
+
+    private void deactivate(int col) {
+        active[col] = false;
+        for (BigInteger[] row : rows) {
+            row[col] = BigInteger.ZERO;
+        }
+        zRow[col] = BigInteger.ZERO;
+        mRow[col] = BigInteger.ZERO;
+    }
+
+    // Значения исходных переменных; при col >= 0 — после ввода col в базис по строке row
+    private List<Fraction> currentSolution(int row, int col) {
+        Fraction[] values = new Fraction[originalVarsCount];
+        Arrays.fill(values, Fraction.ZERO);
+        for (int i = 0; i < rowCount; i++) {
+            int var = basis[i];
+            if (var >= originalVarsCount || i == row) continue;
+            BigInteger value = rows[i][width];
+            BigInteger scale = denominator;
+            if (col >= 0) {
+                // b_i - b_r * a_ic / a_rc
+                value = value.multiply(rows[row][col]).subtract(rows[row][width].multiply(rows[i][col]));
+                scale = scale.multiply(rows[row][col]);
+            }
+            values[var] = new Fraction(value, scale);
+        }
+        if (col >= 0 && col < originalVarsCount) {
+            values[col] = new Fraction(rows[row][width], rows[row][col]);
+        }
+
+        List<Fraction> result = new ArrayList<>(originalVarsCount);
+        for (int j = 0; j < originalVarsCount; j++) {
+            result.add(values[j].add(lowerBounds[j]));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,139 @@
+package ru.sibsutis.artificial_basis;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+
+/**
+ * Базис симплекс-таблицы: базисный столбец каждой строки, строка каждого базисного столбца
+ * и битовые множества базисных и искусственных столбцов. Проверка принадлежности и замена
+ * базисной переменной выполняются за O(1). Новые столбцы таблицы добавляются только в конец,
+ * поэтому номера уже существующих столбцов не меняются и перенумерация не нужна; массивы
+ * лишь расширяются при первом обращении к новому столбцу. Для остального кода это список
+ * базисных столбцов по строкам.
+ */
+public class Basis extends AbstractList<Integer> implements RandomAccess {
+    private int size;
+    private int[] vars;                // строка -> базисный столбец
+    private int[] rows;                // столбец -> строка, -1 — небазисный
+    private int[] origins;             // искусственный столбец -> строка, для которой он создан
+    private final BitSet basic;
+    private final BitSet artificial;
+
+    public Basis() {
+        this.vars = new int[4];
+        this.rows = new int[0];
+        this.origins = new int[0];
+        this.basic = new BitSet();
+        this.artificial = new BitSet();
+    }
+
+    public Basis(Basis other) {
+        this.size = other.size;
+        this.vars = other.vars.clone();
+        this.rows = other.rows.clone();
+        this.origins = other.origins.clone();
+        this.basic = (BitSet) other.basic.clone();
+        this.artificial = (BitSet) other.artificial.clone();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Integer get(int row) {
+        checkRow(row);
+        return vars[row];
+    }
+
+    @Override
+    public Integer set(int row, Integer var) {
+        checkRow(row);
+        int old = vars[row];
+        if (old != var) {
+            basic.clear(old);
+            rows[old] = -1;
+            place(row, var);
+        }
+        return old;
+    }
+
+    @Override
+    public boolean add(Integer var) {
+        if (size == vars.length) {
+            vars = Arrays.copyOf(vars, size * 2);
+        }
+        place(size++, var);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Integer var && isBasic(var);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return o instanceof Integer var ? rowOf(var) : -1;
+    }
+
+    public boolean isBasic(int var) {
+        return var >= 0 && basic.get(var);
+    }
+
+    // Строка базисного столбца, -1 — столбец небазисный
+    public int rowOf(int var) {
+        return isBasic(var) ? rows[var] : -1;
+    }
+
+    public boolean isArtificial(int var) {
+        return var >= 0 && artificial.get(var);
+    }
+
+    public int artificialCount() {
+        return artificial.cardinality();
+    }
+
+    public IntStream artificialColumns() {
+        return artificial.stream();
+    }
+
+    public void markArtificial(int var, int origin) {
+        ensureColumns(var + 1);
+        artificial.set(var);
+        origins[var] = origin;
+    }
+
+    // Строка исходной задачи, для которой создана искусственная переменная
+    public int originOf(int var) {
+        return isArtificial(var) ? origins[var] : -1;
+    }
+
+    private void place(int row, int var) {
+        ensureColumns(var + 1);
+        vars[row] = var;
+        rows[var] = row;
+        basic.set(var);
+    }
+
+    private void ensureColumns(int width) {
+        if (width > rows.length) {
+            int oldLength = rows.length;
+            int newLength = Math.max(width, oldLength * 2);
+            rows = Arrays.copyOf(rows, newLength);
+            origins = Arrays.copyOf(origins, newLength);
+            Arrays.fill(rows, oldLength, newLength, -1);
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " is out of range [0, " + size + ")");
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package ru.sibsutis.artificial_basis;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LU-разложение базисной матрицы (P * B = L * U) с файлом eta-матриц.
+ * После каждой замены столбца базиса добавляется eta-матрица; когда их становится
+ * больше заданного предела, решатель должен вызвать {@link #factorize} заново.
+ */
+public class BasisFactorization {
+    private final int size;
+    private final int refactorizationInterval;
+
+    private final Fraction[][] lower;
+    private final Fraction[][] upper;
+    private final int[] permutation;
+    private final List<Eta> etas;
+
+    private record Eta(int row, Fraction[] column) {
+    }
+
+    public BasisFactorization(int size, int refactorizationInterval) {
+        this.size = size;
+        this.refactorizationInterval = refactorizationInterval;
+        this.lower = new Fraction[size][size];
+        this.upper = new Fraction[size][size];
+        this.permutation = new int[size];
+        this.etas = new ArrayList<>();
+    }
+
+    // columns[k] — k-й столбец базисной матрицы
+    public void factorize(Fraction[][] columns) {
+        Fraction[][] matrix = new Fraction[size][size];
+        for (int i = 0; i < size; i++) {
+            permutation[i] = i;
+            for (int k = 0; k < size; k++) {
+                matrix[i][k] = columns[k][i];
+                lower[i][k] = i == k ? Fraction.ONE : Fraction.ZERO;
+            }
+        }
+
+        for (int k = 0; k < size; k++) {
+            // Арифметика точная, поэтому достаточно любого ненулевого ведущего элемента
+            int pivotRow = k;
+            while (pivotRow < size && matrix[pivotRow][k].signum() == 0) {
+                pivotRow++;
+            }
+            if (pivotRow == size) {
+                throw new IllegalStateException("Basis matrix is singular.");
+            }
+            if (pivotRow != k) {
+                Fraction[] rowTmp = matrix[k];
+                matrix[k] = matrix[pivotRow];
+                matrix[pivotRow] = rowTmp;
+                int permTmp = permutation[k];
+                permutation[k] = permutation[pivotRow];
+                permutation[pivotRow] = permTmp;
+                for (int j = 0; j < k; j++) {
+                    Fraction lowerTmp = lower[k][j];
+                    lower[k][j] = lower[pivotRow][j];
+                    lower[pivotRow][j] = lowerTmp;
+                }
+            }
+
+            Fraction pivot = matrix[k][k];
+            for (int i = k + 1; i < size; i++) {
+                if (matrix[i][k].signum() == 0) continue;
+                Fraction factor = matrix[i][k].divide(pivot);
+                lower[i][k] = factor;
+                for (int j = k; j < size; j++) {
+                    if (matrix[k][j].signum() == 0) continue;
+                    matrix[i][j] = matrix[i][j].subtract(factor.multiply(matrix[k][j]));
+                }
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(matrix[i], 0, upper[i], 0, size);
+        }
+        etas.clear();
+    }
+
+    public void update(int row, Fraction[] enteringColumn) {
+        etas.add(new Eta(row, enteringColumn.clone()));
+    }
+
+    public boolean needsRefactorization() {
+        return etas.size() >= refactorizationInterval;
+    }
+
+    // Решает B * x = b
+    public Fraction[] ftran(Fraction[] b) {
+        Fraction[] x = new Fraction[size];
+        for (int i = 0; i < size; i++) {
+            x[i] = b[permutation[i]];
+        }
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < i; j++) {
+                if (lower[i][j].signum() == 0 || x[j].signum() == 0) continue;
+                x[i] = x[i].subtract(lower[i][j].multiply(x[j]));
+            }
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            for (int j = i + 1; j < size; j++) {
+                if (upper[i][j].signum() == 0 || x[j].signum() == 0) continue;
+                x[i] = x[i].subtract(upper[i][j].multiply(x[j]));
+            }
+            x[i] = x[i].divide(upper[i][i]);
+        }
+
+        for (Eta eta : etas) {
+            int r = eta.row();
+            Fraction[] alpha = eta.column();
+            if (x[r].signum() == 0) continue;
+            x[r] = x[r].divide(alpha[r]);
+            for (int i = 0; i < size; i++) {
+                if (i == r || alpha[i].signum() == 0) continue;
+                x[i] = x[i].subtract(alpha[i].multiply(x[r]));
+            }
+        }
+        return x;
+    }
+
+    // Решает y^T * B = c^T
+    public Fraction[] btran(Fraction[] c) {
+        Fraction[] w = c.clone();
+        for (int e = etas.size() - 1; e >= 0; e--) {
+            int r = etas.get(e).row();
+            Fraction[] alpha = etas.get(e).column();
+            Fraction value = w[r];
+            for (int i = 0; i < size; i++) {
+                if (i == r || alpha[i].signum() == 0 || w[i].signum() == 0) continue;
+                value = value.subtract(w[i].multiply(alpha[i]));
+            }
+            w[r] = value.divide(alpha[r]);
+        }
+
+        // U^T * z = w, затем L^T * v = z
+        Fraction[] v = new Fraction[size];
+        for (int i = 0; i < size; i++) {
+            Fraction value = w[i];
+            for (int j = 0; j < i; j++) {
+                if (upper[j][i].signum() == 0 || v[j].signum() == 0) continue;
+                value = value.subtract(upper[j][i].multiply(v[j]));
+            }
+            v[i] = value.divide(upper[i][i]);
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            for (int j = i + 1; j < size; j++) {
+                if (lower[j][i].signum() == 0 || v[j].signum() == 0) continue;
+                v[i] = v[i].subtract(lower[j][i].multiply(v[j]));
+            }
+        }
+
+        Fraction[] y = new Fraction[size];
+        for (int i = 0; i < size; i++) {
+            y[permutation[i]] = v[i];
+        }
+        return y;
+    }
+}
@@ -0,0 +1,311 @@
+package ru.sibsutis.artificial_basis;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Двоичный формат задачи. Загрузка отображает файл в память и строит модель
+ * без разбора текста.
+ * <pre>
+ * "SPXB" u8:версия u8:цель (0 — MIN, 1 — MAX)
+ * varint:n  разреженная строка целевой функции
+ * varint:m  m ограничений: u8:знак (0 — &lt;=, 1 — &gt;=, 2 — =), разреженная строка, rational:правая часть
+ * u8:есть ли границы; если 1 — для каждой из n переменных u8:флаги (1 — нижняя граница,
+ *           2 — конечная верхняя), затем отмеченные границы как rational (с версии 2)
+ * u8:есть ли целочисленные переменные; если 1 — varint:количество, затем их номера
+ *           по возрастанию как varint:шаг индекса (с версии 3)
+ * разреженная строка: varint:длина varint:ненулевых, затем пары (varint:шаг индекса, rational)
+ * rational: varint:знаменатель, zigzag-varint:числитель; знаменатель 0 означает BigInteger-значение:
+ *           varint:длина байтов + числитель, varint:длина байтов + знаменатель (дополнительный код)
+ * </pre>
+ * Файлы версий 1 (без границ) и 2 (без целочисленных переменных) по-прежнему читаются.
+ */
+public class BinaryProblemFormat {
+    private static final byte[] MAGIC = {'S', 'P', 'X', 'B'};
+    public static final int VERSION = 3;
+
+    private static final String[] SIGNS = {"<=", ">=", "="};
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BinaryProblemFormat <problem.txt> <problem.spxb>");
+            System.exit(1);
+        }
+        convert(Path.of(args[0]), Path.of(args[1]));
+    }
+
+    // Перевод задачи из текстового формата SimplexInputReader в двоичный
+    public static void convert(Path textFile, Path binaryFile) throws IOException {
+        write(SimplexInputReader.readFromFile(textFile.toString()), binaryFile);
+    }
+
+    public static void write(SimplexProblem problem, Path file) throws IOException {
+        try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(file))) {
+            write(problem, output);
+        }
+    }
+
+    public static void write(SimplexProblem problem, OutputStream output) throws IOException {
+        output.write(MAGIC);
+        output.write(VERSION);
+        output.write(problem.getGoal() == Goal.MAX ? 1 : 0);
+        writeRow(output, problem.getZCoefficients());
+
+        List<Equation> equations = problem.getEquations();
+        writeVarint(output, equations.size());
+        for (Equation equation : equations) {
+            output.write(signCode(equation.getSign()));
+            writeRow(output, equation.getCoefficients());
+            writeRational(output, equation.getResult());
+        }
+
+        writeBounds(output, problem);
+        writeIntegers(output, problem);
+    }
+
+    private static void writeBounds(OutputStream output, SimplexProblem problem) throws IOException {
+        if (!problem.hasBounds()) {
+            output.write(0);
+            return;
+        }
+        output.write(1);
+        for (int j = 0; j < problem.getZCoefficients().size(); j++) {
+            Fraction lower = problem.getLowerBound(j);
+            Fraction upper = problem.getUpperBound(j);
+            output.write((lower.signum() != 0 ? 1 : 0) | (upper != null ? 2 : 0));
+            if (lower.signum() != 0) {
+                writeRational(output, lower);
+            }
+            if (upper != null) {
+                writeRational(output, upper);
+            }
+        }
+    }
+
+    private static void writeIntegers(OutputStream output, SimplexProblem problem) throws IOException {
+        if (!problem.hasIntegers()) {
+            output.write(0);
+            return;
+        }
+        output.write(1);
+        List<Integer> columns = new ArrayList<>();
+        for (int j = 0; j < problem.getZCoefficients().size(); j++) {
+            if (problem.isInteger(j)) {
+                columns.add(j);
+            }
+        }
+        writeVarint(output, columns.size());
+        int previous = 0;
+        for (int column : columns) {
+            writeVarint(output, column - previous);
+            previous = column;
+        }
+    }
+
+    public static SimplexProblem read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Binary problem file is larger than 2 GB: " + file);
+            }
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    public static SimplexProblem read(ByteBuffer buffer) throws IOException {
+        try {
+            return readProblem(buffer);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Binary problem is truncated", e);
+        }
+    }
+
+    private static SimplexProblem readProblem(ByteBuffer buffer) throws IOException {
+        for (byte b : MAGIC) {
+            if (!buffer.hasRemaining() || buffer.get() != b) {
+                throw new IOException("Not a binary simplex problem");
+            }
+        }
+        int version = buffer.get() & 0xFF;
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported binary problem version: " + version);
+        }
+        Goal goal = buffer.get() == 1 ? Goal.MAX : Goal.MIN;
+        List<Fraction> zCoefficients = readRow(buffer);
+
+        int equationCount = readInt(buffer);
+        List<Equation> equations = new ArrayList<>(equationCount);
+        for (int i = 0; i < equationCount; i++) {
+            int code = buffer.get();
+            if (code < 0 || code >= SIGNS.length) {
+                throw new IOException("Invalid relation code: " + code);
+            }
+            SparseRow coefficients = readRow(buffer);
+            Fraction result = readRational(buffer);
+            equations.add(new Equation(coefficients, SIGNS[code], result));
+        }
+
+        int n = zCoefficients.size();
+        List<Fraction> lowerBounds = null;
+        List<Fraction> upperBounds = null;
+        if (version >= 2 && buffer.get() != 0) {
+            lowerBounds = new ArrayList<>(n);
+            upperBounds = new ArrayList<>(n);
+            for (int j = 0; j < n; j++) {
+                int flags = buffer.get();
+                if ((flags & ~3) != 0) {
+                    throw new IOException("Invalid bound flags: " + flags);
+                }
+                lowerBounds.add((flags & 1) != 0 ? readRational(buffer) : Fraction.ZERO);
+                upperBounds.add((flags & 2) != 0 ? readRational(buffer) : null);
+            }
+        }
+        List<Boolean> integerVariables = version >= 3 && buffer.get() != 0 ? readIntegers(buffer, n) : null;
+        return new SimplexProblem(goal, zCoefficients, equations, lowerBounds, upperBounds, integerVariables);
+    }
+
+    private static List<Boolean> readIntegers(ByteBuffer buffer, int n) throws IOException {
+        List<Boolean> integerVariables = new ArrayList<>(Collections.nCopies(n, false));
+        int count = readInt(buffer);
+        int column = -1;
+        for (int k = 0; k < count; k++) {
+            int step = readInt(buffer);
+            column = k == 0 ? step : column + step;
+            if (column >= n || (k > 0 && step == 0)) {
+                throw new IOException("Invalid integer variable index " + column + " for " + n + " variables");
+            }
+            integerVariables.set(column, true);
+        }
+        return integerVariables;
+    }
+
+    private static int signCode(String sign) {
+        for (int code = 0; code < SIGNS.length; code++) {
+            if (SIGNS[code].equals(sign)) {
+                return code;
+            }
+        }
+        throw new IllegalArgumentException("Unknown relation: " + sign);
+    }
+
+    private static void writeRow(OutputStream output, List<Fraction> row) throws IOException {
+        writeVarint(output, row.size());
+        if (row instanceof SparseRow sparse) {
+            writeVarint(output, sparse.nonZeroCount());
+            int previous = 0;
+            for (int k = 0; k < sparse.nonZeroCount(); k++) {
+                writeVarint(output, sparse.indexAt(k) - previous);
+                previous = sparse.indexAt(k);
+                writeRational(output, sparse.valueAt(k));
+            }
+            return;
+        }
+        int nonZero = 0;
+        for (Fraction value : row) {
+            if (value.signum() != 0) nonZero++;
+        }
+        writeVarint(output, nonZero);
+        int previous = 0;
+        for (int j = 0; j < row.size(); j++) {
+            if (row.get(j).signum() == 0) continue;
+            writeVarint(output, j - previous);
+            previous = j;
+            writeRational(output, row.get(j));
+        }
+    }
+
+    private static SparseRow readRow(ByteBuffer buffer) throws IOException {
+        int size = readInt(buffer);
+        int nonZero = readInt(buffer);
+        SparseRow row = new SparseRow(size, nonZero);
+        int index = -1;
+        for (int k = 0; k < nonZero; k++) {
+            int step = readInt(buffer);
+            index = k == 0 ? step : index + step;
+            if (index >= size || (k > 0 && step == 0)) {
+                throw new IOException("Invalid coefficient index " + index + " in row of size " + size);
+            }
+            Fraction value = readRational(buffer);
+            if (value.signum() == 0) {
+                throw new IOException("Explicit zero stored at index " + index);
+            }
+            row.appendNonZero(index, value);
+        }
+        return row;
+    }
+
+    private static void writeRational(OutputStream output, Fraction value) throws IOException {
+        if (!value.isBig()) {
+            writeVarint(output, value.longDenominator());
+            writeVarint(output, (value.longNumerator() << 1) ^ (value.longNumerator() >> 63));
+            return;
+        }
+        writeVarint(output, 0);
+        writeBytes(output, value.getNumerator().toByteArray());
+        writeBytes(output, value.getDenominator().toByteArray());
+    }
+
+    private static Fraction readRational(ByteBuffer buffer) throws IOException {
+        long denominator = readVarint(buffer);
+        if (denominator != 0) {
+            long zigzag = readVarint(buffer);
+            long numerator = (zigzag >>> 1) ^ -(zigzag & 1);
+            if (denominator == 1) {
+                if (numerator == 0) return Fraction.ZERO;
+                if (numerator == 1) return Fraction.ONE;
+                if (numerator == -1) return Fraction.MINUS_ONE;
+            }
+            return new Fraction(numerator, denominator);
+        }
+        return new Fraction(new BigInteger(readBytes(buffer)), new BigInteger(readBytes(buffer)));
+    }
+
+    private static void writeBytes(OutputStream output, byte[] bytes) throws IOException {
+        writeVarint(output, bytes.length);
+        output.write(bytes);
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer) throws IOException {
+        byte[] bytes = new byte[readInt(buffer)];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static void writeVarint(OutputStream output, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            output.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        output.write((int) value);
+    }
+
+    private static long readVarint(ByteBuffer buffer) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static int readInt(ByteBuffer buffer) throws IOException {
+        long value = readVarint(buffer);
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IOException("Value out of range: " + value);
+        }
+        return (int) value;
+    }
+}
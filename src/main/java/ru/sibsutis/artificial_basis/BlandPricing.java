@@ -0,0 +1,16 @@
+package ru.sibsutis.artificial_basis;
+
+import java.util.List;
+
+// Правило Бленда: первый по номеру столбец с отрицательной оценкой
+public class BlandPricing implements PricingStrategy {
+    @Override
+    public int selectColumn(List<Fraction> costRow, List<List<Fraction>> rows, int[] columns) {
+        for (int j : columns) {
+            if (costRow.get(j).signum() < 0) {
+                return j;
+            }
+        }
+        return -1;
+    }
+}
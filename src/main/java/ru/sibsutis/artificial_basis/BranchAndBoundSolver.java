@@ -0,0 +1,294 @@
+package ru.sibsutis.artificial_basis;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+/**
+ * Метод ветвей и границ для задач с целочисленными переменными ({@link SimplexProblem#isInteger}).
+ * Узел — непрерывная релаксация с суженными границами переменных. Строки задачи в узлах
+ * не меняются, поэтому {@link SimplexSolver} узла стартует с базиса родителя и обычно
+ * восстанавливает допустимость несколькими шагами двойственного симплекс-метода.
+ * <p>
+ * Узлы обрабатываются параллельно задачами в {@link ForkJoinPool}. Открытые узлы лежат
+ * в общей очереди, упорядоченной по {@link NodeSelection}; рекорд общий, и узлы с оценкой
+ * не лучше рекорда отсекаются. При достижении maxNodes или timeLimit возвращается
+ * ITERATION_LIMIT: найденный рекорд остаётся в solution, а bestBound ограничивает
+ * возможное улучшение. Неограниченная релаксация даёт UNBOUNDED.
+ * <p>
+ * Если задан cutGenerator, корневая релаксация сначала усиливается отсечениями Гомори,
+ * и все узлы дерева решают задачу вместе с этими отсечениями.
+ */
+public class BranchAndBoundSolver implements LinearSolver {
+    public enum NodeSelection {
+        BEST_FIRST,    // узел с лучшей оценкой релаксации
+        DEPTH_FIRST    // самый глубокий узел: рекорд находится быстрее
+    }
+
+    // Границы узла, базис родителя для тёплого старта и оценка родителя
+    private record Node(Fraction[] lower, Fraction[] upper, List<Integer> basis, Fraction bound, int depth, long order) {
+    }
+
+    private final SimplexProblem problem;
+
+    @Setter
+    private NodeSelection nodeSelection = NodeSelection.BEST_FIRST;
+    @Setter
+    private int maxNodes = Integer.MAX_VALUE;
+    @Setter
+    private Duration timeLimit;  // null — без ограничения
+    @Setter
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    // Позволяет настроить решатель релаксаций (стратегия выбора, слушатель и т.д.)
+    @Setter
+    private Function<SimplexProblem, SimplexSolver> solverFactory = SimplexSolver::new;
+    @Setter
+    private GomoryCutGenerator cutGenerator;  // null — без отсечений
+
+    @Getter
+    private SolutionStatus status;
+    @Getter
+    private List<Fraction> solution;
+    @Getter
+    private Fraction zValue;
+    @Getter
+    private Fraction bestBound;
+    @Getter
+    private int nodeCount;
+
+    // Общее состояние рабочих задач, защищено монитором this
+    private List<Equation> equations;  // ограничения задачи и отсечения корня
+    private PriorityQueue<Node> open;
+    private int activeNodes;
+    private long nodeOrder;
+    private long deadline;
+    private boolean stopped;
+    private boolean limitReached;
+    private boolean unbounded;
+    private RuntimeException failure;
+
+    public BranchAndBoundSolver(SimplexProblem problem) {
+        this.problem = problem;
+    }
+
+    @Override
+    public SolutionStatus solve() {
+        int n = problem.getZCoefficients().size();
+        Fraction[] lower = new Fraction[n];
+        Fraction[] upper = new Fraction[n];
+        for (int j = 0; j < n; j++) {
+            lower[j] = problem.getLowerBound(j);
+            upper[j] = problem.getUpperBound(j);
+            if (problem.isInteger(j)) {
+                // Границы целочисленной переменной сразу округляются внутрь
+                lower[j] = lower[j] == null ? null : lower[j].ceil();
+                upper[j] = upper[j] == null ? null : upper[j].floor();
+            }
+        }
+
+        equations = problem.getEquations();
+        open = new PriorityQueue<>(nodeSelection == NodeSelection.BEST_FIRST ? bestFirst() : depthFirst());
+        open.add(new Node(lower, upper, null, null, 0, 0));
+        nodeOrder = 1;
+        nodeCount = 0;
+        activeNodes = 0;
+        stopped = false;
+        limitReached = false;
+        unbounded = false;
+        failure = null;
+        solution = null;
+        zValue = null;
+        deadline = timeLimit == null ? Long.MAX_VALUE : System.nanoTime() + timeLimit.toNanos();
+
+        int workers = Math.max(1, pool.getParallelism());
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(workers);
+        for (int k = 0; k < workers; k++) {
+            tasks.add(pool.submit(this::work));
+        }
+        tasks.forEach(ForkJoinTask::join);
+        if (failure != null) {
+            throw failure;
+        }
+
+        if (unbounded) {
+            status = SolutionStatus.UNBOUNDED;
+        } else if (limitReached) {
+            status = SolutionStatus.ITERATION_LIMIT;
+            bestBound = openBound();
+        } else {
+            status = solution != null ? SolutionStatus.OPTIMAL : SolutionStatus.INFEASIBLE;
+            bestBound = zValue;
+        }
+        return status;
+    }
+
+    private void work() {
+        while (true) {
+            Node node;
+            synchronized (this) {
+                while (open.isEmpty() && activeNodes > 0 && !stopped) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        limitReached = true;
+                        stopped = true;
+                    }
+                }
+                if (stopped || open.isEmpty()) {
+                    notifyAll();
+                    return;
+                }
+                if (nodeCount >= maxNodes || System.nanoTime() > deadline) {
+                    limitReached = true;
+                    stopped = true;
+                    notifyAll();
+                    return;
+                }
+                node = open.poll();
+                if (!canImprove(node.bound())) continue;
+                activeNodes++;
+                nodeCount++;
+            }
+
+            try {
+                processNode(node);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                    stopped = true;
+                }
+            } finally {
+                synchronized (this) {
+                    activeNodes--;
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    private void processNode(Node node) {
+        SimplexSolver solver = solverFactory.apply(new SimplexProblem(problem.getGoal(), problem.getZCoefficients(),
+                equations, Arrays.asList(node.lower()), Arrays.asList(node.upper()), problem.getIntegerVariables()));
+        solver.setStartingBasis(node.basis());
+        SolutionStatus nodeStatus = solver.solve();
+        if (node.depth() == 0 && cutGenerator != null) {
+            // Корень обрабатывается один, остальные задачи ждут его потомков
+            nodeStatus = cutGenerator.apply(solver);
+            synchronized (this) {
+                equations = solver.getProblem().getEquations();
+            }
+        }
+
+        synchronized (this) {
+            switch (nodeStatus) {
+                case OPTIMAL, ALTERNATIVE_OPTIMA -> branch(node, solver);
+                case UNBOUNDED -> {
+                    unbounded = true;
+                    stopped = true;
+                }
+                case ITERATION_LIMIT -> {
+                    // Узел не решён: он остаётся открытым, чтобы учесть его в bestBound
+                    open.add(node);
+                    limitReached = true;
+                    stopped = true;
+                }
+                case INFEASIBLE -> {
+                }
+            }
+        }
+    }
+
+    private void branch(Node node, SimplexSolver solver) {
+        Fraction value = solver.getZValue();
+        if (!canImprove(value)) {
+            return;
+        }
+        List<Fraction> x = solver.getSolution();
+        int column = branchingColumn(x);
+        if (column < 0) {
+            // Целочисленное решение: новый рекорд отсекает открытые узлы с худшей оценкой
+            solution = x;
+            zValue = value;
+            open.removeIf(other -> !canImprove(other.bound()));
+            return;
+        }
+
+        Fraction down = x.get(column).floor();
+        Fraction up = down.add(Fraction.ONE);
+        Fraction[] downUpper = node.upper().clone();
+        downUpper[column] = down;
+        Fraction[] upLower = node.lower().clone();
+        upLower[column] = up;
+        // Более близкая ветвь получает больший номер и при равных оценках выбирается первой
+        boolean upCloser = x.get(column).subtract(down).compareTo(new Fraction(1, 2)) > 0;
+        List<Integer> basis = solver.getFinalBasis();
+        int depth = node.depth() + 1;
+        open.add(new Node(node.lower(), downUpper, basis, value, depth, upCloser ? nodeOrder : nodeOrder + 1));
+        open.add(new Node(upLower, node.upper(), basis, value, depth, upCloser ? nodeOrder + 1 : nodeOrder));
+        nodeOrder += 2;
+    }
+
+    // Целочисленная переменная с наиболее дробным значением, -1 — решение целочисленное
+    private int branchingColumn(List<Fraction> x) {
+        int column = -1;
+        Fraction bestDistance = Fraction.ZERO;
+        for (int j = 0; j < x.size(); j++) {
+            if (!problem.isInteger(j) || x.get(j).isInteger()) continue;
+            Fraction fractional = x.get(j).subtract(x.get(j).floor());
+            Fraction distance = fractional.compareTo(Fraction.ONE.subtract(fractional)) < 0
+                    ? fractional : Fraction.ONE.subtract(fractional);
+            if (distance.compareTo(bestDistance) > 0) {
+                bestDistance = distance;
+                column = j;
+            }
+        }
+        return column;
+    }
+
+    private boolean canImprove(Fraction bound) {
+        return zValue == null || bound == null || better(bound, zValue);
+    }
+
+    private boolean better(Fraction a, Fraction b) {
+        int cmp = a.compareTo(b);
+        return problem.getGoal() == Goal.MAX ? cmp > 0 : cmp < 0;
+    }
+
+    // Лучшая оценка среди нерешённых узлов и рекорда (null — корень не решён)
+    private Fraction openBound() {
+        Fraction bound = zValue;
+        for (Node node : open) {
+            if (node.bound() == null) {
+                return null;
+            }
+            if (bound == null || better(node.bound(), bound)) {
+                bound = node.bound();
+            }
+        }
+        return bound;
+    }
+
+    private Comparator<Node> bestFirst() {
+        Comparator<Node> byBound = (a, b) -> a.bound() == null || b.bound() == null ? 0
+                : problem.getGoal() == Goal.MAX ? b.bound().compareTo(a.bound()) : a.bound().compareTo(b.bound());
+        return byBound.thenComparing(Node::depth, Comparator.reverseOrder())
+                .thenComparing(Node::order, Comparator.reverseOrder());
+    }
+
+    private static Comparator<Node> depthFirst() {
+        return Comparator.comparing(Node::depth, Comparator.reverseOrder())
+                .thenComparing(Node::order, Comparator.reverseOrder());
+    }
+}
@@ -0,0 +1,19 @@
+package ru.sibsutis.artificial_basis;
+
+import java.util.List;
+
+// Правило Данцига: столбец с наименьшей (самой отрицательной) оценкой
+public class DantzigPricing implements PricingStrategy {
+    @Override
+    public int selectColumn(List<Fraction> costRow, List<List<Fraction>> rows, int[] columns) {
+        int col = -1;
+        Fraction minFraction = Fraction.ZERO;
+        for (int j : columns) {
+            if (costRow.get(j).compareTo(minFraction) < 0) {
+                minFraction = costRow.get(j);
+                col = j;
+            }
+        }
+        return col;
+    }
+}
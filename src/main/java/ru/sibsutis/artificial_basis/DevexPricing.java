@@ -0,0 +1,70 @@
+package ru.sibsutis.artificial_basis;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Devex: приближённые веса ребер w_j относительно опорной системы.
+ * Выбирается столбец с максимальным d_j^2 / w_j; веса пересчитываются при каждом шаге.
+ */
+public class DevexPricing implements PricingStrategy {
+    private double[] weights = new double[0];
+
+    @Override
+    public int selectColumn(List<Fraction> costRow, List<List<Fraction>> rows, int[] columns) {
+        ensureSize(costRow.size());
+        int col = -1;
+        double best = 0;
+        for (int j : columns) {
+            Fraction cost = costRow.get(j);
+            if (cost.signum() >= 0) continue;
+            double d = cost.doubleValue();
+            double score = d * d / weights[j];
+            if (col < 0 || score > best) {
+                best = score;
+                col = j;
+            }
+        }
+        return col;
+    }
+
+    @Override
+    public void beforePivot(List<List<Fraction>> rows, int row, int col, int leavingVar) {
+        List<Fraction> pivotRow = rows.get(row);
+        ensureSize(pivotRow.size() - 1);
+        double pivot = pivotRow.get(col).doubleValue();
+        double pivotWeight = weights[col];
+
+        if (pivotRow instanceof SparseRow sparse) {
+            for (int k = 0; k < sparse.nonZeroCount(); k++) {
+                updateWeight(sparse.indexAt(k), sparse.valueAt(k).doubleValue() / pivot, pivotWeight, col);
+            }
+        } else {
+            for (int j = 0; j < pivotRow.size() - 1; j++) {
+                updateWeight(j, pivotRow.get(j).doubleValue() / pivot, pivotWeight, col);
+            }
+        }
+        if (leavingVar < weights.length) {
+            weights[leavingVar] = Math.max(pivotWeight / (pivot * pivot), 1);
+        }
+    }
+
+    private void updateWeight(int j, double ratio, double pivotWeight, int col) {
+        if (j == col || j >= weights.length) return;
+        weights[j] = Math.max(weights[j], ratio * ratio * pivotWeight);
+    }
+
+    @Override
+    public void reset(int columnCount) {
+        weights = new double[columnCount];
+        Arrays.fill(weights, 1);
+    }
+
+    private void ensureSize(int columnCount) {
+        if (weights.length < columnCount) {
+            int from = weights.length;
+            weights = Arrays.copyOf(weights, columnCount);
+            Arrays.fill(weights, from, columnCount, 1);
+        }
+    }
+}
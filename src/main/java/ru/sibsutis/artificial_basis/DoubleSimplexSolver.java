@@ -0,0 +1,338 @@
+package ru.sibsutis.artificial_basis;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Двухэтапный метод искусственного базиса в арифметике double.
+ * Вся таблица хранится в одном массиве по строкам: m строк ограничений,
+ * затем Z-строка и M-строка; последний столбец — свободные члены.
+ */
+@Getter
+public class DoubleSimplexSolver implements LinearSolver {
+    private final Goal goal;
+    private final SimplexTolerances tolerances;
+    private final int originalVarsCount;
+
+    private final int rowCount;
+    private final int varCount;        // исходные + балансовые переменные
+    private final int columnCount;     // varCount + искусственные
+    private final int stride;          // columnCount + столбец свободных членов
+    private final double[] table;
+    private final double[] objective;  // коэффициенты Z в канонической форме (максимизация)
+    private final int[] basis;
+    private final boolean[] basic;     // столбец входит в basis
+    private final boolean[] artificial;
+
+    private boolean hasMRow;
+    private int iteration;
+
+    @Setter
+    private int maxIterations = SimplexSolver.DEFAULT_MAX_ITERATIONS;
+    @Setter
+    private int degeneracyThreshold = SimplexSolver.DEFAULT_DEGENERACY_THRESHOLD;
+    private int degeneratePivots;
+    private boolean blandRule;
+
+    private SolutionStatus status;
+    private double[] solution;
+    private double[] alternativeSolution;
+    private double zValue;
+
+    public DoubleSimplexSolver(SimplexProblem simplexProblem, SimplexTolerances tolerances) {
+        // Границы переменных здесь не поддерживаются и записываются строками
+        simplexProblem = simplexProblem.withBoundsAsConstraints();
+        this.goal = simplexProblem.getGoal();
+        this.tolerances = tolerances;
+
+        List<Fraction> zCoefficients = simplexProblem.getZCoefficients();
+        List<Equation> equations = simplexProblem.getEquations();
+        this.originalVarsCount = zCoefficients.size();
+        this.rowCount = equations.size();
+
+        int width = originalVarsCount;
+        int slackCount = 0;
+        for (Equation equation : equations) {
+            width = Math.max(width, equation.getCoefficients().size());
+            if (!equation.getSign().equals("=")) {
+                slackCount++;
+            }
+        }
+        this.varCount = width + slackCount;
+
+        // Каноническая форма во временной плотной матрице без искусственных столбцов
+        double[][] canonical = new double[rowCount][varCount + 1];
+        int slack = width;
+        for (int i = 0; i < rowCount; i++) {
+            Equation equation = equations.get(i);
+            double sign = equation.getResult().signum() < 0 ? -1 : 1;
+            List<Fraction> coefficients = equation.getCoefficients();
+            for (int j = 0; j < coefficients.size(); j++) {
+                canonical[i][j] = sign * coefficients.get(j).doubleValue();
+            }
+            canonical[i][varCount] = sign * equation.getResult().doubleValue();
+
+            String relation = equation.getSign();
+            if (sign < 0) {
+                relation = relation.equals("<=") ? ">=" : relation.equals(">=") ? "<=" : "=";
+            }
+            if (relation.equals("<=")) {
+                canonical[i][slack++] = 1;
+            } else if (relation.equals(">=")) {
+                canonical[i][slack++] = -1;
+            }
+        }
+
+        this.objective = new double[varCount];
+        for (int j = 0; j < originalVarsCount; j++) {
+            double c = zCoefficients.get(j).doubleValue();
+            objective[j] = goal == Goal.MIN ? -c : c;
+        }
+
+        // Поиск единичных столбцов; строкам без них назначаются искусственные переменные
+        int[] initialBasis = new int[rowCount];
+        int artificialCount = 0;
+        for (int i = 0; i < rowCount; i++) {
+            initialBasis[i] = -1;
+            for (int j = 0; j < varCount; j++) {
+                if (canonical[i][j] == 1 && isUnitColumn(canonical, i, j)) {
+                    initialBasis[i] = j;
+                    break;
+                }
+            }
+            if (initialBasis[i] < 0) {
+                artificialCount++;
+            }
+        }
+
+        this.columnCount = varCount + artificialCount;
+        this.stride = columnCount + 1;
+        this.table = new double[(rowCount + 2) * stride];
+        this.basis = new int[rowCount];
+        this.basic = new boolean[columnCount];
+        this.artificial = new boolean[columnCount];
+
+        int nextArtificial = varCount;
+        for (int i = 0; i < rowCount; i++) {
+            System.arraycopy(canonical[i], 0, table, i * stride, varCount);
+            table[i * stride + columnCount] = canonical[i][varCount];
+            if (initialBasis[i] >= 0) {
+                basis[i] = initialBasis[i];
+            } else {
+                table[i * stride + nextArtificial] = 1;
+                artificial[nextArtificial] = true;
+                basis[i] = nextArtificial++;
+            }
+            basic[basis[i]] = true;
+        }
+
+        // M-строка: минус сумма строк с искусственными базисными переменными
+        int mOffset = (rowCount + 1) * stride;
+        for (int i = 0; i < rowCount; i++) {
+            if (!artificial[basis[i]]) continue;
+            for (int j = 0; j < stride; j++) {
+                table[mOffset + j] -= table[i * stride + j];
+            }
+        }
+        for (int j = varCount; j < columnCount; j++) {
+            table[mOffset + j] = 0;
+        }
+        this.hasMRow = artificialCount > 0;
+        this.iteration = 1;
+    }
+
+    private static boolean isUnitColumn(double[][] canonical, int row, int col) {
+        for (int i = 0; i < canonical.length; i++) {
+            if (i != row && canonical[i][col] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public SolutionStatus solve() {
+        int zOffset = rowCount * stride;
+        int mOffset = (rowCount + 1) * stride;
+
+        // Phase I
+        while (hasMRow) {
+            int col = findPivotColumn(mOffset);
+            if (col < 0) {
+                break;
+            }
+            if (iteration > maxIterations) {
+                return status = SolutionStatus.ITERATION_LIMIT;
+            }
+            int row = findPivotRow(col);
+            if (row < 0) {
+                return status = SolutionStatus.INFEASIBLE;
+            }
+            performPivotOperation(row, col);
+            for (int j = varCount; j < columnCount; j++) {
+                table[mOffset + j] = 0;
+            }
+            iteration++;
+        }
+
+        if (hasMRow) {
+            // M-строка хранит минус сумму искусственных переменных
+            if (table[mOffset + columnCount] < -tolerances.getFeasibility()) {
+                return status = SolutionStatus.INFEASIBLE;
+            }
+            driveOutArtificialVars();
+            hasMRow = false;
+        }
+
+        // Phase II
+        restoreOriginalZRow();
+        while (true) {
+            int col = findPivotColumn(zOffset);
+            if (col < 0) {
+                break;
+            }
+            if (iteration > maxIterations) {
+                return status = SolutionStatus.ITERATION_LIMIT;
+            }
+            int row = findPivotRow(col);
+            if (row < 0) {
+                return status = SolutionStatus.UNBOUNDED;
+            }
+            performPivotOperation(row, col);
+            iteration++;
+        }
+
+        solution = getCurrentSolution();
+        zValue = goal == Goal.MIN ? -table[zOffset + columnCount] : table[zOffset + columnCount];
+        status = SolutionStatus.OPTIMAL;
+
+        // Ищем альтернативное решение: небазисный столбец с нулевой оценкой
+        for (int col = 0; col < varCount; col++) {
+            if (basic[col] || Math.abs(table[zOffset + col]) > tolerances.getOptimality()) continue;
+            int row = findPivotRow(col);
+            if (row < 0) continue;
+
+            double[] saved = table.clone();
+            int[] savedBasis = basis.clone();
+            boolean[] savedBasic = basic.clone();
+            performPivotOperation(row, col);
+            alternativeSolution = getCurrentSolution();
+            System.arraycopy(saved, 0, table, 0, table.length);
+            System.arraycopy(savedBasis, 0, basis, 0, basis.length);
+            System.arraycopy(savedBasic, 0, basic, 0, basic.length);
+
+            status = SolutionStatus.ALTERNATIVE_OPTIMA;
+            break;
+        }
+        return status;
+    }
+
+    private int findPivotColumn(int costOffset) {
+        int col = -1;
+        double min = -tolerances.getOptimality();
+        for (int j = 0; j < columnCount; j++) {
+            if (artificial[j]) continue;
+            double value = table[costOffset + j];
+            if (value < min) {
+                if (blandRule) {
+                    return j;
+                }
+                min = value;
+                col = j;
+            }
+        }
+        return col;
+    }
+
+    private int findPivotRow(int col) {
+        int row = -1;
+        double minRatio = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < rowCount; i++) {
+            double a = table[i * stride + col];
+            if (a > tolerances.getPivot()) {
+                double ratio = Math.max(table[i * stride + columnCount], 0) / a;
+                if (ratio < minRatio || (ratio == minRatio && blandRule && basis[i] < basis[row])) {
+                    minRatio = ratio;
+                    row = i;
+                }
+            }
+        }
+        return row;
+    }
+
+    private void performPivotOperation(int row, int col) {
+        int pivotOffset = row * stride;
+        double pivotValue = table[pivotOffset + col];
+
+        // Вырожденные шаги подряд переключают выбор на правило Бленда, как в SimplexSolver
+        if (table[pivotOffset + columnCount] <= tolerances.getFeasibility()) {
+            degeneratePivots++;
+            blandRule = degeneratePivots >= degeneracyThreshold;
+        } else {
+            degeneratePivots = 0;
+            blandRule = false;
+        }
+
+        for (int j = 0; j < stride; j++) {
+            table[pivotOffset + j] /= pivotValue;
+        }
+        table[pivotOffset + col] = 1;
+
+        // Обновляем строки ограничений, Z- и M-строку
+        for (int i = 0; i < rowCount + 2; i++) {
+            if (i == row) continue;
+            int offset = i * stride;
+            double factor = table[offset + col];
+            if (factor == 0) continue;
+            for (int j = 0; j < stride; j++) {
+                table[offset + j] -= factor * table[pivotOffset + j];
+            }
+            table[offset + col] = 0;
+        }
+        basic[basis[row]] = false;
+        basic[col] = true;
+        basis[row] = col;
+    }
+
+    // Выводим из базиса искусственные переменные, оставшиеся на нулевом уровне
+    private void driveOutArtificialVars() {
+        for (int i = 0; i < rowCount; i++) {
+            if (!artificial[basis[i]]) continue;
+            for (int j = 0; j < varCount; j++) {
+                if (!basic[j] && Math.abs(table[i * stride + j]) > tolerances.getPivot()) {
+                    performPivotOperation(i, j);
+                    break;
+                }
+            }
+        }
+    }
+
+    private void restoreOriginalZRow() {
+        int zOffset = rowCount * stride;
+        for (int j = 0; j < stride; j++) {
+            table[zOffset + j] = j < varCount ? -objective[j] : 0;
+        }
+        for (int i = 0; i < rowCount; i++) {
+            int var = basis[i];
+            double c = var < varCount ? objective[var] : 0;
+            if (c == 0) continue;
+            for (int j = 0; j < stride; j++) {
+                table[zOffset + j] += c * table[i * stride + j];
+            }
+        }
+    }
+
+    private double[] getCurrentSolution() {
+        double[] values = new double[originalVarsCount];
+        for (int i = 0; i < rowCount; i++) {
+            int var = basis[i];
+            if (var < originalVarsCount) {
+                double value = table[i * stride + columnCount];
+                values[var] = Math.abs(value) <= tolerances.getFeasibility() ? 0 : value;
+            }
+        }
+        return values;
+    }
+}
@@ -1,104 +1,302 @@
 package ru.sibsutis.artificial_basis;
 
-import lombok.Getter;
-
+import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.Objects;
+import java.math.MathContext;
+
+/**
+ * Несократимая дробь. Пока числитель и знаменатель помещаются в {@code long},
+ * вся арифметика идёт на примитивах с контролем переполнения; при переполнении
+ * значение точно переводится в {@link BigInteger} и обратно, как только снова помещается.
+ */
+public final class Fraction implements Comparable<Fraction> {
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+    // Используются, когда bigNumerator == null
+    private final long numerator;
+    private final long denominator;
 
-@Getter
-public class Fraction implements Comparable<Fraction> {
-    private BigInteger numerator;
-    private BigInteger denominator;
+    // Используются только для значений, не помещающихся в long
+    private final BigInteger bigNumerator;
+    private final BigInteger bigDenominator;
 
     public static final Fraction ZERO = new Fraction(0);
     public static final Fraction ONE = new Fraction(1);
     public static final Fraction MINUS_ONE = new Fraction(-1);
-    public static final Fraction MIN_VALUE = new Fraction(Integer.MIN_VALUE);
-    public static final Fraction MAX_VALUE = new Fraction(Integer.MAX_VALUE);
 
     public Fraction(BigInteger numerator, BigInteger denominator) {
+        if (denominator.signum() == 0) {
+            throw new IllegalArgumentException("Denominator cannot be zero.");
+        }
+        BigInteger gcdValue = numerator.gcd(denominator);
+        if (denominator.signum() < 0) {
+            gcdValue = gcdValue.negate();
+        }
+        numerator = numerator.divide(gcdValue);
+        denominator = denominator.divide(gcdValue);
+
+        if (fitsInLong(numerator) && fitsInLong(denominator)) {
+            this.numerator = numerator.longValue();
+            this.denominator = denominator.longValue();
+            this.bigNumerator = null;
+            this.bigDenominator = null;
+        } else {
+            this.numerator = 0;
+            this.denominator = 1;
+            this.bigNumerator = numerator;
+            this.bigDenominator = denominator;
+        }
+    }
+
+    public Fraction(long numerator, long denominator) {
+        if (denominator == 0) {
+            throw new IllegalArgumentException("Denominator cannot be zero.");
+        }
+        if (numerator == Long.MIN_VALUE || denominator == Long.MIN_VALUE) {
+            Fraction big = new Fraction(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+            this.numerator = big.numerator;
+            this.denominator = big.denominator;
+            this.bigNumerator = big.bigNumerator;
+            this.bigDenominator = big.bigDenominator;
+            return;
+        }
+        long gcdValue = gcd(Math.abs(numerator), Math.abs(denominator));
+        if (denominator < 0) {
+            gcdValue = -gcdValue;
+        }
+        this.numerator = numerator / gcdValue;
+        this.denominator = denominator / gcdValue;
+        this.bigNumerator = null;
+        this.bigDenominator = null;
+    }
+
+    public Fraction(long numerator) {
+        this(numerator, 1);
+    }
+
+    // Для уже сокращённых long-значений с положительным знаменателем
+    private Fraction(long numerator, long denominator, boolean normalized) {
         this.numerator = numerator;
         this.denominator = denominator;
-        simplify();
+        this.bigNumerator = null;
+        this.bigDenominator = null;
     }
 
-    public Fraction(int numerator, int denominator) {
-        this(BigInteger.valueOf(numerator), BigInteger.valueOf(denominator));
+    /**
+     * Значения вне диапазона long хранятся только в BigInteger, поэтому Long.MIN_VALUE
+     * сюда не попадает и смена знака/модуль в быстрой ветке никогда не переполняются.
+     */
+    private static boolean fitsInLong(BigInteger value) {
+        return value.compareTo(LONG_MIN) > 0 && value.compareTo(LONG_MAX) <= 0;
     }
 
-    public Fraction(int numerator) {
-        this(BigInteger.valueOf(numerator), BigInteger.ONE);
+    // Бинарный алгоритм Евклида (Стейна) для неотрицательных аргументов
+    static long gcd(long a, long b) {
+        if (a == 0) return b == 0 ? 1 : b;
+        if (b == 0) return a;
+        int shift = Long.numberOfTrailingZeros(a | b);
+        a >>= Long.numberOfTrailingZeros(a);
+        do {
+            b >>= Long.numberOfTrailingZeros(b);
+            if (a > b) {
+                long t = b;
+                b = a;
+                a = t;
+            }
+            b -= a;
+        } while (b != 0);
+        return a << shift;
     }
 
-    private void simplify() {
-        if (denominator.equals(BigInteger.ZERO)) {
-            throw new IllegalArgumentException("Denominator cannot be zero.");
-        }
-        BigInteger gcdValue = numerator.gcd(denominator);
-        numerator = numerator.divide(gcdValue);
-        denominator = denominator.divide(gcdValue);
-        if (denominator.compareTo(BigInteger.ZERO) < 0) {
-            numerator = numerator.negate();
-            denominator = denominator.negate();
-        }
+    boolean isBig() {
+        return bigNumerator != null;
+    }
+
+    // Числитель и знаменатель без BigInteger; имеют смысл только при !isBig()
+    long longNumerator() {
+        return numerator;
+    }
+
+    long longDenominator() {
+        return denominator;
+    }
+
+    public BigInteger getNumerator() {
+        return isBig() ? bigNumerator : BigInteger.valueOf(numerator);
+    }
+
+    public BigInteger getDenominator() {
+        return isBig() ? bigDenominator : BigInteger.valueOf(denominator);
+    }
+
+    public int signum() {
+        return isBig() ? bigNumerator.signum() : Long.signum(numerator);
+    }
+
+    public boolean isInteger() {
+        return isBig() ? bigDenominator.equals(BigInteger.ONE) : denominator == 1;
     }
 
     public static Fraction parseFraction(String string) {
         if (string.contains("/")) {
             String[] parts = string.split("/");
-            return new Fraction(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+            return new Fraction(new BigInteger(parts[0]), new BigInteger(parts[1]));
         }
-        return new Fraction(Integer.parseInt(string));
+        return new Fraction(new BigInteger(string), BigInteger.ONE);
     }
 
     public Fraction add(Fraction other) {
-        BigInteger newNumerator = this.numerator.multiply(other.denominator)
-                .add(other.numerator.multiply(this.denominator));
-        BigInteger newDenominator = this.denominator.multiply(other.denominator);
-        return new Fraction(newNumerator.intValue(), newDenominator.intValue());
+        if (!this.isBig() && !other.isBig()) {
+            try {
+                if (this.denominator == other.denominator) {
+                    return new Fraction(Math.addExact(this.numerator, other.numerator), this.denominator);
+                }
+                long newNumerator = Math.addExact(
+                        Math.multiplyExact(this.numerator, other.denominator),
+                        Math.multiplyExact(other.numerator, this.denominator));
+                long newDenominator = Math.multiplyExact(this.denominator, other.denominator);
+                return new Fraction(newNumerator, newDenominator);
+            } catch (ArithmeticException overflow) {
+                // переходим к точной BigInteger-ветке
+            }
+        }
+        BigInteger newNumerator = this.getNumerator().multiply(other.getDenominator())
+                .add(other.getNumerator().multiply(this.getDenominator()));
+        BigInteger newDenominator = this.getDenominator().multiply(other.getDenominator());
+        return new Fraction(newNumerator, newDenominator);
     }
 
     public Fraction subtract(Fraction other) {
-        BigInteger newNumerator = this.numerator.multiply(other.denominator)
-                .subtract(other.numerator.multiply(this.denominator));
-        BigInteger newDenominator = this.denominator.multiply(other.denominator);
-        return new Fraction(newNumerator.intValue(), newDenominator.intValue());
+        if (!this.isBig() && !other.isBig()) {
+            try {
+                if (this.denominator == other.denominator) {
+                    return new Fraction(Math.subtractExact(this.numerator, other.numerator), this.denominator);
+                }
+                long newNumerator = Math.subtractExact(
+                        Math.multiplyExact(this.numerator, other.denominator),
+                        Math.multiplyExact(other.numerator, this.denominator));
+                long newDenominator = Math.multiplyExact(this.denominator, other.denominator);
+                return new Fraction(newNumerator, newDenominator);
+            } catch (ArithmeticException overflow) {
+                // переходим к точной BigInteger-ветке
+            }
+        }
+        BigInteger newNumerator = this.getNumerator().multiply(other.getDenominator())
+                .subtract(other.getNumerator().multiply(this.getDenominator()));
+        BigInteger newDenominator = this.getDenominator().multiply(other.getDenominator());
+        return new Fraction(newNumerator, newDenominator);
     }
 
     public Fraction multiply(Fraction other) {
-        BigInteger newNumerator = this.numerator.multiply(other.numerator);
-        BigInteger newDenominator = this.denominator.multiply(other.denominator);
-        return new Fraction(newNumerator.intValue(), newDenominator.intValue());
+        if (!this.isBig() && !other.isBig()) {
+            // Перекрёстное сокращение держит промежуточные значения малыми
+            long g1 = gcd(Math.abs(this.numerator), other.denominator);
+            long g2 = gcd(Math.abs(other.numerator), this.denominator);
+            try {
+                long newNumerator = Math.multiplyExact(this.numerator / g1, other.numerator / g2);
+                long newDenominator = Math.multiplyExact(this.denominator / g2, other.denominator / g1);
+                return new Fraction(newNumerator, newDenominator);
+            } catch (ArithmeticException overflow) {
+                // переходим к точной BigInteger-ветке
+            }
+        }
+        BigInteger newNumerator = this.getNumerator().multiply(other.getNumerator());
+        BigInteger newDenominator = this.getDenominator().multiply(other.getDenominator());
+        return new Fraction(newNumerator, newDenominator);
     }
 
     public Fraction multiply(int other) {
-        return new Fraction(this.numerator.intValue() * other, this.denominator.intValue());
+        if (other == 1) return this;
+        if (other == -1) return negate();
+        return multiply(new Fraction(other));
     }
 
     public Fraction divide(Fraction other) {
-        BigInteger newNumerator = this.numerator.multiply(other.denominator);
-        BigInteger newDenominator = this.denominator.multiply(other.numerator);
-        return new Fraction(newNumerator.intValue(), newDenominator.intValue());
+        if (other.signum() == 0) {
+            throw new IllegalArgumentException("Denominator cannot be zero.");
+        }
+        if (!this.isBig() && !other.isBig()) {
+            long g1 = gcd(Math.abs(this.numerator), Math.abs(other.numerator));
+            long g2 = gcd(this.denominator, other.denominator);
+            try {
+                long newNumerator = Math.multiplyExact(this.numerator / g1, other.denominator / g2);
+                long newDenominator = Math.multiplyExact(this.denominator / g2, other.numerator / g1);
+                return new Fraction(newNumerator, newDenominator);
+            } catch (ArithmeticException overflow) {
+                // переходим к точной BigInteger-ветке
+            }
+        }
+        BigInteger newNumerator = this.getNumerator().multiply(other.getDenominator());
+        BigInteger newDenominator = this.getDenominator().multiply(other.getNumerator());
+        return new Fraction(newNumerator, newDenominator);
+    }
+
+    public Fraction negate() {
+        if (isBig()) {
+            return new Fraction(bigNumerator.negate(), bigDenominator);
+        }
+        return numerator == 0 ? this : new Fraction(-numerator, denominator, true);
     }
 
     public Fraction abs() {
-        int newNumerator = Math.abs(this.numerator.intValue());
-        int newDenominator = Math.abs(this.denominator.intValue());
-        return new Fraction(newNumerator, newDenominator);
+        return signum() < 0 ? negate() : this;
+    }
+
+    // Наибольшее целое, не превосходящее дробь
+    public Fraction floor() {
+        if (isBig()) {
+            BigInteger[] quotient = bigNumerator.divideAndRemainder(bigDenominator);
+            BigInteger value = quotient[1].signum() < 0 ? quotient[0].subtract(BigInteger.ONE) : quotient[0];
+            return new Fraction(value, BigInteger.ONE);
+        }
+        return denominator == 1 ? this : new Fraction(Math.floorDiv(numerator, denominator), 1, true);
+    }
+
+    public Fraction ceil() {
+        return negate().floor().negate();
+    }
+
+    public double doubleValue() {
+        if (!isBig()) {
+            return (double) numerator / denominator;
+        }
+        return new BigDecimal(bigNumerator)
+                .divide(new BigDecimal(bigDenominator), MathContext.DECIMAL64)
+                .doubleValue();
     }
 
     @Override
     public String toString() {
-        if (denominator.equals(BigInteger.ONE)) {
-            return numerator.toString();
+        if (!isBig()) {
+            return denominator == 1 ? Long.toString(numerator) : numerator + "/" + denominator;
+        }
+        if (bigDenominator.equals(BigInteger.ONE)) {
+            return bigNumerator.toString();
         }
-        return numerator + "/" + denominator;
+        return bigNumerator + "/" + bigDenominator;
     }
 
     @Override
     public int compareTo(Fraction other) {
-        return this.numerator.multiply(other.denominator)
-                .compareTo(other.numerator.multiply(this.denominator));
+        if (!this.isBig() && !other.isBig()) {
+            if (this.denominator == other.denominator) {
+                return Long.compare(this.numerator, other.numerator);
+            }
+            int thisSign = Long.signum(this.numerator);
+            int otherSign = Long.signum(other.numerator);
+            if (thisSign != otherSign) {
+                return Integer.compare(thisSign, otherSign);
+            }
+            try {
+                return Long.compare(Math.multiplyExact(this.numerator, other.denominator),
+                        Math.multiplyExact(other.numerator, this.denominator));
+            } catch (ArithmeticException overflow) {
+                // переходим к точной BigInteger-ветке
+            }
+        }
+        return this.getNumerator().multiply(other.getDenominator())
+                .compareTo(other.getNumerator().multiply(this.getDenominator()));
     }
 
     @Override
@@ -106,17 +304,22 @@ public class Fraction implements Comparable<Fraction> {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
 
+        // Обе дроби несократимы и хранятся в каноническом виде
         Fraction fraction = (Fraction) o;
-
-        BigInteger thisNumerator = this.numerator.multiply(fraction.denominator);
-        BigInteger otherNumerator = fraction.numerator.multiply(this.denominator);
-
-        return thisNumerator.equals(otherNumerator);
+        if (!this.isBig() && !fraction.isBig()) {
+            return numerator == fraction.numerator && denominator == fraction.denominator;
+        }
+        if (this.isBig() != fraction.isBig()) {
+            return false;
+        }
+        return bigNumerator.equals(fraction.bigNumerator) && bigDenominator.equals(fraction.bigDenominator);
     }
 
     @Override
     public int hashCode() {
-        Fraction simplified = new Fraction(numerator.intValue(), denominator.intValue());
-        return Objects.hash(simplified.numerator, simplified.denominator);
+        if (!isBig()) {
+            return 31 * Long.hashCode(numerator) + Long.hashCode(denominator);
+        }
+        return 31 * bigNumerator.hashCode() + bigDenominator.hashCode();
     }
 }
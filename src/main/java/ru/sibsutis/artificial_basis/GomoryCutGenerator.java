@@ -0,0 +1,173 @@
+package ru.sibsutis.artificial_basis;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Дробные отсечения Гомори по оптимальной таблице {@link SimplexSolver}. Строка
+ * x_B + sum a_j x_j = b с целочисленной базисной переменной и дробным b даёт отсечение
+ * sum frac(a_j) x_j &gt;= frac(b), если все небазисные переменные строки тоже целочисленные.
+ * Переменные таблицы (сдвинутые на нижнюю границу, заменённые на u - x, дополнительные)
+ * выражаются через исходные, и отсечение добавляется как обычное ограничение через
+ * {@link SimplexSolver#addConstraints}: таблица дополняется строками и дооптимизируется
+ * двойственным симплекс-методом без пересборки модели.
+ * Таблица точная, поэтому отсечения не требуют допусков.
+ */
+@Getter
+@Setter
+public class GomoryCutGenerator {
+    public static final int DEFAULT_MAX_ROUNDS = 10;
+    public static final int DEFAULT_MAX_CUTS_PER_ROUND = 10;
+
+    private int maxRounds = DEFAULT_MAX_ROUNDS;
+    private int maxCutsPerRound = DEFAULT_MAX_CUTS_PER_ROUND;
+    // Наибольшая доля ненулевых коэффициентов отсечения среди переменных задачи (1 — без ограничения)
+    private double maxDensity = 1.0;
+
+    private int roundCount;
+    private int cutCount;
+
+    // Переменная таблицы как constant + sum coefficients_j * x_j; integral — принимает только целые значения
+    private record Substitution(Fraction constant, Fraction[] coefficients, boolean integral) {
+    }
+
+    private record Cut(Equation equation, Fraction fractionality) {
+    }
+
+    /**
+     * Раунды отсечений для решённой задачи: после каждого раунда решение дооптимизируется.
+     * Останавливается, когда отсечений нет, решение перестало быть оптимальным или
+     * исчерпан maxRounds. Возвращает итоговый статус решателя.
+     */
+    public SolutionStatus apply(SimplexSolver solver) {
+        SolutionStatus status = solver.getStatus();
+        for (int round = 0; round < maxRounds; round++) {
+            if (status != SolutionStatus.OPTIMAL && status != SolutionStatus.ALTERNATIVE_OPTIMA) break;
+            List<Equation> cuts = generate(solver);
+            if (cuts.isEmpty()) break;
+            status = solver.addConstraints(cuts);
+            roundCount++;
+            cutCount += cuts.size();
+        }
+        return status;
+    }
+
+    // Отсечения по текущей оптимальной таблице, не более maxCutsPerRound, самые дробные первыми
+    public List<Equation> generate(SimplexSolver solver) {
+        SimplexProblem problem = solver.getProblem();
+        int n = solver.getOriginalVarsCount();
+        List<List<Fraction>> rows = solver.getSimplexTable().getRows();
+        List<Integer> basis = solver.getBasis();
+        int width = rows.isEmpty() ? 0 : rows.getFirst().size() - 1;
+
+        Substitution[] substitutions = new Substitution[width];
+        for (int column = 0; column < width; column++) {
+            substitutions[column] = substitution(solver, problem, column);
+        }
+
+        Fraction half = new Fraction(1, 2);
+        List<Cut> cuts = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Substitution basic = substitutions[basis.get(i)];
+            if (basic == null || basis.get(i) >= n || !basic.integral()) continue;
+            Fraction f0 = fractionalPart(rows.get(i).getLast());
+            if (f0.signum() == 0) continue;
+
+            Equation cut = buildCut((SparseRow) rows.get(i), basis.get(i), f0, substitutions, n);
+            if (cut != null) {
+                cuts.add(new Cut(cut, f0.subtract(half).abs()));
+            }
+        }
+        cuts.sort(Comparator.comparing(Cut::fractionality));
+        return cuts.stream()
+                .limit(maxCutsPerRound)
+                .map(Cut::equation)
+                .toList();
+    }
+
+    private Equation buildCut(SparseRow row, int basicColumn, Fraction f0, Substitution[] substitutions, int n) {
+        Fraction[] coefficients = new Fraction[n];
+        Arrays.fill(coefficients, Fraction.ZERO);
+        Fraction result = f0;
+        for (int k = 0; k < row.nonZeroCount(); k++) {
+            int t = row.indexAt(k);
+            if (t >= substitutions.length || t == basicColumn) continue;
+            Substitution variable = substitutions[t];
+            if (variable == null) continue;  // искусственная переменная равна нулю
+            if (!variable.integral()) {
+                return null;
+            }
+            Fraction f = fractionalPart(row.valueAt(k));
+            if (f.signum() == 0) continue;
+            result = result.subtract(f.multiply(variable.constant()));
+            for (int j = 0; j < n; j++) {
+                if (variable.coefficients()[j].signum() != 0) {
+                    coefficients[j] = coefficients[j].add(f.multiply(variable.coefficients()[j]));
+                }
+            }
+        }
+
+        int nonZero = 0;
+        for (Fraction coefficient : coefficients) {
+            if (coefficient.signum() != 0) nonZero++;
+        }
+        if (nonZero == 0 || nonZero > maxDensity * n) {
+            return null;
+        }
+        SparseRow cutRow = new SparseRow(n, nonZero);
+        for (int j = 0; j < n; j++) {
+            if (coefficients[j].signum() != 0) {
+                cutRow.appendNonZero(j, coefficients[j]);
+            }
+        }
+        return new Equation(cutRow, ">=", result);
+    }
+
+    // null — искусственная переменная
+    private static Substitution substitution(SimplexSolver solver, SimplexProblem problem, int column) {
+        int n = solver.getOriginalVarsCount();
+        if (solver.getBasis().isArtificial(column)) {
+            return null;
+        }
+        Fraction[] coefficients = new Fraction[n];
+        Arrays.fill(coefficients, Fraction.ZERO);
+
+        if (column < n) {
+            // x' = x - l либо (у верхней границы) x' = u - x
+            Fraction lower = solver.getLowerBounds()[column];
+            boolean complemented = solver.getComplemented()[column];
+            Fraction constant = complemented ? solver.getUpperBounds()[column].add(lower) : lower.negate();
+            coefficients[column] = complemented ? Fraction.MINUS_ONE : Fraction.ONE;
+            return new Substitution(constant, coefficients, problem.isInteger(column) && constant.isInteger());
+        }
+
+        // Дополнительная переменная строки r: sign * s = b' - sum a'_j (x_j - l_j)
+        int[] slackColumns = solver.getSlackColumns();
+        int row = 0;
+        while (slackColumns[row] != column) {
+            row++;
+        }
+        Equation canonical = solver.getEquations().get(row);
+        List<Fraction> a = canonical.getCoefficients();
+        Fraction sign = solver.slackCoefficient(row);
+        Fraction constant = canonical.getResult();
+        boolean integral = true;
+        for (int j = 0; j < n; j++) {
+            if (a.get(j).signum() == 0) continue;
+            constant = constant.add(a.get(j).multiply(solver.getLowerBounds()[j]));
+            coefficients[j] = a.get(j).negate().multiply(sign);
+            integral &= problem.isInteger(j) && a.get(j).isInteger();
+        }
+        constant = constant.multiply(sign);
+        return new Substitution(constant, coefficients, integral && constant.isInteger());
+    }
+
+    private static Fraction fractionalPart(Fraction value) {
+        return value.subtract(value.floor());
+    }
+}
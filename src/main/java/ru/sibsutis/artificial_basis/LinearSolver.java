@@ -0,0 +1,5 @@
+package ru.sibsutis.artificial_basis;
+
+public interface LinearSolver {
+    SolutionStatus solve();
+}
@@ -0,0 +1,381 @@
+package ru.sibsutis.artificial_basis;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Чтение задач в текстовом формате CPLEX LP. Файл читается построчно, выражения
+ * могут переноситься на следующие строки. Поддерживаются секции Maximize/Minimize,
+ * Subject To, Bounds, General, Binary и End; ключевое слово секции занимает отдельную строку,
+ * комментарии начинаются с '\'.
+ * General отмечает целочисленные переменные, Binary — целочисленные с границами 0 <= x <= 1,
+ * константы в целевой функции отбрасываются.
+ */
+public class LpReader {
+    private enum Section {NONE, OBJECTIVE, CONSTRAINTS, BOUNDS, GENERAL, BINARY, END}
+
+    private enum TokenType {NUMBER, NAME, LABEL, SIGN, RELATION}
+
+    private record Token(TokenType type, String text) {
+    }
+
+    private final ProblemTokenizer tokenizer;
+    private final ProblemBuilder builder = new ProblemBuilder();
+    private Goal goal;
+    private Section section = Section.NONE;
+
+    // Состояние текущего выражения (целевая функция или ограничение)
+    private String rowName;
+    private final List<Integer> termColumns = new ArrayList<>();
+    private final List<Fraction> termValues = new ArrayList<>();
+    private int termSign = 1;
+    private Fraction pendingNumber;
+    private Fraction constant = Fraction.ZERO;
+    private String relation;
+    private int rhsSign = 1;
+
+    private LpReader(ReadableByteChannel channel) {
+        this.tokenizer = new ProblemTokenizer(channel);
+    }
+
+    public static SimplexProblem readFromFile(String filename) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filename))) {
+            return read(channel);
+        }
+    }
+
+    public static SimplexProblem read(InputStream input) throws IOException {
+        return read(Channels.newChannel(input));
+    }
+
+    public static SimplexProblem read(ReadableByteChannel channel) throws IOException {
+        return new LpReader(channel).read();
+    }
+
+    private SimplexProblem read() throws IOException {
+        String line;
+        while (section != Section.END && (line = tokenizer.readLine()) != null) {
+            try {
+                readLine(stripComment(line));
+            } catch (IOException | RuntimeException e) {
+                throw new IOException("LP line " + (tokenizer.getLineNumber() - 1) + ": " + e.getMessage(), e);
+            }
+        }
+        finishSection();
+        if (goal == null) {
+            throw new IOException("LP file has no Maximize/Minimize section");
+        }
+        return builder.build(goal);
+    }
+
+    private void readLine(String line) throws IOException {
+        String rest = line.strip();
+        if (rest.isEmpty()) {
+            return;
+        }
+        String keyword = matchKeyword(rest.toLowerCase(Locale.ROOT));
+        if (keyword != null) {
+            finishSection();
+            section = switch (keyword) {
+                case "maximize", "maximise", "maximum", "max" -> {
+                    goal = Goal.MAX;
+                    yield Section.OBJECTIVE;
+                }
+                case "minimize", "minimise", "minimum", "min" -> {
+                    goal = Goal.MIN;
+                    yield Section.OBJECTIVE;
+                }
+                case "subject to", "such that", "s.t.", "st.", "st" -> Section.CONSTRAINTS;
+                case "bounds", "bound" -> Section.BOUNDS;
+                case "general", "generals", "gen", "integer", "integers" -> Section.GENERAL;
+                case "binary", "binaries", "bin" -> Section.BINARY;
+                case "end" -> Section.END;
+                default -> throw new IllegalStateException(keyword);
+            };
+            return;
+        }
+
+        List<Token> tokens = tokenize(rest);
+        switch (section) {
+            case OBJECTIVE, CONSTRAINTS -> {
+                for (Token token : tokens) {
+                    acceptExpressionToken(token);
+                }
+            }
+            case BOUNDS -> readBound(tokens);
+            case GENERAL -> {
+                for (Token token : tokens) {
+                    builder.setInteger(builder.column(token.text()));
+                }
+            }
+            case BINARY -> {
+                for (Token token : tokens) {
+                    int column = builder.column(token.text());
+                    builder.setUpperBound(column, Fraction.ONE);
+                    builder.setInteger(column);
+                }
+            }
+            case NONE -> throw new IOException("Expected Maximize or Minimize before: " + rest);
+            case END -> {
+            }
+        }
+    }
+
+    private void acceptExpressionToken(Token token) throws IOException {
+        switch (token.type()) {
+            case LABEL -> {
+                flushConstant();
+                rowName = token.text();
+            }
+            case SIGN -> {
+                flushConstant();
+                int sign = token.text().equals("-") ? -1 : 1;
+                if (relation != null) {
+                    rhsSign *= sign;
+                } else {
+                    termSign *= sign;
+                }
+            }
+            case NUMBER -> {
+                Fraction value = ProblemTokenizer.parseFraction(token.text());
+                if (relation != null) {
+                    finishConstraint(rhsSign < 0 ? value.negate() : value);
+                } else if (pendingNumber != null) {
+                    pendingNumber = pendingNumber.multiply(value);
+                } else {
+                    pendingNumber = value;
+                }
+            }
+            case NAME -> {
+                if (relation != null) {
+                    throw new IOException("Variables on the right-hand side are not supported: " + token.text());
+                }
+                Fraction coefficient = pendingNumber == null ? Fraction.ONE : pendingNumber;
+                termColumns.add(builder.column(token.text()));
+                termValues.add(termSign < 0 ? coefficient.negate() : coefficient);
+                pendingNumber = null;
+                termSign = 1;
+            }
+            case RELATION -> {
+                if (section != Section.CONSTRAINTS) {
+                    throw new IOException("Relation in the objective: " + token.text());
+                }
+                flushConstant();
+                relation = token.text();
+            }
+        }
+    }
+
+    // Число без переменной — константа левой части
+    private void flushConstant() {
+        if (pendingNumber != null) {
+            Fraction value = termSign < 0 ? pendingNumber.negate() : pendingNumber;
+            constant = constant.add(value);
+            pendingNumber = null;
+            termSign = 1;
+        }
+    }
+
+    private void finishConstraint(Fraction rhs) {
+        int row = builder.addRow(rowName, relation);
+        for (int k = 0; k < termColumns.size(); k++) {
+            builder.addCoefficient(row, termColumns.get(k), termValues.get(k));
+        }
+        builder.setResult(row, rhs.subtract(constant));
+        resetExpression();
+    }
+
+    private void finishSection() throws IOException {
+        if (section == Section.OBJECTIVE) {
+            flushConstant();
+            for (int k = 0; k < termColumns.size(); k++) {
+                builder.addObjective(termColumns.get(k), termValues.get(k));
+            }
+            resetExpression();
+        } else if (section == Section.CONSTRAINTS && (!termColumns.isEmpty() || relation != null)) {
+            throw new IOException("Incomplete constraint at the end of the Subject To section");
+        }
+    }
+
+    private void resetExpression() {
+        rowName = null;
+        termColumns.clear();
+        termValues.clear();
+        termSign = 1;
+        pendingNumber = null;
+        constant = Fraction.ZERO;
+        relation = null;
+        rhsSign = 1;
+    }
+
+    /*
+     * Одна граница на строку: x >= l, x <= u, x = v, l <= x, l <= x <= u, x free.
+     * Бесконечности записываются как inf/infinity со знаком.
+     */
+    private void readBound(List<Token> tokens) throws IOException {
+        List<Object> items = new ArrayList<>();  // Fraction, null (бесконечность), имя или отношение
+        List<Integer> infiniteSigns = new ArrayList<>();
+        int sign = 1;
+        for (Token token : tokens) {
+            switch (token.type()) {
+                case SIGN -> sign *= token.text().equals("-") ? -1 : 1;
+                case NUMBER -> {
+                    Fraction value = ProblemTokenizer.parseFraction(token.text());
+                    items.add(sign < 0 ? value.negate() : value);
+                    sign = 1;
+                }
+                case NAME -> {
+                    String lower = token.text().toLowerCase(Locale.ROOT);
+                    if (lower.equals("inf") || lower.equals("infinity")) {
+                        items.add(new Infinity(sign));
+                    } else {
+                        items.add(token);
+                    }
+                    sign = 1;
+                }
+                case RELATION -> items.add(token.text());
+                case LABEL -> throw new IOException("Unexpected label in Bounds: " + token.text());
+            }
+        }
+
+        if (items.size() == 2 && items.get(0) instanceof Token name
+                && items.get(1) instanceof Token word && word.text().equalsIgnoreCase("free")) {
+            int column = builder.column(name.text());
+            builder.setLowerBound(column, null);
+            builder.setUpperBound(column, null);
+        } else if (items.size() == 3 && items.get(0) instanceof Token name) {
+            applyBound(builder.column(name.text()), (String) items.get(1), items.get(2));
+        } else if (items.size() == 3 && items.get(2) instanceof Token name) {
+            applyBound(builder.column(name.text()), reverse((String) items.get(1)), items.get(0));
+        } else if (items.size() == 5 && items.get(2) instanceof Token name) {
+            int column = builder.column(name.text());
+            applyBound(column, reverse((String) items.get(1)), items.get(0));
+            applyBound(column, (String) items.get(3), items.get(4));
+        } else {
+            throw new IOException("Unrecognized bound");
+        }
+    }
+
+    private record Infinity(int sign) {
+    }
+
+    // Ограничение вида x relation value
+    private void applyBound(int column, String relation, Object value) throws IOException {
+        Fraction bound = value instanceof Fraction fraction ? fraction : null;
+        if (bound == null && !(value instanceof Infinity)) {
+            throw new IOException("Bound value expected");
+        }
+        switch (relation) {
+            case ">=" -> builder.setLowerBound(column, bound);
+            case "<=" -> builder.setUpperBound(column, bound);
+            case "=" -> {
+                builder.setLowerBound(column, bound);
+                builder.setUpperBound(column, bound);
+            }
+            default -> throw new IOException("Unknown relation: " + relation);
+        }
+    }
+
+    private static String reverse(String relation) {
+        return switch (relation) {
+            case "<=" -> ">=";
+            case ">=" -> "<=";
+            default -> relation;
+        };
+    }
+
+    // Ключевое слово секции занимает всю строку: строка ограничения может начинаться с переменной bin или end
+    private static String matchKeyword(String line) {
+        String[] keywords = {
+                "maximize", "maximise", "maximum", "minimize", "minimise", "minimum",
+                "subject to", "such that", "s.t.", "st.", "bounds", "bound",
+                "generals", "general", "integers", "integer", "binaries", "binary",
+                "max", "min", "st", "gen", "bin", "end"
+        };
+        String words = String.join(" ", line.split("\\s+"));
+        for (String keyword : keywords) {
+            if (words.equals(keyword)) {
+                return keyword;
+            }
+        }
+        return null;
+    }
+
+    private static String stripComment(String line) {
+        int comment = line.indexOf('\\');
+        return comment >= 0 ? line.substring(0, comment) : line;
+    }
+
+    private static List<Token> tokenize(String line) throws IOException {
+        List<Token> tokens = new ArrayList<>();
+        int i = 0;
+        int length = line.length();
+        while (i < length) {
+            char c = line.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '+' || c == '-') {
+                tokens.add(new Token(TokenType.SIGN, String.valueOf(c)));
+                i++;
+            } else if (c == '<' || c == '>' || c == '=') {
+                int start = i;
+                while (i < length && (line.charAt(i) == '<' || line.charAt(i) == '>' || line.charAt(i) == '=')) i++;
+                tokens.add(new Token(TokenType.RELATION, normalizeRelation(line.substring(start, i))));
+            } else if (Character.isDigit(c) || c == '.') {
+                int start = i;
+                while (i < length && (Character.isDigit(line.charAt(i)) || line.charAt(i) == '.')) i++;
+                // Экспонента: e, необязательный знак и хотя бы одна цифра
+                if (i < length && (line.charAt(i) == 'e' || line.charAt(i) == 'E')) {
+                    int exp = i + 1;
+                    if (exp < length && (line.charAt(exp) == '+' || line.charAt(exp) == '-')) exp++;
+                    if (exp < length && Character.isDigit(line.charAt(exp))) {
+                        i = exp;
+                        while (i < length && Character.isDigit(line.charAt(i))) i++;
+                    }
+                }
+                // Рациональная константа p/q
+                if (i + 1 < length && line.charAt(i) == '/' && Character.isDigit(line.charAt(i + 1))) {
+                    i++;
+                    while (i < length && Character.isDigit(line.charAt(i))) i++;
+                }
+                tokens.add(new Token(TokenType.NUMBER, line.substring(start, i)));
+            } else if (isNameChar(c)) {
+                int start = i;
+                while (i < length && (isNameChar(line.charAt(i)) || Character.isDigit(line.charAt(i))
+                        || line.charAt(i) == '.')) i++;
+                String name = line.substring(start, i);
+                int next = i;
+                while (next < length && Character.isWhitespace(line.charAt(next))) next++;
+                if (next < length && line.charAt(next) == ':') {
+                    tokens.add(new Token(TokenType.LABEL, name));
+                    i = next + 1;
+                } else {
+                    tokens.add(new Token(TokenType.NAME, name));
+                }
+            } else {
+                throw new IOException("Unexpected character '" + c + "'");
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isNameChar(char c) {
+        return Character.isLetter(c) || "_!\"#$%&(),;?@`'{}|~".indexOf(c) >= 0;
+    }
+
+    private static String normalizeRelation(String relation) throws IOException {
+        return switch (relation) {
+            case "<", "<=", "=<" -> "<=";
+            case ">", ">=", "=>" -> ">=";
+            case "=" -> "=";
+            default -> throw new IOException("Unknown relation: " + relation);
+        };
+    }
+}
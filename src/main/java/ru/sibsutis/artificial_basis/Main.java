@@ -1,15 +1,20 @@
 package ru.sibsutis.artificial_basis;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 
 public class Main {
     public static void main(String[] args) {
         try {
             SimplexProblem simplexProblem = SimplexInputReader.readFromFile("src/main/resources/extra.txt");
             SimplexSolver solver = new SimplexSolver(simplexProblem);
+            PrintingSimplexListener listener = new PrintingSimplexListener(new BufferedWriter(new OutputStreamWriter(System.out)));
+            solver.setListener(listener);
             solver.solve();
+            listener.flush();
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
-}
\ No newline at end of file
+}
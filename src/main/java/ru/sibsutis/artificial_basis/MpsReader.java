@@ -0,0 +1,287 @@
+package ru.sibsutis.artificial_basis;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Чтение задач в формате MPS (свободном и фиксированном). Файл читается построчно,
+ * коэффициенты сразу попадают в разреженные строки {@link ProblemBuilder}.
+ * Поддерживаются секции NAME, OBJSENSE, ROWS, COLUMNS, RHS, RANGES, BOUNDS, ENDATA.
+ * Столбцы между маркерами INTORG/INTEND и границы BV/LI/UI делают переменную целочисленной,
+ * константа целевой функции (RHS строки N)
+ * не учитывается; из нескольких наборов RHS/RANGES/BOUNDS берётся первый.
+ */
+public class MpsReader {
+    // Границы полей фиксированного формата (с нуля, правая граница не включается)
+    private static final int[][] FIXED_FIELDS = {{1, 3}, {4, 12}, {14, 22}, {24, 36}, {39, 47}, {49, 61}};
+
+    private final ProblemTokenizer tokenizer;
+    private final boolean fixedFormat;
+    private final ProblemBuilder builder = new ProblemBuilder();
+    private final Set<String> freeRows = new HashSet<>();
+
+    private Goal goal = Goal.MIN;
+    private String objectiveRow;
+    private String rhsSet;
+    private String rangeSet;
+    private String boundSet;
+    private boolean integerBlock;
+
+    private MpsReader(ReadableByteChannel channel, boolean fixedFormat) {
+        this.tokenizer = new ProblemTokenizer(channel);
+        this.fixedFormat = fixedFormat;
+    }
+
+    public static SimplexProblem readFromFile(String filename) throws IOException {
+        return readFromFile(filename, false);
+    }
+
+    public static SimplexProblem readFromFile(String filename, boolean fixedFormat) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filename))) {
+            return read(channel, fixedFormat);
+        }
+    }
+
+    public static SimplexProblem read(InputStream input, boolean fixedFormat) throws IOException {
+        return read(Channels.newChannel(input), fixedFormat);
+    }
+
+    public static SimplexProblem read(ReadableByteChannel channel, boolean fixedFormat) throws IOException {
+        return new MpsReader(channel, fixedFormat).read();
+    }
+
+    private SimplexProblem read() throws IOException {
+        String section = null;
+        String line;
+        while ((line = tokenizer.readLine()) != null) {
+            if (line.isBlank() || line.charAt(0) == '*') {
+                continue;
+            }
+            try {
+                if (line.charAt(0) != ' ' && line.charAt(0) != '\t') {
+                    List<String> fields = split(line);
+                    section = fields.getFirst().toUpperCase();
+                    switch (section) {
+                        case "NAME", "ROWS", "COLUMNS", "RHS", "RANGES", "BOUNDS" -> {
+                        }
+                        case "OBJSENSE" -> {
+                            if (fields.size() > 1) {
+                                goal = parseSense(fields.get(1));
+                            }
+                        }
+                        case "ENDATA" -> {
+                            return build();
+                        }
+                        default -> throw new IOException("Unsupported MPS section: " + section);
+                    }
+                    continue;
+                }
+                if (section == null) {
+                    throw new IOException("Data line outside of a section");
+                }
+
+                List<String> fields = fixedFormat ? fixedFields(line) : split(line);
+                if (fields.isEmpty()) {
+                    continue;
+                }
+                switch (section) {
+                    case "OBJSENSE" -> goal = parseSense(fields.getFirst());
+                    case "ROWS" -> readRow(fields);
+                    case "COLUMNS" -> readColumn(fields);
+                    case "RHS" -> readRhs(fields);
+                    case "RANGES" -> readRange(fields);
+                    case "BOUNDS" -> readBound(fields);
+                    default -> throw new IOException("Unexpected data in section " + section);
+                }
+            } catch (IOException | RuntimeException e) {
+                throw new IOException("MPS line " + (tokenizer.getLineNumber() - 1) + ": " + e.getMessage(), e);
+            }
+        }
+        // ENDATA необязателен в конце файла
+        return build();
+    }
+
+    private SimplexProblem build() throws IOException {
+        if (objectiveRow == null) {
+            throw new IOException("MPS file has no objective (N) row");
+        }
+        return builder.build(goal);
+    }
+
+    private void readRow(List<String> fields) throws IOException {
+        String type = fields.get(0).toUpperCase();
+        String name = fields.get(1);
+        switch (type) {
+            case "N" -> {
+                if (objectiveRow == null) {
+                    objectiveRow = name;
+                } else {
+                    freeRows.add(name);
+                }
+            }
+            case "L" -> builder.addRow(name, "<=");
+            case "G" -> builder.addRow(name, ">=");
+            case "E" -> builder.addRow(name, "=");
+            default -> throw new IOException("Unknown row type: " + type);
+        }
+    }
+
+    private void readColumn(List<String> fields) throws IOException {
+        // Маркеры целочисленных блоков: имя 'MARKER' 'INTORG'/'INTEND'
+        if (fields.size() > 1 && fields.get(1).equals("'MARKER'")) {
+            if (fields.contains("'INTORG'")) {
+                integerBlock = true;
+            } else if (fields.contains("'INTEND'")) {
+                integerBlock = false;
+            }
+            return;
+        }
+        int column = builder.column(fields.getFirst());
+        if (integerBlock) {
+            builder.setInteger(column);
+        }
+        for (int k = 1; k + 1 < fields.size(); k += 2) {
+            String rowName = fields.get(k);
+            Fraction value = ProblemTokenizer.parseFraction(fields.get(k + 1));
+            if (rowName.equals(objectiveRow)) {
+                builder.addObjective(column, value);
+            } else if (!freeRows.contains(rowName)) {
+                builder.addCoefficient(requireRow(rowName), column, value);
+            }
+        }
+    }
+
+    private void readRhs(List<String> fields) throws IOException {
+        int start = fields.size() % 2;
+        if (start == 1) {
+            if (rhsSet == null) {
+                rhsSet = fields.getFirst();
+            } else if (!rhsSet.equals(fields.getFirst())) {
+                return;
+            }
+        }
+        for (int k = start; k + 1 < fields.size(); k += 2) {
+            String rowName = fields.get(k);
+            if (rowName.equals(objectiveRow) || freeRows.contains(rowName)) continue;
+            builder.setResult(requireRow(rowName), ProblemTokenizer.parseFraction(fields.get(k + 1)));
+        }
+    }
+
+    private void readRange(List<String> fields) throws IOException {
+        int start = fields.size() % 2;
+        if (start == 1) {
+            if (rangeSet == null) {
+                rangeSet = fields.getFirst();
+            } else if (!rangeSet.equals(fields.getFirst())) {
+                return;
+            }
+        }
+        for (int k = start; k + 1 < fields.size(); k += 2) {
+            String rowName = fields.get(k);
+            if (rowName.equals(objectiveRow) || freeRows.contains(rowName)) continue;
+            builder.setRange(requireRow(rowName), ProblemTokenizer.parseFraction(fields.get(k + 1)));
+        }
+    }
+
+    private void readBound(List<String> fields) throws IOException {
+        String type = fields.getFirst().toUpperCase();
+        boolean hasValue = !(type.equals("FR") || type.equals("MI") || type.equals("PL") || type.equals("BV"));
+        int expected = hasValue ? 3 : 2;
+        int offset = fields.size() > expected ? 1 : 0;
+        if (offset == 1) {
+            if (boundSet == null) {
+                boundSet = fields.get(1);
+            } else if (!boundSet.equals(fields.get(1))) {
+                return;
+            }
+        }
+        int column = builder.findColumn(fields.get(1 + offset));
+        if (column < 0) {
+            throw new IOException("Bound on unknown column: " + fields.get(1 + offset));
+        }
+        Fraction value = hasValue ? ProblemTokenizer.parseFraction(fields.get(2 + offset)) : null;
+        if (type.equals("BV") || type.equals("LI") || type.equals("UI")) {
+            builder.setInteger(column);
+        }
+
+        switch (type) {
+            case "UP", "UI" -> {
+                // По соглашению MPS отрицательная верхняя граница при нулевой нижней делает нижнюю -inf
+                if (value.signum() < 0 && builder.getLowerBound(column) != null
+                        && builder.getLowerBound(column).signum() == 0) {
+                    builder.setLowerBound(column, null);
+                }
+                builder.setUpperBound(column, value);
+            }
+            case "LO", "LI" -> builder.setLowerBound(column, value);
+            case "FX" -> {
+                builder.setLowerBound(column, value);
+                builder.setUpperBound(column, value);
+            }
+            case "FR" -> {
+                builder.setLowerBound(column, null);
+                builder.setUpperBound(column, null);
+            }
+            case "MI" -> builder.setLowerBound(column, null);
+            case "PL" -> builder.setUpperBound(column, null);
+            case "BV" -> {
+                builder.setLowerBound(column, Fraction.ZERO);
+                builder.setUpperBound(column, Fraction.ONE);
+            }
+            default -> throw new IOException("Unsupported bound type: " + type);
+        }
+    }
+
+    private int requireRow(String name) throws IOException {
+        int row = builder.findRow(name);
+        if (row < 0) {
+            throw new IOException("Unknown row: " + name);
+        }
+        return row;
+    }
+
+    private static Goal parseSense(String sense) throws IOException {
+        return switch (sense.toUpperCase()) {
+            case "MAX", "MAXIMIZE" -> Goal.MAX;
+            case "MIN", "MINIMIZE" -> Goal.MIN;
+            default -> throw new IOException("Unknown objective sense: " + sense);
+        };
+    }
+
+    // Поля свободного формата разделены пробелами и табуляциями
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>(6);
+        int i = 0;
+        int length = line.length();
+        while (i < length) {
+            while (i < length && Character.isWhitespace(line.charAt(i))) i++;
+            int start = i;
+            while (i < length && !Character.isWhitespace(line.charAt(i))) i++;
+            if (i > start) {
+                fields.add(line.substring(start, i));
+            }
+        }
+        return fields;
+    }
+
+    // В фиксированном формате имена могут содержать пробелы, поэтому поля берутся по позициям
+    private static List<String> fixedFields(String line) {
+        List<String> fields = new ArrayList<>(6);
+        for (int[] field : FIXED_FIELDS) {
+            if (field[0] >= line.length()) break;
+            String value = line.substring(field[0], Math.min(field[1], line.length())).strip();
+            if (!value.isEmpty()) {
+                fields.add(value);
+            }
+        }
+        return fields;
+    }
+}
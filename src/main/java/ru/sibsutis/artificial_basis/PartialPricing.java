@@ -0,0 +1,49 @@
+package ru.sibsutis.artificial_basis;
+
+import java.util.List;
+
+/**
+ * Частичный выбор: столбцы делятся на блоки, и просматривается только первый блок
+ * (начиная с места предыдущего выбора), в котором есть отрицательная оценка.
+ */
+public class PartialPricing implements PricingStrategy {
+    private final int blockSize;
+    private int startBlock;
+
+    public PartialPricing(int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive.");
+        }
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public int selectColumn(List<Fraction> costRow, List<List<Fraction>> rows, int[] columns) {
+        int blockCount = (columns.length + blockSize - 1) / blockSize;
+        for (int b = 0; b < blockCount; b++) {
+            int block = (startBlock + b) % blockCount;
+            int from = block * blockSize;
+            int to = Math.min(from + blockSize, columns.length);
+
+            int col = -1;
+            Fraction minFraction = Fraction.ZERO;
+            for (int k = from; k < to; k++) {
+                int j = columns[k];
+                if (costRow.get(j).compareTo(minFraction) < 0) {
+                    minFraction = costRow.get(j);
+                    col = j;
+                }
+            }
+            if (col >= 0) {
+                startBlock = block;
+                return col;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void reset(int columnCount) {
+        startBlock = 0;
+    }
+}
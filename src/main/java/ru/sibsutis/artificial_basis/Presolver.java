@@ -0,0 +1,493 @@
+package ru.sibsutis.artificial_basis;
+
+import java.util.*;
+
+/**
+ * Упрощение задачи перед симплекс-методом. Переменные лежат в своих границах
+ * (по умолчанию x &gt;= 0), используются только точные преобразования:
+ * <ul>
+ *     <li>пустые строки удаляются (или доказывают несовместность);</li>
+ *     <li>строка с одной переменной: равенство фиксирует переменную, неравенство,
+ *     которое следует из границ переменной, удаляется;</li>
+ *     <li>фиксированные переменные подставляются в правые части;</li>
+ *     <li>пустые и доминируемые столбцы фиксируются на нижней границе, выгодные — на верхней;</li>
+ *     <li>из пропорциональных строк остаётся самая сильная.</li>
+ * </ul>
+ * Выгодный столбец без верхней границы, который можно неограниченно увеличивать, фиксируется
+ * на нижней границе вместе с удалением его строк, а задача помечается {@link #isUnboundedIfFeasible()}.
+ * {@link #postsolve} и {@link #postsolveDuals} переводят решение упрощённой задачи обратно.
+ */
+public class Presolver {
+    private final Goal goal;
+    private final int columnCount;
+    private final int rowCount;
+    private final List<Fraction> objective;
+    private final SparseRow[] rows;
+    private final String[] signs;
+    private final Fraction[] results;
+    private final Fraction[] lowerBounds;
+    private final Fraction[] upperBounds;  // null — бесконечная граница
+
+    private final boolean[] rowActive;
+    private final boolean[] columnActive;
+    private final int[] rowSizes;          // число активных ненулевых элементов строки
+    private final int[][] columnRows;      // строки с ненулевым элементом в столбце
+    private final Fraction[] fixedValues;
+    private Fraction objectiveOffset = Fraction.ZERO;
+
+    // Строка r определила значение столбца j: нужна для восстановления двойственных оценок
+    private record FixedByRow(int row, int column) {
+    }
+
+    private final List<FixedByRow> fixedByRow = new ArrayList<>();
+
+    private SolutionStatus status;
+    private boolean unboundedIfFeasible;
+    private int[] keptColumns;
+    private int[] keptRows;
+
+    public Presolver(SimplexProblem problem) {
+        this.goal = problem.getGoal();
+        this.objective = new ArrayList<>(problem.getZCoefficients());
+        List<Equation> equations = problem.getEquations();
+        this.rowCount = equations.size();
+
+        int width = objective.size();
+        for (Equation equation : equations) {
+            width = Math.max(width, equation.getCoefficients().size());
+        }
+        this.columnCount = width;
+        while (objective.size() < columnCount) {
+            objective.add(Fraction.ZERO);
+        }
+
+        this.rows = new SparseRow[rowCount];
+        this.signs = new String[rowCount];
+        this.results = new Fraction[rowCount];
+        this.rowActive = new boolean[rowCount];
+        this.rowSizes = new int[rowCount];
+        int[] columnSizes = new int[columnCount];
+        for (int i = 0; i < rowCount; i++) {
+            Equation equation = equations.get(i);
+            rows[i] = SparseRow.of(equation.getCoefficients());
+            signs[i] = equation.getSign();
+            results[i] = equation.getResult();
+            rowActive[i] = true;
+            rowSizes[i] = rows[i].nonZeroCount();
+            for (int k = 0; k < rows[i].nonZeroCount(); k++) {
+                columnSizes[rows[i].indexAt(k)]++;
+            }
+        }
+
+        this.columnRows = new int[columnCount][];
+        for (int j = 0; j < columnCount; j++) {
+            columnRows[j] = new int[columnSizes[j]];
+            columnSizes[j] = 0;
+        }
+        for (int i = 0; i < rowCount; i++) {
+            for (int k = 0; k < rows[i].nonZeroCount(); k++) {
+                int j = rows[i].indexAt(k);
+                columnRows[j][columnSizes[j]++] = i;
+            }
+        }
+
+        this.columnActive = new boolean[columnCount];
+        Arrays.fill(columnActive, true);
+        this.fixedValues = new Fraction[columnCount];
+        Arrays.fill(fixedValues, Fraction.ZERO);
+
+        this.lowerBounds = new Fraction[columnCount];
+        this.upperBounds = new Fraction[columnCount];
+        for (int j = 0; j < columnCount; j++) {
+            lowerBounds[j] = problem.getLowerBound(j);
+            upperBounds[j] = problem.getUpperBound(j);
+            if (lowerBounds[j] == null) {
+                throw new IllegalArgumentException("Variable " + (j + 1) + " has no finite lower bound; free variables are not supported");
+            }
+            if (upperBounds[j] != null && upperBounds[j].compareTo(lowerBounds[j]) < 0) {
+                status = SolutionStatus.INFEASIBLE;
+            }
+        }
+    }
+
+    /**
+     * Возвращает упрощённую задачу или null, если presolve уже решил её сам:
+     * тогда {@link #getStatus()} — INFEASIBLE либо OPTIMAL (все переменные зафиксированы).
+     */
+    public SimplexProblem presolve() {
+        boolean changed = true;
+        while (changed && status == null) {
+            changed = removeRows();
+            if (status == null) {
+                changed |= removeColumns();
+            }
+            if (status == null) {
+                changed |= removeDuplicateRows();
+            }
+        }
+        if (status != null) {
+            return null;
+        }
+        return buildReducedProblem();
+    }
+
+    private boolean removeRows() {
+        boolean changed = false;
+        for (int i = 0; i < rowCount && status == null; i++) {
+            if (!rowActive[i]) continue;
+            if (rowSizes[i] == 0) {
+                if (!satisfies(Fraction.ZERO, signs[i], results[i])) {
+                    status = SolutionStatus.INFEASIBLE;
+                    return changed;
+                }
+                rowActive[i] = false;
+                changed = true;
+            } else if (rowSizes[i] == 1) {
+                changed |= reduceSingletonRow(i);
+            }
+        }
+        return changed;
+    }
+
+    private boolean reduceSingletonRow(int row) {
+        int column = -1;
+        Fraction coefficient = null;
+        SparseRow coefficients = rows[row];
+        for (int k = 0; k < coefficients.nonZeroCount(); k++) {
+            if (columnActive[coefficients.indexAt(k)]) {
+                column = coefficients.indexAt(k);
+                coefficient = coefficients.valueAt(k);
+                break;
+            }
+        }
+
+        // a * x (sign) b  ->  x (sign') b / a
+        Fraction value = results[row].divide(coefficient);
+        String sign = coefficient.signum() < 0 ? flip(signs[row]) : signs[row];
+        switch (sign) {
+            case "=" -> {
+                if (!withinBounds(column, value)) {
+                    status = SolutionStatus.INFEASIBLE;
+                    return false;
+                }
+                rowActive[row] = false;
+                fixColumn(column, value);
+                fixedByRow.add(new FixedByRow(row, column));
+                return true;
+            }
+            case "<=" -> {
+                // Строка, которая сильнее границы, остаётся: иначе потерялась бы её двойственная оценка
+                if (value.compareTo(lowerBounds[column]) < 0) {
+                    status = SolutionStatus.INFEASIBLE;
+                    return false;
+                }
+                if (upperBounds[column] != null && upperBounds[column].compareTo(value) <= 0) {
+                    rowActive[row] = false;
+                    return true;
+                }
+                return false;
+            }
+            default -> {
+                if (upperBounds[column] != null && value.compareTo(upperBounds[column]) > 0) {
+                    status = SolutionStatus.INFEASIBLE;
+                    return false;
+                }
+                if (value.compareTo(lowerBounds[column]) <= 0) {
+                    rowActive[row] = false;
+                    return true;
+                }
+                return false;
+            }
+        }
+    }
+
+    private boolean removeColumns() {
+        boolean changed = false;
+        for (int j = 0; j < columnCount; j++) {
+            if (!columnActive[j]) continue;
+            // Оценка в смысле максимизации
+            Fraction cost = goal == Goal.MAX ? objective.get(j) : objective.get(j).negate();
+
+            boolean increaseKeepsFeasible = true;   // рост x_j не нарушает ни одного ограничения
+            boolean decreaseKeepsFeasible = true;   // уменьшение x_j не нарушает ни одного ограничения
+            for (int i : columnRows[j]) {
+                if (!rowActive[i]) continue;
+                int a = rows[i].get(j).signum();
+                switch (signs[i]) {
+                    case "<=" -> {
+                        increaseKeepsFeasible &= a < 0;
+                        decreaseKeepsFeasible &= a > 0;
+                    }
+                    case ">=" -> {
+                        increaseKeepsFeasible &= a > 0;
+                        decreaseKeepsFeasible &= a < 0;
+                    }
+                    default -> {
+                        increaseKeepsFeasible = false;
+                        decreaseKeepsFeasible = false;
+                    }
+                }
+            }
+
+            if (cost.signum() <= 0 && decreaseKeepsFeasible) {
+                // Доминируемый (или пустой) столбец: нижняя граница не хуже любого другого значения
+                fixColumn(j, lowerBounds[j]);
+                changed = true;
+            } else if (cost.signum() > 0 && increaseKeepsFeasible && upperBounds[j] != null) {
+                fixColumn(j, upperBounds[j]);
+                changed = true;
+            } else if (cost.signum() > 0 && increaseKeepsFeasible) {
+                // Достаточно большое x_j выполняет все свои строки, поэтому они удаляются вместе
+                // со столбцом; целевая функция растёт без ограничений, если допустимо остальное
+                for (int i : columnRows[j]) {
+                    rowActive[i] = false;
+                }
+                unboundedIfFeasible = true;
+                fixColumn(j, lowerBounds[j]);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private record RowKey(int[] indices, Fraction[] values) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof RowKey other
+                    && Arrays.equals(indices, other.indices) && Arrays.equals(values, other.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(indices) + Arrays.hashCode(values);
+        }
+    }
+
+    /*
+     * Строки нормируются делением на первый активный коэффициент. Из пары строк с
+     * одинаковой левой частью удаляется та, что следует из другой.
+     */
+    private boolean removeDuplicateRows() {
+        boolean changed = false;
+        Map<RowKey, List<Integer>> groups = new HashMap<>();
+        String[] normalizedSigns = new String[rowCount];
+        Fraction[] normalizedResults = new Fraction[rowCount];
+
+        for (int i = 0; i < rowCount; i++) {
+            if (!rowActive[i] || rowSizes[i] < 2) continue;
+            int[] indices = new int[rowSizes[i]];
+            Fraction[] values = new Fraction[rowSizes[i]];
+            Fraction scale = null;
+            int p = 0;
+            SparseRow coefficients = rows[i];
+            for (int k = 0; k < coefficients.nonZeroCount(); k++) {
+                int j = coefficients.indexAt(k);
+                if (!columnActive[j]) continue;
+                if (scale == null) {
+                    scale = coefficients.valueAt(k);
+                }
+                indices[p] = j;
+                values[p++] = coefficients.valueAt(k).divide(scale);
+            }
+            normalizedSigns[i] = scale.signum() < 0 ? flip(signs[i]) : signs[i];
+            normalizedResults[i] = results[i].divide(scale);
+
+            List<Integer> group = groups.computeIfAbsent(new RowKey(indices, values), key -> new ArrayList<>());
+            boolean keep = true;
+            for (Iterator<Integer> it = group.iterator(); it.hasNext() && keep; ) {
+                int other = it.next();
+                int implied = impliedRow(other, i, normalizedSigns, normalizedResults);
+                if (status != null) {
+                    return changed;
+                }
+                if (implied == i) {
+                    rowActive[i] = false;
+                    keep = false;
+                    changed = true;
+                } else if (implied == other) {
+                    rowActive[other] = false;
+                    it.remove();
+                    changed = true;
+                }
+            }
+            if (keep) {
+                group.add(i);
+            }
+        }
+        return changed;
+    }
+
+    // Какая из двух строк с одинаковой левой частью лишняя (-1, если нужны обе)
+    private int impliedRow(int first, int second, String[] normalizedSigns, Fraction[] normalizedResults) {
+        String s1 = normalizedSigns[first];
+        String s2 = normalizedSigns[second];
+        Fraction b1 = normalizedResults[first];
+        Fraction b2 = normalizedResults[second];
+
+        if (s1.equals("=") || s2.equals("=")) {
+            int equality = s1.equals("=") ? first : second;
+            int other = equality == first ? second : first;
+            Fraction value = normalizedResults[equality];
+            if (!satisfies(value, normalizedSigns[other], normalizedResults[other])) {
+                status = SolutionStatus.INFEASIBLE;
+                return -1;
+            }
+            return other;
+        }
+        if (s1.equals(s2)) {
+            int cmp = b1.compareTo(b2);
+            boolean firstTighter = s1.equals("<=") ? cmp <= 0 : cmp >= 0;
+            return firstTighter ? second : first;
+        }
+        Fraction upper = s1.equals("<=") ? b1 : b2;
+        Fraction lower = s1.equals("<=") ? b2 : b1;
+        if (lower.compareTo(upper) > 0) {
+            status = SolutionStatus.INFEASIBLE;
+        }
+        return -1;
+    }
+
+    private void fixColumn(int column, Fraction value) {
+        columnActive[column] = false;
+        fixedValues[column] = value;
+        objectiveOffset = objectiveOffset.add(objective.get(column).multiply(value));
+        for (int i : columnRows[column]) {
+            if (!rowActive[i]) continue;
+            rowSizes[i]--;
+            if (value.signum() != 0) {
+                results[i] = results[i].subtract(rows[i].get(column).multiply(value));
+            }
+        }
+    }
+
+    private SimplexProblem buildReducedProblem() {
+        int[] newIndex = new int[columnCount];
+        int kept = 0;
+        for (int j = 0; j < columnCount; j++) {
+            newIndex[j] = columnActive[j] ? kept++ : -1;
+        }
+        keptColumns = new int[kept];
+        List<Fraction> zCoefficients = new ArrayList<>(kept);
+        List<Fraction> lower = new ArrayList<>(kept);
+        List<Fraction> upper = new ArrayList<>(kept);
+        boolean bounded = false;
+        for (int j = 0; j < columnCount; j++) {
+            if (columnActive[j]) {
+                keptColumns[newIndex[j]] = j;
+                zCoefficients.add(objective.get(j));
+                lower.add(lowerBounds[j]);
+                upper.add(upperBounds[j]);
+                bounded |= lowerBounds[j].signum() != 0 || upperBounds[j] != null;
+            }
+        }
+
+        List<Equation> equations = new ArrayList<>();
+        List<Integer> rowsLeft = new ArrayList<>();
+        for (int i = 0; i < rowCount; i++) {
+            if (!rowActive[i]) continue;
+            SparseRow reduced = new SparseRow(kept, rowSizes[i]);
+            for (int k = 0; k < rows[i].nonZeroCount(); k++) {
+                int j = rows[i].indexAt(k);
+                if (columnActive[j]) {
+                    reduced.appendNonZero(newIndex[j], rows[i].valueAt(k));
+                }
+            }
+            equations.add(new Equation(reduced, signs[i], results[i]));
+            rowsLeft.add(i);
+        }
+        keptRows = rowsLeft.stream().mapToInt(Integer::intValue).toArray();
+
+        if (equations.isEmpty()) {
+            // Все строки удалены, значит все столбцы тоже зафиксированы
+            status = SolutionStatus.OPTIMAL;
+            return null;
+        }
+        return bounded
+                ? new SimplexProblem(goal, zCoefficients, equations, lower, upper)
+                : new SimplexProblem(goal, zCoefficients, equations);
+    }
+
+    // Решение исходной задачи по решению упрощённой (null — упрощённая задача пуста)
+    public List<Fraction> postsolve(List<Fraction> reducedSolution) {
+        List<Fraction> solution = new ArrayList<>(Arrays.asList(fixedValues));
+        if (reducedSolution != null) {
+            for (int k = 0; k < keptColumns.length; k++) {
+                solution.set(keptColumns[k], reducedSolution.get(k));
+            }
+        }
+        return solution.subList(0, objective.size());
+    }
+
+    // Значение целевой функции исходной задачи (без вклада зафиксированных переменных на входе)
+    public Fraction postsolveObjective(Fraction reducedZValue) {
+        return reducedZValue == null ? objectiveOffset : reducedZValue.add(objectiveOffset);
+    }
+
+    /*
+     * Двойственные оценки y исходных строк (приведённая стоимость c_j - sum_i a_ij * y_i).
+     * Удалённые избыточные строки получают 0, строки, фиксировавшие переменную, —
+     * значение, обнуляющее приведённую стоимость этой переменной.
+     * Соглашение о знаке то же, что у SensitivityReport#getShadowPrices: y_i = dZ/db_i для
+     * исходной целевой функции при любом направлении оптимизации. Поэтому c_j берётся без
+     * смены знака для MIN, а на вход подаются теневые цены упрощённой задачи.
+     */
+    public List<Fraction> postsolveDuals(List<Fraction> reducedDuals) {
+        Fraction[] duals = new Fraction[rowCount];
+        Arrays.fill(duals, Fraction.ZERO);
+        if (reducedDuals != null) {
+            for (int k = 0; k < keptRows.length; k++) {
+                duals[keptRows[k]] = reducedDuals.get(k);
+            }
+        }
+        for (int t = fixedByRow.size() - 1; t >= 0; t--) {
+            int row = fixedByRow.get(t).row();
+            int column = fixedByRow.get(t).column();
+            Fraction reducedCost = objective.get(column);
+            for (int i : columnRows[column]) {
+                if (i != row) {
+                    reducedCost = reducedCost.subtract(rows[i].get(column).multiply(duals[i]));
+                }
+            }
+            duals[row] = reducedCost.divide(rows[row].get(column));
+        }
+        return Arrays.asList(duals);
+    }
+
+    private boolean withinBounds(int column, Fraction value) {
+        return value.compareTo(lowerBounds[column]) >= 0
+                && (upperBounds[column] == null || value.compareTo(upperBounds[column]) <= 0);
+    }
+
+    private static boolean satisfies(Fraction value, String sign, Fraction result) {
+        int cmp = value.compareTo(result);
+        return switch (sign) {
+            case "<=" -> cmp <= 0;
+            case ">=" -> cmp >= 0;
+            default -> cmp == 0;
+        };
+    }
+
+    private static String flip(String sign) {
+        return sign.equals("<=") ? ">=" : sign.equals(">=") ? "<=" : "=";
+    }
+
+    public SolutionStatus getStatus() {
+        return status;
+    }
+
+    public boolean isUnboundedIfFeasible() {
+        return unboundedIfFeasible;
+    }
+
+    public Fraction getObjectiveOffset() {
+        return objectiveOffset;
+    }
+
+    public int getRemovedRowCount() {
+        return keptRows == null ? rowCount : rowCount - keptRows.length;
+    }
+
+    public int getRemovedColumnCount() {
+        return keptColumns == null ? columnCount : columnCount - keptColumns.length;
+    }
+}
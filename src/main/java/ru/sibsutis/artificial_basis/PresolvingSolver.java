@@ -0,0 +1,64 @@
+package ru.sibsutis.artificial_basis;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Симплекс-метод с предварительным упрощением задачи: {@link Presolver} сокращает
+ * задачу, табличный решатель решает оставшуюся часть, затем решение переводится
+ * обратно в исходные переменные.
+ */
+@Getter
+public class PresolvingSolver implements LinearSolver {
+    private final Presolver presolver;
+
+    // Позволяет настроить решатель упрощённой задачи (стратегия выбора, слушатель и т.д.)
+    @Setter
+    private Function<SimplexProblem, SimplexSolver> solverFactory = SimplexSolver::new;
+
+    private SimplexSolver reducedSolver;
+    private SolutionStatus status;
+    private List<Fraction> solution;
+    private List<Fraction> alternativeSolution;
+    private Fraction zValue;
+
+    public PresolvingSolver(SimplexProblem problem) {
+        this.presolver = new Presolver(problem);
+    }
+
+    @Override
+    public SolutionStatus solve() {
+        SimplexProblem reduced = presolver.presolve();
+        if (reduced == null) {
+            status = presolver.getStatus();
+            if (status == SolutionStatus.OPTIMAL) {
+                // Все переменные зафиксированы
+                status = presolver.isUnboundedIfFeasible() ? SolutionStatus.UNBOUNDED : SolutionStatus.OPTIMAL;
+                if (status == SolutionStatus.OPTIMAL) {
+                    solution = presolver.postsolve(null);
+                    zValue = presolver.postsolveObjective(null);
+                }
+            }
+            return status;
+        }
+
+        reducedSolver = solverFactory.apply(reduced);
+        status = reducedSolver.solve();
+        if (status != SolutionStatus.OPTIMAL && status != SolutionStatus.ALTERNATIVE_OPTIMA) {
+            return status;
+        }
+        if (presolver.isUnboundedIfFeasible()) {
+            status = SolutionStatus.UNBOUNDED;
+            return status;
+        }
+        solution = presolver.postsolve(reducedSolver.getSolution());
+        if (reducedSolver.getAlternativeSolution() != null) {
+            alternativeSolution = presolver.postsolve(reducedSolver.getAlternativeSolution());
+        }
+        zValue = presolver.postsolveObjective(reducedSolver.getZValue());
+        return status;
+    }
+}
@@ -0,0 +1,19 @@
+package ru.sibsutis.artificial_basis;
+
+import java.util.List;
+
+/**
+ * Правило выбора ведущего столбца по строке оценок (Z или M без столбца свободных членов).
+ */
+public interface PricingStrategy {
+    // Индекс входящего столбца среди columns (активные столбцы по возрастанию) или -1, если отрицательных оценок нет
+    int selectColumn(List<Fraction> costRow, List<List<Fraction>> rows, int[] columns);
+
+    // Вызывается перед исключением: rows ещё содержат старую опорную строку
+    default void beforePivot(List<List<Fraction>> rows, int row, int col, int leavingVar) {
+    }
+
+    // Вызывается при смене этапа, когда меняется набор столбцов таблицы
+    default void reset(int columnCount) {
+    }
+}
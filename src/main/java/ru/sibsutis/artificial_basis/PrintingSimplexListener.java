@@ -0,0 +1,226 @@
+package ru.sibsutis.artificial_basis;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Печатает ход решения: каноническую форму, симплекс-таблицы каждой итерации и ответ.
+ * Вывод идёт в переданный Writer; буферизацию и сброс выполняет вызывающий код ({@link #flush()}).
+ */
+public class PrintingSimplexListener implements SimplexListener {
+    private final PrintWriter out;
+
+    public PrintingSimplexListener(Writer writer) {
+        this.out = writer instanceof PrintWriter printWriter ? printWriter : new PrintWriter(writer);
+    }
+
+    public void flush() {
+        out.flush();
+    }
+
+    @Override
+    public void onCanonicalForm(List<Equation> equations, List<Fraction> zCoefficients) {
+        out.println("\nCanonical form:\n");
+
+        for (Equation equation : equations) {
+            out.printf("%s = %s%n", formatEquation(equation.getCoefficients()), equation.getResult());
+        }
+
+        out.println("\nZ-function (for simplex-method):");
+        out.printf("Z = %s%n%n", formatEquation(zCoefficients));
+    }
+
+    @Override
+    public void onPhaseOneIteration(SimplexTable table, List<Integer> basis, int zCount, int artificialCount, int iteration) {
+        out.printf("%nIteration: %d (Phase I):%n", iteration);
+        out.println("Simplex-table:");
+
+        List<List<Fraction>> rows = table.getRows();
+        int[] columns = table.getActiveColumns();
+        printHeaders(columns);
+        for (int i = 0; i < rows.size(); i++) {
+            int basisIndex = basis.get(i);
+            String bp;
+            if (basisIndex < zCount + artificialCount) {
+                bp = "x" + (basisIndex + 1);
+            } else {
+                bp = "x" + (basisIndex - zCount + 1);
+            }
+            printRow(bp, rows.get(i), columns);
+        }
+        printRow("Z", table.getZRow(), columns);
+
+        // Строка M (если есть)
+        if (!table.getMRow().isEmpty()) {
+            printRow("M", table.getMRow(), columns);
+        }
+        printPivot(table.getPivot());
+    }
+
+    @Override
+    public void onPhaseTwoIteration(SimplexTable table, List<Integer> basis, int iteration) {
+        out.printf("%nIteration %d (Phase II):%n", iteration);
+        out.println("Simplex-table:");
+
+        List<List<Fraction>> rows = table.getRows();
+        int[] columns = table.getActiveColumns();
+        printHeaders(columns);
+        for (int i = 0; i < rows.size(); i++) {
+            printRow("x" + (basis.get(i) + 1), rows.get(i), columns);
+        }
+        printRow("Z", table.getZRow(), columns);
+        printPivot(table.getPivot());
+    }
+
+    @Override
+    public void onBoundFlip(int col) {
+        out.printf("%nx%d moves to its other bound, the basis is unchanged.%n", col + 1);
+    }
+
+    @Override
+    public void onPhaseChange(List<Fraction> mRow) {
+        out.println("Delete the M-row: " + mRow);
+    }
+
+    @Override
+    public void onPhaseTwoStarted(SimplexTable table, List<Integer> basis, int iteration) {
+        out.print("\nPhase I is complete. Moving on to Phase II (optimization of the original objective function)\n");
+        onPhaseTwoIteration(table, basis, iteration);
+    }
+
+    @Override
+    public void onSolution(SimplexTable table, List<Integer> basis, List<Fraction> solution, Fraction zValue,
+                           int iteration, boolean alternative) {
+        if (alternative) {
+            out.printf("%nИтерация %d (альтернативное оптимальное решение):%n", iteration);
+        } else {
+            out.println("\nIteration " + iteration + "(first optimal solution):");
+        }
+        onPhaseTwoIteration(table, basis, iteration);
+        printSolution(table, basis, solution, zValue);
+    }
+
+    @Override
+    public void onResult(SolutionStatus status, List<Fraction> solution, List<Fraction> alternativeSolution, Fraction zValue) {
+        if (alternativeSolution == null) {
+            out.println("\nThere is only one solution.");
+            return;
+        }
+        out.println("\nThere are infinitely many optimal solutions.");
+        out.println("The general form of the solutions can be represented as:");
+        out.println("l * x1 + (1 - l) * x2, where 0 <= l <= 1");
+        out.printf("x1 = %s%n", formatSolution(solution));
+        out.printf("x2 = %s%n", formatSolution(alternativeSolution));
+
+        List<String> varExprs = getGeneralSolution(solution, alternativeSolution);
+        out.println("\nGeneral solution in open form:");
+        out.println("(" + String.join(", ", varExprs) + ")");
+        out.printf("Z = %s (the same for all solutions)%n", zValue);
+    }
+
+    @Override
+    public void onTermination(SolutionStatus status, String reason) {
+        out.println(reason);
+    }
+
+    /*
+     * Таблица хранит переменные, сдвинутые на нижние границы и заменённые на u - x, поэтому
+     * исходные переменные печатаются из пересчитанного решения. Значения дополнительных
+     * и искусственных переменных от замены не зависят и берутся из таблицы.
+     */
+    public void printSolution(SimplexTable table, List<Integer> basis, List<Fraction> solution, Fraction zValue) {
+        if (solution == null) {
+            out.println("\nNo optimal solution.");
+            return;
+        }
+        out.println("\nOptimal solution:");
+        for (int j = 0; j < solution.size(); j++) {
+            out.printf("x%d = %s%n", j + 1, solution.get(j));
+        }
+
+        List<List<Fraction>> rows = table.getRows();
+        Map<Integer, Fraction> basicValues = new HashMap<>();
+        for (int i = 0; i < basis.size(); i++) {
+            basicValues.put(basis.get(i), rows.get(i).getLast());
+        }
+        for (int j : table.getActiveColumns()) {
+            if (j >= solution.size()) {
+                out.printf("x%d = %s%n", j + 1, basicValues.getOrDefault(j, Fraction.ZERO));
+            }
+        }
+        out.printf("%nZ = %s%n", zValue);
+    }
+
+    private void printHeaders(int[] columns) {
+        out.printf("%7s %7s ", "b.v.", "1");
+        for (int j : columns) {
+            out.printf("%7s ", "x" + (j + 1));
+        }
+        out.println();
+    }
+
+    private void printRow(String label, List<Fraction> row, int[] columns) {
+        out.printf("%7s %7s ", label, row.getLast());
+        for (int j : columns) {
+            out.printf("%7s ", row.get(j));
+        }
+        out.println();
+    }
+
+    private void printPivot(Pivot pivot) {
+        if (pivot.getColumn() != null && pivot.getRow() != null) {
+            out.printf("%nPivot column: x%d, pivot row: %d%n", pivot.getColumn() + 1, pivot.getRow() + 1);
+        }
+    }
+
+    private static String formatEquation(List<Fraction> coefficients) {
+        List<String> terms = new ArrayList<>();
+        for (int j = 0; j < coefficients.size(); j++) {
+            Fraction coeff = coefficients.get(j);
+            if (coeff.equals(Fraction.ZERO)) continue;
+
+            String sign = coeff.signum() > 0 ? "+" : "-";
+            if (coeff.abs().equals(Fraction.ONE)) {
+                terms.add(String.format("%s x%d", sign, j + 1));
+            } else {
+                terms.add(String.format("%s %sx%d", sign, coeff.abs(), j + 1));
+            }
+        }
+
+        String equation = String.join(" ", terms);
+        if (equation.startsWith("+ ")) {
+            equation = equation.substring(2);
+        }
+        return equation.replace("+ -", "- ");
+    }
+
+    private static List<String> getGeneralSolution(List<Fraction> firstSolution, List<Fraction> secondSolution) {
+        List<String> varExprs = new ArrayList<>();
+        for (int i = 0; i < firstSolution.size(); i++) {
+            Fraction x1 = firstSolution.get(i);
+            Fraction x2 = secondSolution.get(i);
+            Fraction delta = x1.subtract(x2);
+
+            if (delta.equals(Fraction.ZERO)) {
+                varExprs.add(x2.toString());
+            } else if (x2.equals(Fraction.ZERO)) {
+                varExprs.add(delta + "l");
+            } else {
+                String sign = delta.compareTo(Fraction.ZERO) > 0 ? "+" : "-";
+                varExprs.add(String.format("%s %s %sl", x2, sign, delta.abs()));
+            }
+        }
+        return varExprs;
+    }
+
+    private static String formatSolution(List<Fraction> solution) {
+        return "(" + solution.stream()
+                .map(Fraction::toString)
+                .collect(Collectors.joining(", ")) + ")";
+    }
+}
@@ -0,0 +1,156 @@
+package ru.sibsutis.artificial_basis;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сборка {@link SimplexProblem} по именам переменных и ограничений (для форматов MPS и LP).
+ * Переменные нумеруются в порядке первого упоминания. Строки ограничений сразу хранятся
+ * как {@link SparseRow} и растягиваются до общей длины только в {@link #build}.
+ * Границы переменных передаются в задачу как есть, диапазоны строк превращаются в пары
+ * ограничений. Модель не поддерживает свободные переменные, поэтому бесконечная нижняя
+ * граница считается ошибкой.
+ */
+public class ProblemBuilder {
+    private final Map<String, Integer> columnIndex = new HashMap<>();
+    private final List<String> columnNames = new ArrayList<>();
+    private final List<Fraction> objective = new ArrayList<>();
+    private final List<Fraction> lowerBounds = new ArrayList<>();  // null — минус бесконечность
+    private final List<Fraction> upperBounds = new ArrayList<>();  // null — плюс бесконечность
+    private final List<Boolean> integerVariables = new ArrayList<>();
+
+    private final Map<String, Integer> rowIndex = new HashMap<>();
+    private final List<String> rowNames = new ArrayList<>();
+    private final List<String> rowSigns = new ArrayList<>();
+    private final List<SparseRow> rowCoefficients = new ArrayList<>();
+    private final List<Fraction> rowResults = new ArrayList<>();
+    private final List<Fraction> rowRanges = new ArrayList<>();
+
+    public int column(String name) {
+        Integer index = columnIndex.get(name);
+        if (index != null) {
+            return index;
+        }
+        int created = columnNames.size();
+        columnIndex.put(name, created);
+        columnNames.add(name);
+        objective.add(Fraction.ZERO);
+        lowerBounds.add(Fraction.ZERO);
+        upperBounds.add(null);
+        integerVariables.add(false);
+        return created;
+    }
+
+    public int findColumn(String name) {
+        return columnIndex.getOrDefault(name, -1);
+    }
+
+    public List<String> getColumnNames() {
+        return columnNames;
+    }
+
+    // name == null — безымянное ограничение
+    public int addRow(String name, String sign) {
+        if (name != null && rowIndex.containsKey(name)) {
+            throw new IllegalArgumentException("Duplicate row: " + name);
+        }
+        int created = rowNames.size();
+        if (name != null) {
+            rowIndex.put(name, created);
+        }
+        rowNames.add(name);
+        rowSigns.add(sign);
+        rowCoefficients.add(new SparseRow());
+        rowResults.add(Fraction.ZERO);
+        rowRanges.add(null);
+        return created;
+    }
+
+    public int findRow(String name) {
+        return rowIndex.getOrDefault(name, -1);
+    }
+
+    public void addObjective(int column, Fraction value) {
+        objective.set(column, objective.get(column).add(value));
+    }
+
+    public void addCoefficient(int row, int column, Fraction value) {
+        SparseRow coefficients = rowCoefficients.get(row);
+        if (column >= coefficients.size()) {
+            coefficients.resize(column + 1);
+        }
+        coefficients.set(column, coefficients.get(column).add(value));
+    }
+
+    public void setResult(int row, Fraction value) {
+        rowResults.set(row, value);
+    }
+
+    public void setRange(int row, Fraction range) {
+        rowRanges.set(row, range);
+    }
+
+    public void setLowerBound(int column, Fraction value) {
+        lowerBounds.set(column, value);
+    }
+
+    public void setUpperBound(int column, Fraction value) {
+        upperBounds.set(column, value);
+    }
+
+    public void setInteger(int column) {
+        integerVariables.set(column, true);
+    }
+
+    public Fraction getLowerBound(int column) {
+        return lowerBounds.get(column);
+    }
+
+    public SimplexProblem build(Goal goal) {
+        int n = columnNames.size();
+        List<Equation> equations = new ArrayList<>();
+
+        for (int i = 0; i < rowNames.size(); i++) {
+            SparseRow coefficients = rowCoefficients.get(i);
+            coefficients.resize(n);
+            String sign = rowSigns.get(i);
+            Fraction result = rowResults.get(i);
+            Fraction range = rowRanges.get(i);
+            if (range == null) {
+                equations.add(new Equation(coefficients, sign, result));
+                continue;
+            }
+
+            // Диапазон по правилам MPS: строка превращается в пару ограничений lo <= a*x <= hi
+            Fraction lower;
+            Fraction upper;
+            if (sign.equals("<=")) {
+                lower = result.subtract(range.abs());
+                upper = result;
+            } else if (sign.equals(">=")) {
+                lower = result;
+                upper = result.add(range.abs());
+            } else if (range.signum() >= 0) {
+                lower = result;
+                upper = result.add(range);
+            } else {
+                lower = result.add(range);
+                upper = result;
+            }
+            equations.add(new Equation(coefficients, ">=", lower));
+            equations.add(new Equation(SparseRow.of(coefficients), "<=", upper));
+        }
+
+        for (int j = 0; j < n; j++) {
+            if (lowerBounds.get(j) == null) {
+                throw new IllegalArgumentException("Variable " + columnNames.get(j)
+                        + " has no finite lower bound; free variables are not supported.");
+            }
+        }
+
+        return new SimplexProblem(goal, new ArrayList<>(objective), equations,
+                new ArrayList<>(lowerBounds), new ArrayList<>(upperBounds), new ArrayList<>(integerVariables));
+    }
+}
@@ -0,0 +1,296 @@
+package ru.sibsutis.artificial_basis;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Потоковый разбор текстовых задач прямо по байтам канала, без регулярных выражений
+ * и промежуточных строк. Лексемы разделяются пробелами и табуляциями; конец строки
+ * виден отдельно ({@link #hasNextOnLine()}), так как форматы задач построчные.
+ * Числа: целые, дроби a/b и десятичные с экспонентой (1.5, -2e3) — все переводятся
+ * в {@link Fraction} точно; длинные значения читаются через BigInteger.
+ */
+public class ProblemTokenizer {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int MAX_LONG_DIGITS = 18;
+    private static final long[] POWERS_OF_TEN = new long[MAX_LONG_DIGITS + 1];
+    // Ограничение порядка: 10^exponent строится в BigInteger, огромный порядок исчерпал бы память
+    private static final int MAX_EXPONENT = 1000;
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_LONG_DIGITS; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer;
+    private byte[] token = new byte[64];
+    private int tokenLength;
+    private int lineNumber = 1;
+    private boolean eof;
+
+    public ProblemTokenizer(ReadableByteChannel channel) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.buffer.flip();
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    // Следующий байт без продвижения или -1 в конце входа
+    public int peek() throws IOException {
+        if (!buffer.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return buffer.get(buffer.position()) & 0xFF;
+    }
+
+    // Пропускает пробелы текущей строки; true, если до её конца есть ещё лексема
+    public boolean hasNextOnLine() throws IOException {
+        int b = peek();
+        while (b == ' ' || b == '\t' || b == '\r') {
+            buffer.get();
+            b = peek();
+        }
+        return b != '\n' && b != -1;
+    }
+
+    // Переходит к началу следующей строки; false, если вход закончился
+    public boolean nextLine() throws IOException {
+        int b = peek();
+        while (b != '\n' && b != -1) {
+            buffer.get();
+            b = peek();
+        }
+        if (b == -1) {
+            return false;
+        }
+        buffer.get();
+        lineNumber++;
+        return peek() != -1;
+    }
+
+    // Пропускает пробелы и пустые строки; true, если вход ещё не закончился
+    public boolean skipWhitespace() throws IOException {
+        while (!hasNextOnLine()) {
+            if (!nextLine()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Остаток текущей строки без перевода строки или null в конце входа
+    public String readLine() throws IOException {
+        int b = peek();
+        if (b == -1) {
+            return null;
+        }
+        tokenLength = 0;
+        while (b != '\n' && b != -1) {
+            if (tokenLength == token.length) {
+                token = Arrays.copyOf(token, token.length * 2);
+            }
+            token[tokenLength++] = buffer.get();
+            b = peek();
+        }
+        if (b == '\n') {
+            buffer.get();
+            lineNumber++;
+        }
+        int length = tokenLength;
+        if (length > 0 && token[length - 1] == '\r') {
+            length--;
+        }
+        return new String(token, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    public String nextWord() throws IOException {
+        readToken();
+        return new String(token, 0, tokenLength, StandardCharsets.US_ASCII);
+    }
+
+    public int nextInt() throws IOException {
+        Fraction value = nextFraction();
+        if (!value.isInteger()) {
+            throw new NumberFormatException("Expected an integer at line " + lineNumber + ": " + value);
+        }
+        return value.getNumerator().intValueExact();
+    }
+
+    public Fraction nextFraction() throws IOException {
+        readToken();
+        return parseFraction(token, tokenLength);
+    }
+
+    public static Fraction parseFraction(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.US_ASCII);
+        return parseFraction(bytes, bytes.length);
+    }
+
+    /*
+     * Разбирает [+-]цифры[.цифры][e[+-]цифры][/цифры]. Если мантисса, знаменатель и
+     * степень десяти помещаются в long, дробь строится без BigInteger.
+     */
+    static Fraction parseFraction(byte[] bytes, int length) {
+        int pos = 0;
+        boolean negative = false;
+        if (pos < length && (bytes[pos] == '-' || bytes[pos] == '+')) {
+            negative = bytes[pos] == '-';
+            pos++;
+        }
+        int intStart = pos;
+        pos = skipDigits(bytes, pos, length);
+        int intEnd = pos;
+        int fracStart = pos;
+        int fracEnd = pos;
+        if (pos < length && bytes[pos] == '.') {
+            fracStart = ++pos;
+            pos = skipDigits(bytes, pos, length);
+            fracEnd = pos;
+        }
+        int digitCount = (intEnd - intStart) + (fracEnd - fracStart);
+        if (digitCount == 0) {
+            throw invalidNumber(bytes, length);
+        }
+
+        int exponent = 0;
+        if (pos < length && (bytes[pos] == 'e' || bytes[pos] == 'E')) {
+            pos++;
+            boolean negativeExponent = false;
+            if (pos < length && (bytes[pos] == '-' || bytes[pos] == '+')) {
+                negativeExponent = bytes[pos] == '-';
+                pos++;
+            }
+            int expStart = pos;
+            pos = skipDigits(bytes, pos, length);
+            if (pos == expStart || pos - expStart > 9) {
+                throw invalidNumber(bytes, length);
+            }
+            exponent = (int) parseLong(bytes, expStart, pos);
+            if (exponent > MAX_EXPONENT) {
+                throw new NumberFormatException("Exponent exceeds " + MAX_EXPONENT + ": "
+                        + new String(bytes, 0, length, StandardCharsets.US_ASCII));
+            }
+            if (negativeExponent) {
+                exponent = -exponent;
+            }
+        }
+
+        int denStart = pos;
+        int denEnd = pos;
+        if (pos < length && bytes[pos] == '/' && fracEnd == fracStart && exponent == 0) {
+            denStart = ++pos;
+            pos = skipDigits(bytes, pos, length);
+            denEnd = pos;
+            if (denEnd == denStart) {
+                throw invalidNumber(bytes, length);
+            }
+        }
+        if (pos != length) {
+            throw invalidNumber(bytes, length);
+        }
+
+        // Значение = мантисса * 10^(-scale) / знаменатель
+        int scale = (fracEnd - fracStart) - exponent;
+        if (digitCount <= MAX_LONG_DIGITS && denEnd - denStart <= MAX_LONG_DIGITS && Math.abs(scale) <= MAX_LONG_DIGITS) {
+            long mantissa = parseLong(bytes, intStart, intEnd);
+            for (int i = fracStart; i < fracEnd; i++) {
+                mantissa = mantissa * 10 + (bytes[i] - '0');
+            }
+            long denominator = denEnd > denStart ? parseLong(bytes, denStart, denEnd) : 1;
+            try {
+                if (scale > 0) {
+                    denominator = Math.multiplyExact(denominator, POWERS_OF_TEN[scale]);
+                } else if (scale < 0) {
+                    mantissa = Math.multiplyExact(mantissa, POWERS_OF_TEN[-scale]);
+                }
+                return valueOf(negative ? -mantissa : mantissa, denominator);
+            } catch (ArithmeticException overflow) {
+                // переходим к BigInteger
+            }
+        }
+
+        BigInteger mantissa = new BigInteger(new String(bytes, intStart, intEnd - intStart, StandardCharsets.US_ASCII)
+                + new String(bytes, fracStart, fracEnd - fracStart, StandardCharsets.US_ASCII));
+        BigInteger denominator = denEnd > denStart
+                ? new BigInteger(new String(bytes, denStart, denEnd - denStart, StandardCharsets.US_ASCII))
+                : BigInteger.ONE;
+        if (scale > 0) {
+            denominator = denominator.multiply(BigInteger.TEN.pow(scale));
+        } else if (scale < 0) {
+            mantissa = mantissa.multiply(BigInteger.TEN.pow(-scale));
+        }
+        return new Fraction(negative ? mantissa.negate() : mantissa, denominator);
+    }
+
+    private static Fraction valueOf(long numerator, long denominator) {
+        if (denominator == 1) {
+            if (numerator == 0) return Fraction.ZERO;
+            if (numerator == 1) return Fraction.ONE;
+            if (numerator == -1) return Fraction.MINUS_ONE;
+        }
+        return new Fraction(numerator, denominator);
+    }
+
+    private static int skipDigits(byte[] bytes, int pos, int length) {
+        while (pos < length && bytes[pos] >= '0' && bytes[pos] <= '9') {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static long parseLong(byte[] bytes, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (bytes[i] - '0');
+        }
+        return value;
+    }
+
+    private static NumberFormatException invalidNumber(byte[] bytes, int length) {
+        return new NumberFormatException("Invalid number: " + new String(bytes, 0, length, StandardCharsets.US_ASCII));
+    }
+
+    // Читает в token байты до ближайшего пробельного символа
+    private void readToken() throws IOException {
+        if (!skipWhitespace()) {
+            throw new EOFException("Unexpected end of input at line " + lineNumber);
+        }
+        tokenLength = 0;
+        int b = peek();
+        while (b != -1 && b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+            if (tokenLength == token.length) {
+                token = Arrays.copyOf(token, token.length * 2);
+            }
+            token[tokenLength++] = buffer.get();
+            b = peek();
+        }
+    }
+
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        buffer.clear();
+        int read;
+        do {
+            read = channel.read(buffer);
+        } while (read == 0);
+        buffer.flip();
+        if (read < 0) {
+            eof = true;
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,363 @@
+package ru.sibsutis.artificial_basis;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Модифицированный симплекс-метод: хранится только матрица ограничений в канонической
+ * форме и LU-разложение базиса. Правила выбора ведущего столбца и строки совпадают
+ * с {@link SimplexSolver}, поэтому решение, значение Z и базис получаются теми же.
+ */
+@Getter
+public class RevisedSimplexSolver implements LinearSolver {
+    public static final int DEFAULT_REFACTORIZATION_INTERVAL = 50;
+
+    private final Goal goal;
+    private final int originalVarsCount;
+    private final int rowCount;
+    private final int varCount;        // исходные + балансовые переменные
+    private final int columnCount;     // varCount + искусственные
+
+    private final Fraction[][] columns;
+    private final Fraction[] rhs;
+    private final Fraction[] objective;
+    private final boolean[] artificial;
+    private final int[] basis;
+    private final boolean[] basic;
+    private final BasisFactorization factorization;
+
+    private Fraction[] basicValues;
+    private int iteration;
+
+    @Setter
+    private int maxIterations = SimplexSolver.DEFAULT_MAX_ITERATIONS;
+    @Setter
+    private int degeneracyThreshold = SimplexSolver.DEFAULT_DEGENERACY_THRESHOLD;
+    private int degeneratePivots;
+    private boolean blandRule;
+
+    private SolutionStatus status;
+    private List<Fraction> solution;
+    private List<Fraction> alternativeSolution;
+    private Fraction zValue;
+
+    public RevisedSimplexSolver(SimplexProblem simplexProblem) {
+        this(simplexProblem, DEFAULT_REFACTORIZATION_INTERVAL);
+    }
+
+    public RevisedSimplexSolver(SimplexProblem simplexProblem, int refactorizationInterval) {
+        // Границы переменных здесь не поддерживаются и записываются строками
+        simplexProblem = simplexProblem.withBoundsAsConstraints();
+        this.goal = simplexProblem.getGoal();
+        List<Fraction> zCoefficients = simplexProblem.getZCoefficients();
+        List<Equation> equations = simplexProblem.getEquations();
+        this.originalVarsCount = zCoefficients.size();
+        this.rowCount = equations.size();
+
+        int width = originalVarsCount;
+        int slackCount = 0;
+        for (Equation equation : equations) {
+            width = Math.max(width, equation.getCoefficients().size());
+            if (!equation.getSign().equals("=")) {
+                slackCount++;
+            }
+        }
+        this.varCount = width + slackCount;
+
+        // Столбцы канонической формы (без искусственных переменных)
+        List<Fraction[]> canonical = new ArrayList<>();
+        for (int j = 0; j < varCount; j++) {
+            Fraction[] column = new Fraction[rowCount];
+            Arrays.fill(column, Fraction.ZERO);
+            canonical.add(column);
+        }
+        this.rhs = new Fraction[rowCount];
+        int slack = width;
+        for (int i = 0; i < rowCount; i++) {
+            Equation equation = equations.get(i);
+            boolean negate = equation.getResult().signum() < 0;
+            List<Fraction> coefficients = equation.getCoefficients();
+            for (int j = 0; j < coefficients.size(); j++) {
+                canonical.get(j)[i] = negate ? coefficients.get(j).negate() : coefficients.get(j);
+            }
+            rhs[i] = negate ? equation.getResult().negate() : equation.getResult();
+
+            String sign = equation.getSign();
+            if (negate) {
+                sign = sign.equals("<=") ? ">=" : sign.equals(">=") ? "<=" : "=";
+            }
+            if (sign.equals("<=")) {
+                canonical.get(slack++)[i] = Fraction.ONE;
+            } else if (sign.equals(">=")) {
+                canonical.get(slack++)[i] = Fraction.MINUS_ONE;
+            }
+        }
+
+        // Строкам без единичного столбца добавляются искусственные переменные
+        int[] initialBasis = new int[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            initialBasis[i] = -1;
+            for (int j = 0; j < varCount; j++) {
+                if (canonical.get(j)[i].equals(Fraction.ONE) && isUnitColumn(canonical.get(j), i)) {
+                    initialBasis[i] = j;
+                    break;
+                }
+            }
+            if (initialBasis[i] < 0) {
+                Fraction[] column = new Fraction[rowCount];
+                Arrays.fill(column, Fraction.ZERO);
+                column[i] = Fraction.ONE;
+                initialBasis[i] = canonical.size();
+                canonical.add(column);
+            }
+        }
+
+        this.columnCount = canonical.size();
+        this.columns = canonical.toArray(new Fraction[0][]);
+        this.basis = initialBasis;
+        this.basic = new boolean[columnCount];
+        for (int var : initialBasis) {
+            basic[var] = true;
+        }
+        this.artificial = new boolean[columnCount];
+        Arrays.fill(artificial, varCount, columnCount, true);
+
+        this.objective = new Fraction[columnCount];
+        Arrays.fill(objective, Fraction.ZERO);
+        for (int j = 0; j < originalVarsCount; j++) {
+            objective[j] = goal == Goal.MIN ? zCoefficients.get(j).negate() : zCoefficients.get(j);
+        }
+
+        this.factorization = new BasisFactorization(rowCount, refactorizationInterval);
+        refactorize();
+        this.iteration = 1;
+    }
+
+    private static boolean isUnitColumn(Fraction[] column, int row) {
+        for (int i = 0; i < column.length; i++) {
+            if (i != row && !column[i].equals(Fraction.ZERO)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void refactorize() {
+        Fraction[][] basisColumns = new Fraction[rowCount][];
+        for (int i = 0; i < rowCount; i++) {
+            basisColumns[i] = columns[basis[i]];
+        }
+        factorization.factorize(basisColumns);
+        basicValues = factorization.ftran(rhs);
+    }
+
+    @Override
+    public SolutionStatus solve() {
+        // Phase I: оценки по сумме искусственных переменных
+        if (columnCount > varCount) {
+            while (true) {
+                Fraction[] reducedCosts = computePhaseOneCosts();
+                if (Arrays.stream(reducedCosts).allMatch(f -> f.equals(Fraction.ZERO))) {
+                    break;
+                }
+                int col = findPivotColumn(reducedCosts);
+                if (col < 0) {
+                    if (artificialSum().equals(Fraction.ZERO)) {
+                        break;
+                    }
+                    return status = SolutionStatus.INFEASIBLE;
+                }
+                if (iteration > maxIterations) {
+                    return status = SolutionStatus.ITERATION_LIMIT;
+                }
+                Fraction[] alpha = factorization.ftran(columns[col]);
+                int row = findPivotRow(alpha, false);
+                if (row < 0) {
+                    return status = SolutionStatus.INFEASIBLE;
+                }
+                performPivotOperation(row, col, alpha);
+            }
+
+            for (int i = 0; i < rowCount; i++) {
+                if (artificial[basis[i]] && !basicValues[i].equals(Fraction.ZERO)) {
+                    return status = SolutionStatus.INFEASIBLE;
+                }
+            }
+        }
+
+        // Phase II
+        while (true) {
+            Fraction[] reducedCosts = computePhaseTwoCosts();
+            int col = findPivotColumn(reducedCosts);
+            if (col < 0) {
+                break;
+            }
+            if (iteration > maxIterations) {
+                return status = SolutionStatus.ITERATION_LIMIT;
+            }
+            Fraction[] alpha = factorization.ftran(columns[col]);
+            int row = findPivotRow(alpha, true);
+            if (row < 0) {
+                return status = SolutionStatus.UNBOUNDED;
+            }
+            performPivotOperation(row, col, alpha);
+        }
+
+        solution = getCurrentSolution(basicValues);
+        Fraction z = Fraction.ZERO;
+        for (int i = 0; i < rowCount; i++) {
+            z = z.add(objective[basis[i]].multiply(basicValues[i]));
+        }
+        zValue = goal == Goal.MIN ? z.negate() : z;
+        status = SolutionStatus.OPTIMAL;
+
+        // Ищем альтернативное решение: небазисный столбец с нулевой оценкой
+        Fraction[] reducedCosts = computePhaseTwoCosts();
+        for (int col = 0; col < varCount; col++) {
+            if (basic[col] || !reducedCosts[col].equals(Fraction.ZERO)) continue;
+            Fraction[] alpha = factorization.ftran(columns[col]);
+            int row = findPivotRow(alpha, false);
+            if (row < 0) continue;
+
+            Fraction[] values = basicValues.clone();
+            Fraction theta = values[row].divide(alpha[row]);
+            for (int i = 0; i < rowCount; i++) {
+                values[i] = i == row ? theta : values[i].subtract(theta.multiply(alpha[i]));
+            }
+            int leaving = basis[row];
+            basis[row] = col;
+            alternativeSolution = getCurrentSolution(values);
+            basis[row] = leaving;
+
+            status = SolutionStatus.ALTERNATIVE_OPTIMA;
+            break;
+        }
+        return status;
+    }
+
+    private Fraction artificialSum() {
+        Fraction sum = Fraction.ZERO;
+        for (int i = 0; i < rowCount; i++) {
+            if (artificial[basis[i]]) {
+                sum = sum.add(basicValues[i]);
+            }
+        }
+        return sum;
+    }
+
+    // d_j = c_j - y^T * A_j, где c — единицы при искусственных переменных
+    private Fraction[] computePhaseOneCosts() {
+        Fraction[] costs = new Fraction[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            costs[i] = artificial[basis[i]] ? Fraction.ONE : Fraction.ZERO;
+        }
+        Fraction[] y = factorization.btran(costs);
+
+        Fraction[] reducedCosts = new Fraction[columnCount];
+        for (int j = 0; j < columnCount; j++) {
+            reducedCosts[j] = artificial[j] || basic[j] ? Fraction.ZERO : dot(y, columns[j]).negate();
+        }
+        return reducedCosts;
+    }
+
+    // z_j = y^T * A_j - c_j, как в Z-строке симплекс-таблицы
+    private Fraction[] computePhaseTwoCosts() {
+        Fraction[] costs = new Fraction[rowCount];
+        for (int i = 0; i < rowCount; i++) {
+            costs[i] = objective[basis[i]];
+        }
+        Fraction[] y = factorization.btran(costs);
+
+        Fraction[] reducedCosts = new Fraction[columnCount];
+        for (int j = 0; j < columnCount; j++) {
+            reducedCosts[j] = artificial[j] || basic[j]
+                    ? Fraction.ZERO
+                    : dot(y, columns[j]).subtract(objective[j]);
+        }
+        return reducedCosts;
+    }
+
+    private static Fraction dot(Fraction[] y, Fraction[] column) {
+        Fraction sum = Fraction.ZERO;
+        for (int i = 0; i < column.length; i++) {
+            if (column[i].signum() == 0 || y[i].signum() == 0) continue;
+            sum = sum.add(y[i].multiply(column[i]));
+        }
+        return sum;
+    }
+
+    private int findPivotColumn(Fraction[] reducedCosts) {
+        int col = -1;
+        Fraction minFraction = Fraction.ZERO;
+        for (int j = 0; j < reducedCosts.length; j++) {
+            if (reducedCosts[j].compareTo(minFraction) < 0) {
+                if (blandRule) {
+                    return j;
+                }
+                minFraction = reducedCosts[j];
+                col = j;
+            }
+        }
+        return col;
+    }
+
+    //  Минимальное положительное отношение b_i / a_ij
+    private int findPivotRow(Fraction[] alpha, boolean phaseTwo) {
+        int row = -1;
+        Fraction minFraction = null;
+        for (int i = 0; i < rowCount; i++) {
+            // Искусственная переменная, оставшаяся в базисе после Phase I, должна остаться нулевой
+            boolean blocking = phaseTwo && artificial[basis[i]] && alpha[i].signum() != 0;
+            if (alpha[i].signum() <= 0 && !blocking) continue;
+            Fraction ratio = blocking ? Fraction.ZERO : basicValues[i].divide(alpha[i]);
+            int cmp = minFraction == null ? -1 : ratio.compareTo(minFraction);
+            if (cmp < 0 || (cmp == 0 && blandRule && basis[i] < basis[row])) {
+                minFraction = ratio;
+                row = i;
+            }
+        }
+        return row;
+    }
+
+    private void performPivotOperation(int row, int col, Fraction[] alpha) {
+        // Вырожденные шаги подряд переключают выбор на правило Бленда, как в SimplexSolver
+        if (basicValues[row].signum() == 0) {
+            degeneratePivots++;
+            blandRule = degeneratePivots >= degeneracyThreshold;
+        } else {
+            degeneratePivots = 0;
+            blandRule = false;
+        }
+
+        Fraction theta = basicValues[row].divide(alpha[row]);
+        for (int i = 0; i < rowCount; i++) {
+            if (i == row || alpha[i].signum() == 0) continue;
+            basicValues[i] = basicValues[i].subtract(theta.multiply(alpha[i]));
+        }
+        basicValues[row] = theta;
+        basic[basis[row]] = false;
+        basic[col] = true;
+        basis[row] = col;
+
+        factorization.update(row, alpha);
+        if (factorization.needsRefactorization()) {
+            refactorize();
+        }
+        iteration++;
+    }
+
+    private List<Fraction> getCurrentSolution(Fraction[] values) {
+        List<Fraction> result = new ArrayList<>(Collections.nCopies(originalVarsCount, Fraction.ZERO));
+        for (int i = 0; i < rowCount; i++) {
+            if (basis[i] < originalVarsCount) {
+                result.set(basis[i], values[i]);
+            }
+        }
+        return result;
+    }
+}
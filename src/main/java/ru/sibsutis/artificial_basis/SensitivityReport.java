@@ -0,0 +1,33 @@
+package ru.sibsutis.artificial_basis;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Анализ чувствительности оптимального решения. Все значения относятся к исходной задаче:
+ * <ul>
+ *     <li>shadowPrices — изменение целевой функции на единицу правой части ограничения;</li>
+ *     <li>reducedCosts — изменение целевой функции на единицу роста переменной
+ *     (у базисных переменных 0);</li>
+ *     <li>objectiveRanges — границы коэффициента целевой функции, при которых базис остаётся оптимальным;</li>
+ *     <li>resultRanges — границы правой части, при которых базис остаётся допустимым.</li>
+ * </ul>
+ */
+@Getter
+@AllArgsConstructor
+public class SensitivityReport {
+    private List<Fraction> shadowPrices;
+    private List<Fraction> reducedCosts;
+    private List<Range> objectiveRanges;
+    private List<Range> resultRanges;
+
+    // null в границе означает бесконечность
+    public record Range(Fraction lower, Fraction upper) {
+        @Override
+        public String toString() {
+            return "[" + (lower == null ? "-inf" : lower) + ", " + (upper == null ? "+inf" : upper) + "]";
+        }
+    }
+}
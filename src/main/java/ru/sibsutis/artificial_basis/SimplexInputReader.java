@@ -1,33 +1,57 @@
 package ru.sibsutis.artificial_basis;
 
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
 import java.util.*;
 
 public class SimplexInputReader {
     public static SimplexProblem readFromFile(String filename) throws IOException {
-        BufferedReader reader = new BufferedReader(new FileReader(filename));
+        try (FileChannel channel = FileChannel.open(Path.of(filename))) {
+            return read(channel);
+        }
+    }
+
+    public static SimplexProblem read(InputStream input) throws IOException {
+        return read(Channels.newChannel(input));
+    }
 
-        String goalStr = reader.readLine().strip().toUpperCase();
-        Goal goal = Goal.valueOf(goalStr);
+    // Строки ограничений читаются по мере поступления байтов и сразу складываются в SparseRow
+    public static SimplexProblem read(ReadableByteChannel channel) throws IOException {
+        ProblemTokenizer tokenizer = new ProblemTokenizer(channel);
 
-        List<Fraction> zCoefficients = Arrays.stream(reader.readLine().split("\\s+"))
-                .map(Fraction::parseFraction)
-                .toList();
+        Goal goal = Goal.valueOf(tokenizer.nextWord().toUpperCase());
+        tokenizer.nextLine();
 
-        int equationCount = Integer.parseInt(reader.readLine().strip());
-        List<Equation> equations = new ArrayList<>();
+        List<Fraction> zCoefficients = new ArrayList<>();
+        tokenizer.skipWhitespace();
+        while (tokenizer.hasNextOnLine()) {
+            zCoefficients.add(tokenizer.nextFraction());
+        }
+        tokenizer.nextLine();
+
+        int equationCount = tokenizer.nextInt();
+        List<Equation> equations = new ArrayList<>(equationCount);
 
         for (int i = 0; i < equationCount; i++) {
-            String[] parts = reader.readLine().split("\\s+");
-            List<Fraction> coefficients = Arrays.stream(parts, 0, parts.length - 2)
-                    .map(Fraction::parseFraction)
-                    .toList();
-            String sign = parts[parts.length - 2];
-            Fraction result = Fraction.parseFraction(parts[parts.length - 1]);
+            SparseRow coefficients = new SparseRow();
+            while (tokenizer.skipWhitespace() && !isRelation(tokenizer.peek())) {
+                coefficients.add(tokenizer.nextFraction());
+            }
+            String sign = tokenizer.nextWord();
+            if (!sign.equals("<=") && !sign.equals(">=") && !sign.equals("=")) {
+                throw new IOException("Unknown relation '" + sign + "' at line " + tokenizer.getLineNumber());
+            }
+            Fraction result = tokenizer.nextFraction();
             equations.add(new Equation(coefficients, sign, result));
         }
 
-        reader.close();
         return new SimplexProblem(goal, zCoefficients, equations);
     }
-}
\ No newline at end of file
+
+    private static boolean isRelation(int b) {
+        return b == '<' || b == '>' || b == '=';
+    }
+}
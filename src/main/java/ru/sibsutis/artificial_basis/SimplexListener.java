@@ -0,0 +1,50 @@
+package ru.sibsutis.artificial_basis;
+
+import java.util.List;
+
+/**
+ * События решателя {@link SimplexSolver}. Все методы по умолчанию пустые, а аргументы —
+ * ссылки на уже существующие структуры решателя, поэтому {@link #NONE} ничего не выделяет.
+ * Таблица и базис передаются «как есть» и действительны только во время вызова.
+ */
+public interface SimplexListener {
+    SimplexListener NONE = new SimplexListener() {
+    };
+
+    default void onCanonicalForm(List<Equation> equations, List<Fraction> zCoefficients) {
+    }
+
+    // Ведущий элемент выбран, но исключение ещё не выполнено
+    default void onPivotChosen(int row, int col) {
+    }
+
+    // Небазисная переменная перешла к другой своей границе без смены базиса
+    default void onBoundFlip(int col) {
+    }
+
+    default void onPhaseOneIteration(SimplexTable table, List<Integer> basis, int zCount, int artificialCount, int iteration) {
+    }
+
+    default void onPhaseTwoIteration(SimplexTable table, List<Integer> basis, int iteration) {
+    }
+
+    // M-строка передаётся перед удалением
+    default void onPhaseChange(List<Fraction> mRow) {
+    }
+
+    default void onPhaseTwoStarted(SimplexTable table, List<Integer> basis, int iteration) {
+    }
+
+    // Оптимальная (alternative == false) или альтернативная оптимальная таблица; solution и zValue —
+    // значения исходных переменных и целевой функции с учётом границ
+    default void onSolution(SimplexTable table, List<Integer> basis, List<Fraction> solution, Fraction zValue,
+                            int iteration, boolean alternative) {
+    }
+
+    default void onResult(SolutionStatus status, List<Fraction> solution, List<Fraction> alternativeSolution, Fraction zValue) {
+    }
+
+    // Причина досрочной остановки: INFEASIBLE, UNBOUNDED или ITERATION_LIMIT
+    default void onTermination(SolutionStatus status, String reason) {
+    }
+}
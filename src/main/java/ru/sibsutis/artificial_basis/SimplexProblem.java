@@ -4,8 +4,16 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Задача линейного программирования. Границы переменных необязательны: lowerBounds == null
+ * означает x &gt;= 0, upperBounds == null — отсутствие верхних границ; null внутри
+ * upperBounds — бесконечная верхняя граница отдельной переменной.
+ * integerVariables отмечает целочисленные переменные (null — все непрерывные); симплекс-методы
+ * решают непрерывную релаксацию, целочисленность учитывает {@link BranchAndBoundSolver}.
+ */
 @Getter
 @Setter
 @AllArgsConstructor
@@ -13,4 +21,76 @@ public class SimplexProblem {
     private Goal goal;
     private List<Fraction> zCoefficients;
     private List<Equation> equations;
+    private List<Fraction> lowerBounds;
+    private List<Fraction> upperBounds;
+    private List<Boolean> integerVariables;
+
+    public SimplexProblem(Goal goal, List<Fraction> zCoefficients, List<Equation> equations) {
+        this(goal, zCoefficients, equations, null, null);
+    }
+
+    public SimplexProblem(Goal goal, List<Fraction> zCoefficients, List<Equation> equations,
+                          List<Fraction> lowerBounds, List<Fraction> upperBounds) {
+        this(goal, zCoefficients, equations, lowerBounds, upperBounds, null);
+    }
+
+    public Fraction getLowerBound(int column) {
+        return lowerBounds == null || column >= lowerBounds.size() ? Fraction.ZERO : lowerBounds.get(column);
+    }
+
+    public Fraction getUpperBound(int column) {
+        return upperBounds == null || column >= upperBounds.size() ? null : upperBounds.get(column);
+    }
+
+    public boolean isInteger(int column) {
+        return integerVariables != null && column < integerVariables.size() && integerVariables.get(column);
+    }
+
+    public boolean hasIntegers() {
+        for (int j = 0; j < zCoefficients.size(); j++) {
+            if (isInteger(j)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean hasBounds() {
+        for (int j = 0; j < zCoefficients.size(); j++) {
+            if (getLowerBound(j).signum() != 0 || getUpperBound(j) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Та же задача, в которой границы записаны строками (для решателей без поддержки границ)
+    public SimplexProblem withBoundsAsConstraints() {
+        if (!hasBounds()) {
+            return this;
+        }
+        int n = zCoefficients.size();
+        List<Equation> expanded = new ArrayList<>(equations);
+        for (int j = 0; j < n; j++) {
+            Fraction lower = getLowerBound(j);
+            Fraction upper = getUpperBound(j);
+            if (lower.signum() < 0) {
+                throw new IllegalArgumentException("Variable " + (j + 1)
+                        + " has a negative lower bound, which only SimplexSolver supports");
+            }
+            if (lower.signum() > 0) {
+                expanded.add(new Equation(unitRow(n, j), ">=", lower));
+            }
+            if (upper != null) {
+                expanded.add(new Equation(unitRow(n, j), "<=", upper));
+            }
+        }
+        return new SimplexProblem(goal, zCoefficients, expanded);
+    }
+
+    private static SparseRow unitRow(int size, int column) {
+        SparseRow row = new SparseRow(size, 1);
+        row.set(column, Fraction.ONE);
+        return row;
+    }
 }
@@ -2,34 +2,181 @@ package ru.sibsutis.artificial_basis;
 
 import lombok.Data;
 
+import java.io.PrintWriter;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 @Data
-public class SimplexSolver {
+public final class SimplexSolver implements LinearSolver {
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 256;
+    public static final int DEFAULT_MAX_ITERATIONS = 100_000;
+    public static final int DEFAULT_DEGENERACY_THRESHOLD = 50;
+
+    private static final PricingStrategy BLAND_PRICING = new BlandPricing();
+
+    // Собственная копия задачи: по ней решение повторяется после изменений модели
+    private SimplexProblem problem;
+
     private Goal goal;
     private List<Fraction> zCoefficients;
     private List<Equation> equations;
     private int originalVarsCount;
 
-    private List<Integer> artificialVars;
     private boolean hasMRow;
-    private List<Integer> basis;
+    private Basis basis;                   // базисные и искусственные столбцы таблицы
     private SimplexTable simplexTable;
 
     private int iteration;
 
+    // Начиная с этого числа строк исключение выполняется параллельно в pool
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    private PricingStrategy pricingStrategy = new DantzigPricing();
+    private SimplexListener listener = SimplexListener.NONE;
+
+    private int maxIterations = DEFAULT_MAX_ITERATIONS;
+    private int degeneracyThreshold = DEFAULT_DEGENERACY_THRESHOLD;
+    private int degeneratePivots;
+    private boolean blandRule;
+    // Начальный базис достраивается треугольным crash-методом (см. buildCrashBasis); задаётся
+    // в конструкторе, потому что таблица строится сразу
+    private final boolean crashBasis;
+
+    // Базис для тёплого старта и итоговый базис (см. decodeBasisVariable)
+    private List<Integer> startingBasis;
+    private List<Integer> finalBasis;
+    private int[] slackColumns;            // столбец дополнительной переменной каждой строки, -1 для "="
+    private boolean[] negatedRows;         // строка умножена на -1 в канонической форме
+
+    /*
+     * Границы переменных. Переменные сдвинуты на нижнюю границу, поэтому в таблице
+     * 0 <= x_j <= upperBounds[j] (null — бесконечность; весь массив null, если верхних границ нет).
+     * Переменная у верхней границы заменяется на u_j - x_j (complemented), и таблица всегда
+     * описывает переменные, находящиеся в нуле, если они небазисные.
+     */
+    private Fraction[] lowerBounds;
+    private Fraction[] upperBounds;
+    private boolean[] complemented;
+    private Fraction objectiveOffset;      // вклад нижних границ в целевую функцию
+    private boolean boundFlip;             // findPivot: входящая переменная сразу доходит до другой границы
+    private boolean leavingAtUpper;        // findPivot: выходящая переменная уходит на верхнюю границу
+
+    private SolutionStatus status;
+    private List<Fraction> solution;
+    private List<Fraction> alternativeSolution;
+    private Fraction zValue;
+
     public SimplexSolver(SimplexProblem simplexProblem) {
-        this.goal = simplexProblem.getGoal();
-        this.zCoefficients = new ArrayList<>(simplexProblem.getZCoefficients());
-        this.equations = new ArrayList<>(simplexProblem.getEquations());
-        this.artificialVars = new ArrayList<>();
+        this(simplexProblem, false);
+    }
+
+    public SimplexSolver(SimplexProblem simplexProblem, boolean crashBasis) {
+        this.crashBasis = crashBasis;
+        this.problem = new SimplexProblem(simplexProblem.getGoal(),
+                new ArrayList<>(simplexProblem.getZCoefficients()), copyEquations(simplexProblem.getEquations()),
+                simplexProblem.getLowerBounds() == null ? null : new ArrayList<>(simplexProblem.getLowerBounds()),
+                simplexProblem.getUpperBounds() == null ? null : new ArrayList<>(simplexProblem.getUpperBounds()),
+                simplexProblem.getIntegerVariables() == null ? null : new ArrayList<>(simplexProblem.getIntegerVariables()));
+        initialize();
+        this.iteration = 1;
+    }
+
+    private void initialize() {
+        this.goal = problem.getGoal();
+        this.zCoefficients = new ArrayList<>(problem.getZCoefficients());
+        // Каноническая форма меняет уравнения, поэтому исходная задача копируется
+        this.equations = copyEquations(problem.getEquations());
         this.originalVarsCount = zCoefficients.size();
+        initializeBounds();
         toCanonicalForm();
-        printCanonicalForm();
-        addArtificialVars();
         buildInitialSimplexTable();
-        this.iteration = 1;
+    }
+
+    // Сдвиг x = l + x' переносит нижние границы в правые части и в константу целевой функции
+    private void initializeBounds() {
+        lowerBounds = new Fraction[originalVarsCount];
+        upperBounds = null;
+        objectiveOffset = Fraction.ZERO;
+        for (int j = 0; j < originalVarsCount; j++) {
+            Fraction lower = problem.getLowerBound(j);
+            if (lower == null) {
+                throw new IllegalArgumentException("Variable " + (j + 1) + " has no finite lower bound; free variables are not supported");
+            }
+            lowerBounds[j] = lower;
+            Fraction upper = problem.getUpperBound(j);
+            if (upper != null) {
+                if (upperBounds == null) {
+                    upperBounds = new Fraction[originalVarsCount];
+                }
+                upperBounds[j] = upper.subtract(lower);
+            }
+            if (lower.signum() == 0) continue;
+            objectiveOffset = objectiveOffset.add(zCoefficients.get(j).multiply(lower));
+            for (Equation equation : equations) {
+                List<Fraction> coefficients = equation.getCoefficients();
+                if (j < coefficients.size() && coefficients.get(j).signum() != 0) {
+                    equation.setResult(equation.getResult().subtract(coefficients.get(j).multiply(lower)));
+                }
+            }
+        }
+    }
+
+    // Переменная с единичным столбцом может стать начальной базисной, только если значение не выходит за границу
+    private boolean fitsUpperBound(int column, Fraction value) {
+        return upperBounds == null || column >= originalVarsCount || upperBounds[column] == null
+                || value.compareTo(upperBounds[column]) <= 0;
+    }
+
+    // Верхняя граница переменной столбца таблицы (null — бесконечность)
+    private Fraction upperBound(int column) {
+        if (upperBounds == null) {
+            return null;
+        }
+        return column < originalVarsCount ? upperBounds[column] : null;
+    }
+
+    /*
+     * Замена небазисной переменной x_j = u_j - x'_j: столбец меняет знак во всех строках
+     * (включая Z и M), а правые части уменьшаются на a_ij * u_j.
+     */
+    private void complementColumn(int col) {
+        Fraction upper = upperBound(col);
+        for (List<Fraction> row : simplexTable.getRows()) {
+            complementEntry(row, col, upper);
+        }
+        complementEntry(simplexTable.getZRow(), col, upper);
+        if (hasMRow && !simplexTable.getMRow().isEmpty()) {
+            complementEntry(simplexTable.getMRow(), col, upper);
+        }
+        complemented[col] = !complemented[col];
+    }
+
+    private static void complementEntry(List<Fraction> row, int col, Fraction upper) {
+        Fraction a = row.get(col);
+        if (a.signum() == 0) {
+            return;
+        }
+        row.set(row.size() - 1, row.getLast().subtract(a.multiply(upper)));
+        row.set(col, a.negate());
+    }
+
+    // Та же замена для базисной переменной строки row: строка умножается на -1, значение становится u - b
+    private void complementBasic(int row) {
+        int var = basis.get(row);
+        SparseRow tableRow = (SparseRow) simplexTable.getRows().get(row);
+        tableRow.divideInPlace(Fraction.MINUS_ONE);
+        tableRow.set(var, Fraction.ONE);
+        tableRow.set(tableRow.size() - 1, tableRow.getLast().add(upperBound(var)));
+        complemented[var] = !complemented[var];
+    }
+
+    private static List<Equation> copyEquations(List<Equation> source) {
+        return new ArrayList<>(source.stream()
+                .map(eq -> new Equation(eq.getCoefficients(), eq.getSign(), eq.getResult()))
+                .toList());
     }
 
     private void toCanonicalForm() {
@@ -39,115 +186,136 @@ public class SimplexSolver {
                     .toList());
         }
 
-        int sluckVarsCount = 0;
-        int maxLength = 0;
+        // Столбцы дополнительных переменных в уравнениях не хранятся: строка помнит только знак,
+        // а единичный коэффициент в столбце slackColumns[row] даёт slackCoefficient(row)
+        slackColumns = new int[equations.size()];
+        negatedRows = new boolean[equations.size()];
 
-        for (Equation equation : equations) {
+        for (int row = 0; row < equations.size(); row++) {
+            Equation equation = equations.get(row);
             Fraction result = equation.getResult();
-            List<Fraction> coefficients = new ArrayList<>(equation.getCoefficients());
+            SparseRow coefficients = SparseRow.of(equation.getCoefficients());
+            coefficients.resize(originalVarsCount);
             String sign = equation.getSign();
 
-            if (result.getNumerator().intValue() < 0) {
-                coefficients = new ArrayList<>(coefficients.stream()
-                        .map(c -> c.multiply(-1))
-                        .toList());
+            if (result.signum() < 0) {
+                negatedRows[row] = true;
+                coefficients.divideInPlace(Fraction.MINUS_ONE);
                 result = result.multiply(-1);
                 sign = sign.equals("<=") ? ">=" : sign.equals(">=") ? "<=" : "=";
                 equation.setSign(sign);
             }
 
-            for (int i = 0; i < sluckVarsCount; i++) {
-                coefficients.add(Fraction.ZERO);
-            }
-
-            if (sign.equals("<=")) {
-                coefficients.add(Fraction.ONE);
+            slackColumns[row] = sign.equals("=") ? -1 : zCoefficients.size();
+            if (!sign.equals("=")) {
                 zCoefficients.add(Fraction.ZERO);
-                sluckVarsCount++;
-            } else if (sign.equals(">=")) {
-                coefficients.add(Fraction.MINUS_ONE);
-                zCoefficients.add(Fraction.ZERO);
-                sluckVarsCount++;
             }
 
             equation.setCoefficients(coefficients);
             equation.setResult(result);
+        }
+    }
 
-            maxLength = Math.max(coefficients.size(), maxLength);
+    // Коэффициент дополнительной переменной строки канонической формы: 1 для "<=", -1 для ">="
+    Fraction slackCoefficient(int row) {
+        return equations.get(row).getSign().equals("<=") ? Fraction.ONE : Fraction.MINUS_ONE;
+    }
+
+    // Коэффициент канонической формы с учётом неявных столбцов дополнительных переменных
+    private Fraction canonicalCoefficient(int row, int column) {
+        if (column < originalVarsCount) {
+            return equations.get(row).getCoefficients().get(column);
         }
+        return slackColumns[row] == column ? slackCoefficient(row) : Fraction.ZERO;
+    }
 
-        for (Equation equation : equations) {
-            List<Fraction> coefficients = equation.getCoefficients();
-            for (int i = coefficients.size(); i < maxLength; i++) {
-                coefficients.add(Fraction.ZERO);
+    // Каноническая форма с явными столбцами дополнительных переменных — для вывода
+    private List<Equation> explicitCanonicalForm() {
+        List<Equation> explicit = new ArrayList<>(equations.size());
+        for (int row = 0; row < equations.size(); row++) {
+            Equation equation = equations.get(row);
+            SparseRow coefficients = SparseRow.of(equation.getCoefficients());
+            coefficients.resize(zCoefficients.size());
+            if (slackColumns[row] >= 0) {
+                coefficients.set(slackColumns[row], slackCoefficient(row));
             }
+            explicit.add(new Equation(coefficients, equation.getSign(), equation.getResult()));
         }
+        return explicit;
     }
 
-    private void addArtificialVars() {
-        int artificialStart = zCoefficients.size();
-
-        for (int i = 0; i < equations.size(); i++) {
-            final int curr = i;
-            boolean hasBasis = false;
-            Equation equation = equations.get(i);
-            List<Fraction> row = equation.getCoefficients();
-
-            for (int j = 0; j < row.size(); j++) {
-                if (!row.get(j).equals(Fraction.ONE)) continue;
-
-                final int col = j;
-                if (equations.stream()
-                        .filter(eq -> equations.indexOf(eq) != curr)
-                        .allMatch(eq -> eq.getCoefficients().get(col).equals(Fraction.ZERO))) {
-                    hasBasis = true;
-                    break;
-                }
+    /*
+     * Единичные столбцы для начального базиса за один проход по ненулевым элементам: для каждого
+     * столбца запоминается строка его единственного ненулевого элемента, если он равен 1.
+     * Строке достаётся первый такой столбец, значение которого не выходит за верхнюю границу;
+     * -1 — строке нужна искусственная переменная.
+     */
+    private int[] findUnitColumns(List<List<Fraction>> rows) {
+        int width = zCoefficients.size();
+        int[] unitRows = new int[width];
+        boolean[] seen = new boolean[width];
+        for (int i = 0; i < rows.size(); i++) {
+            SparseRow row = (SparseRow) rows.get(i);
+            for (int k = 0; k < row.nonZeroCount() && row.indexAt(k) < width; k++) {
+                int j = row.indexAt(k);
+                unitRows[j] = !seen[j] && row.valueAt(k).equals(Fraction.ONE) ? i : -1;
+                seen[j] = true;
             }
+        }
 
-            if (!hasBasis) {
-                artificialVars.add(artificialStart + artificialVars.size());
+        int[] columns = new int[rows.size()];
+        Arrays.fill(columns, -1);
+        for (int j = width - 1; j >= 0; j--) {
+            int row = unitRows[j];
+            if (seen[j] && row >= 0 && fitsUpperBound(j, rows.get(row).getLast())) {
+                columns[row] = j;
             }
         }
+        return columns;
     }
 
-    private void buildInitialSimplexTable() {
-        basis = new ArrayList<>();
-        List<List<Fraction>> rows = new ArrayList<>();
-
-        for (Equation equation : equations) {
-            List<Fraction> simplexTableRow = new ArrayList<>(equation.getCoefficients());
-            simplexTableRow.add(equation.getResult());
-            rows.add(simplexTableRow);
+    // Строки без единичного столбца получают искусственные переменные после всех остальных столбцов
+    private void addArtificialVars(int[] basicColumns) {
+        basis = new Basis();
+        int artificialVar = zCoefficients.size();
+        for (int i = 0; i < basicColumns.length; i++) {
+            if (basicColumns[i] < 0) {
+                basicColumns[i] = artificialVar++;
+                basis.markArtificial(basicColumns[i], i);
+            }
+            basis.add(basicColumns[i]);
         }
+    }
 
-        int artificialIndex = 0;
+    void buildInitialSimplexTable() {
+        List<List<Fraction>> rows = new ArrayList<>();
+        int columnCount = zCoefficients.size();
         for (int i = 0; i < equations.size(); i++) {
-            final int curr = i;
-            boolean hasBasis = false;
-
-            for (int j = 0; j < zCoefficients.size(); j++) {
-                final int col = j;
-                if (!rows.get(i).get(col).equals(Fraction.ONE)) continue;
-
-                if (rows.stream()
-                        .filter(row -> rows.indexOf(row) != curr)
-                        .allMatch(row -> row.get(col).equals(Fraction.ZERO))) {
-                    hasBasis = true;
-                    basis.add(j);
-                    break;
-                }
+            Equation equation = equations.get(i);
+            SparseRow simplexTableRow = SparseRow.of(equation.getCoefficients());
+            simplexTableRow.resize(columnCount + 1);
+            if (slackColumns[i] >= 0) {
+                simplexTableRow.set(slackColumns[i], slackCoefficient(i));
             }
+            simplexTableRow.set(columnCount, equation.getResult());
+            rows.add(simplexTableRow);
+        }
 
-            if (!hasBasis) {
-                final int insertPos = zCoefficients.size() + artificialIndex;
-                for (List<Fraction> row : rows) {
-                    row.add(insertPos, Fraction.ZERO);
-                }
-                rows.get(i).set(insertPos, Fraction.ONE);
-                basis.add(insertPos);
-                artificialIndex++;
+        int[] basicColumns = findUnitColumns(rows);
+        addArtificialVars(basicColumns);
+        int artificialCount = basis.artificialCount();
+        if (artificialCount > 0) {
+            // Искусственные столбцы встают перед правой частью
+            int width = columnCount + artificialCount;
+            for (List<Fraction> row : rows) {
+                Fraction result = row.set(row.size() - 1, Fraction.ZERO);
+                ((SparseRow) row).resize(width + 1);
+                row.set(width, result);
             }
+            basis.artificialColumns().forEach(var -> rows.get(basis.originOf(var)).set(var, Fraction.ONE));
+        }
+        if (crashBasis && artificialCount > 0) {
+            buildCrashBasis(rows);
         }
 
         List<Fraction> zRow;
@@ -168,33 +336,133 @@ public class SimplexSolver {
                 Collections.nCopies(rows.getFirst().size(), Fraction.ZERO));
 
         for (int i = 0; i < basis.size(); i++) {
-            int var = basis.get(i);
-            if (var >= zCoefficients.size()) { // !
-                for (int j = 0; j < mRow.size(); j++) {
-                    mRow.set(j, mRow.get(j).subtract(rows.get(i).get(j)));
+            if (basis.isArtificial(basis.get(i))) {
+                SparseRow row = (SparseRow) rows.get(i);
+                for (int k = 0; k < row.nonZeroCount(); k++) {
+                    int j = row.indexAt(k);
+                    mRow.set(j, mRow.get(j).subtract(row.valueAt(k)));
                 }
             }
         }
 
-        for (int var : artificialVars) {
-            if (var < mRow.size()) {
-                mRow.set(var, Fraction.ZERO);
+        basis.artificialColumns()
+                .filter(var -> var < mRow.size())
+                .forEach(var -> mRow.set(var, Fraction.ZERO));
+
+        hasMRow = true;
+
+        this.simplexTable = new SimplexTable(rows, zRow, mRow, new Pivot());
+        deactivateArtificials();
+
+        // Нулевые столбцы выключаются маской
+        int width = rows.getFirst().size() - 1;
+        boolean[] used = new boolean[width];
+        for (List<Fraction> row : rows) {
+            SparseRow sparse = (SparseRow) row;
+            for (int k = 0; k < sparse.nonZeroCount() && sparse.indexAt(k) < width; k++) {
+                used[sparse.indexAt(k)] = true;
+            }
+        }
+        complemented = new boolean[originalVarsCount];
+        for (int column = 0; column < width; column++) {
+            if (used[column] || !simplexTable.isActive(column)) continue;
+            // Переменная без ограничений с выгодной оценкой сразу ставится на верхнюю границу,
+            // а без верхней границы остаётся активной: фаза II обнаружит неограниченность
+            if (column < originalVarsCount && zCoefficients.get(column).signum() > 0) {
+                if (upperBounds == null || upperBounds[column] == null) continue;
+                complemented[column] = true;
             }
+            simplexTable.deactivate(column);
         }
+    }
 
-        hasMRow = true;
+    /*
+     * Треугольный crash-базис в духе LTSF (lower triangular, sparsest first): искусственные переменные
+     * вытесняются исходными и дополнительными столбцами до начала фазы I. Берётся строка с
+     * искусственной базисной переменной и наименьшим числом активных столбцов, в ней — самый
+     * разреженный активный столбец, который проходит тест отношений, т.е. сохраняет допустимость
+     * всех строк. После опорной операции столбцы с ненулём в этой строке перестают быть активными:
+     * базис остаётся треугольным, и введённые раньше значения больше не меняются.
+     * Вытесненные искусственные столбцы затем выключаются (см. deactivateArtificials).
+     */
+    private void buildCrashBasis(List<List<Fraction>> rows) {
+        int width = zCoefficients.size();
+        boolean[] inactive = new boolean[width];
+        Set<Integer> pending = new LinkedHashSet<>(basis.artificialColumns().map(basis::originOf).boxed().toList());
+
+        while (!pending.isEmpty()) {
+            int[] columnCounts = new int[width];
+            for (int i : pending) {
+                SparseRow row = (SparseRow) rows.get(i);
+                for (int k = 0; k < row.nonZeroCount() && row.indexAt(k) < width; k++) {
+                    columnCounts[row.indexAt(k)]++;
+                }
+            }
+            List<Integer> candidateRows = new ArrayList<>(pending);
+            candidateRows.sort(Comparator.comparingInt(i -> activeCount((SparseRow) rows.get(i), inactive)));
+
+            int pivotRow = -1;
+            int pivotColumn = -1;
+            for (int i : candidateRows) {
+                SparseRow row = (SparseRow) rows.get(i);
+                List<Integer> candidates = new ArrayList<>();
+                for (int k = 0; k < row.nonZeroCount() && row.indexAt(k) < width; k++) {
+                    if (!inactive[row.indexAt(k)]) {
+                        candidates.add(row.indexAt(k));
+                    }
+                }
+                candidates.sort(Comparator.comparingInt(j -> columnCounts[j]));
+                for (int j : candidates) {
+                    if (keepsFeasible(rows, i, j)) {
+                        pivotRow = i;
+                        pivotColumn = j;
+                        break;
+                    }
+                }
+                if (pivotRow >= 0) break;
+            }
+            if (pivotRow < 0) break;
 
-        for (int col = rows.getFirst().size() - 2; col >= 0; col--) {
-            final int column = col;
-            if (rows.stream().allMatch(row -> row.get(column).equals(Fraction.ZERO))) {
-                rows.forEach(row -> row.remove(column));
-                basis = new ArrayList<>(basis.stream()
-                        .map(b -> b > column ? b - 1 : b)
-                        .toList());
+            SparseRow row = (SparseRow) rows.get(pivotRow);
+            row.divideInPlace(row.get(pivotColumn));
+            for (int i = 0; i < rows.size(); i++) {
+                Fraction factor = rows.get(i).get(pivotColumn);
+                if (i != pivotRow && factor.signum() != 0) {
+                    ((SparseRow) rows.get(i)).subtractMultipleInPlace(factor, row);
+                }
+            }
+            basis.set(pivotRow, pivotColumn);
+            pending.remove(pivotRow);
+            for (int k = 0; k < row.nonZeroCount() && row.indexAt(k) < width; k++) {
+                inactive[row.indexAt(k)] = true;
             }
         }
+    }
 
-        this.simplexTable = new SimplexTable(rows, zRow, mRow, new Pivot());
+    private static int activeCount(SparseRow row, boolean[] inactive) {
+        int count = 0;
+        for (int k = 0; k < row.nonZeroCount() && row.indexAt(k) < inactive.length; k++) {
+            if (!inactive[row.indexAt(k)]) count++;
+        }
+        return count;
+    }
+
+    // Тест отношений для crash: после ввода столбца col в строку row все базисные значения остаются в границах
+    private boolean keepsFeasible(List<List<Fraction>> rows, int row, int col) {
+        Fraction a = rows.get(row).get(col);
+        Fraction value = rows.get(row).getLast().divide(a);
+        if (value.signum() < 0 || !fitsUpperBound(col, value)) {
+            return false;
+        }
+        for (int i = 0; i < rows.size(); i++) {
+            Fraction factor = rows.get(i).get(col);
+            if (i == row || factor.signum() == 0) continue;
+            Fraction updated = rows.get(i).getLast().subtract(factor.multiply(value));
+            if (updated.signum() < 0 || !fitsUpperBound(basis.get(i), updated)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private void updateMRow() {
@@ -209,267 +477,324 @@ public class SimplexSolver {
 
         for (int i = 0; i < basis.size(); i++) {
             int var = basis.get(i);
-            if (artificialVars.contains(var)) {
-                List<Fraction> row = simplexTable.getRows().get(i);
-                for (int j = 0; j < width; j++) {
-                    mRow.set(j, mRow.get(j).subtract(row.get(j)));
+            if (basis.isArtificial(var)) {
+                SparseRow row = (SparseRow) simplexTable.getRows().get(i);
+                for (int k = 0; k < row.nonZeroCount(); k++) {
+                    int j = row.indexAt(k);
+                    mRow.set(j, mRow.get(j).subtract(row.valueAt(k)));
                 }
             }
         }
 
-        for (int var : artificialVars) {
-            if (var < mRow.size()) {
-                mRow.set(var, Fraction.ZERO);
-            }
-        }
+        basis.artificialColumns()
+                .filter(var -> var < mRow.size())
+                .forEach(var -> mRow.set(var, Fraction.ZERO));
 
         simplexTable.setMRow(mRow);
     }
 
-    private void performPivotOperation() {
+    void performPivotOperation() {
         Pivot pivot = simplexTable.getPivot();
         int row = pivot.getRow();
         int col = pivot.getColumn();
-        List<List<Fraction>> rows = simplexTable.getRows();
-        List<Fraction> zRow = simplexTable.getZRow();
-        List<Fraction> mRow = simplexTable.getMRow();
-        List<Fraction> pivotRow = rows.get(row);
-        Fraction pivotValue = pivotRow.get(col);
-
-        // Делим всю строку на опорный элемент
-        List<Fraction> newRow = new ArrayList<>();
-        for (Fraction value : pivotRow) {
-            newRow.add(value.divide(pivotValue));
+        if (leavingAtUpper) {
+            complementBasic(row);
+            leavingAtUpper = false;
         }
-        rows.set(row, newRow);
+        pricingStrategy.beforePivot(simplexTable.getRows(), row, col, basis.get(row));
+        eliminate(row, col, true);
 
-        // Обновляем все остальные строки
-        for (int i = 0; i < rows.size(); i++) {
-            if (i == row) continue;
-
-            List<Fraction> currentRow = rows.get(i);
-            Fraction factor = currentRow.get(col);
-            List<Fraction> updatedRow = new ArrayList<>();
+        // Обновляем базис; M-строка уже пересчитана исключением, остаётся обнулить искусственные столбцы
+        basis.set(row, col);
+        List<Fraction> mRow = simplexTable.getMRow();
+        basis.artificialColumns()
+                .filter(var -> var < mRow.size())
+                .forEach(var -> mRow.set(var, Fraction.ZERO));
+    }
 
-            for (int j = 0; j < currentRow.size(); j++) {
-                Fraction updatedValue = currentRow.get(j).subtract(factor.multiply(newRow.get(j)));
-                updatedRow.add(updatedValue);
+    /*
+     * Делит опорную строку на опорный элемент и исключает столбец col из остальных строк,
+     * Z-строки и (если withMRow) M-строки. Все строки меняются на месте; строки с нулевым
+     * множителем не трогаются. Строки независимы друг от друга, поэтому в больших таблицах
+     * они обновляются параллельно, и результат совпадает с последовательным проходом.
+     */
+    private void eliminate(int row, int col, boolean withMRow) {
+        List<List<Fraction>> rows = simplexTable.getRows();
+        SparseRow newRow = (SparseRow) rows.get(row);
+        newRow.divideInPlace(newRow.get(col));
+
+        int rowCount = rows.size();
+        IntConsumer update = i -> {
+            if (i < rowCount) {
+                if (i == row) return;
+                SparseRow currentRow = (SparseRow) rows.get(i);
+                Fraction factor = currentRow.get(col);
+                if (factor.signum() == 0) return;
+                currentRow.subtractMultipleInPlace(factor, newRow);
+            } else if (i == rowCount) {
+                eliminateDense(simplexTable.getZRow(), col, newRow);
+            } else {
+                eliminateDense(simplexTable.getMRow(), col, newRow);
             }
+        };
 
-            rows.set(i, updatedRow);
+        int taskCount = withMRow ? rowCount + 2 : rowCount + 1;
+        if (rowCount < parallelThreshold) {
+            for (int i = 0; i < taskCount; i++) {
+                update.accept(i);
+            }
+        } else {
+            pool.submit(() -> IntStream.range(0, taskCount).parallel().forEach(update)).join();
         }
+    }
 
-        List<Fraction> updatedZRow = new ArrayList<>();
-        Fraction factor = zRow.get(col);
-        for (int j = 0; j < zRow.size(); j++) {
-            Fraction updatedValue = zRow.get(j).subtract(factor.multiply(newRow.get(j)));
-            updatedZRow.add(updatedValue);
+    private void eliminateDense(List<Fraction> denseRow, int col, SparseRow newRow) {
+        Fraction factor = denseRow.get(col);
+        if (factor.signum() == 0) {
+            return;
         }
-        simplexTable.setZRow(updatedZRow);
-
-        List<Fraction> updatedMRow = new ArrayList<>();
-        factor = mRow.get(col);
-        for (int j = 0; j < mRow.size(); j++) {
-            Fraction updatedValue = mRow.get(j).subtract(factor.multiply(newRow.get(j)));
-            updatedMRow.add(updatedValue);
+        for (int k = 0; k < newRow.nonZeroCount(); k++) {
+            int j = newRow.indexAt(k);
+            denseRow.set(j, denseRow.get(j).subtract(factor.multiply(newRow.valueAt(k))));
         }
-        simplexTable.setMRow(updatedMRow);
-
-        // Обновляем базис
-        basis.set(row, col);
-        updateMRow();
     }
 
-    private void findPivot() {
+    void findPivot() {
+        boundFlip = false;
+        leavingAtUpper = false;
         List<List<Fraction>> rows = simplexTable.getRows();
         // Исключаем столбец результатов (1)
         List<Fraction> zRow = simplexTable.getZRow().subList(0, simplexTable.getZRow().size() - 1);
 
-        // Используем M-строку, если она ещё есть
+        // Используем M-строку, если она ещё есть, иначе Z-строку
+        int col = -1;
         if (hasMRow) {
             List<Fraction> mRow = simplexTable.getMRow().subList(0, simplexTable.getMRow().size() - 1);
-            if (mRow.stream().anyMatch(f -> f.compareTo(Fraction.ZERO) < 0)) {
-                int col = Integer.MAX_VALUE;
-                Fraction minFraction = Fraction.MAX_VALUE;
-                for (int i = 0; i < mRow.size(); i++) {
-                    if (mRow.get(i).compareTo(minFraction) < 0) {
-                        minFraction = mRow.get(i);
-                        col = i;
-                    }
-                }
-
-                if (col == Integer.MAX_VALUE) {
-                    simplexTable.setPivot(new Pivot(null, null)); // Решение не ограничено
-                    return;
-                }
-
-                //  Поиск ведущей строки — минимальное положительное отношение b_i / a_ij
-                int row = Integer.MAX_VALUE;
-                minFraction = Fraction.MAX_VALUE;
-                for (int i = 0; i < rows.size(); i++) {
-                    Fraction a_ij = rows.get(i).get(col);
-                    if (a_ij.compareTo(Fraction.ZERO) > 0) {
-                        Fraction b_i = rows.get(i).getLast();
-                        Fraction result = b_i.divide(a_ij);
-                        if (result.compareTo(minFraction) < 0) {
-                            minFraction = result;
-                            row = i;
-                        }
-                    }
-                }
-
-                if (row == Integer.MAX_VALUE) {
-                    simplexTable.setPivot(new Pivot(null, null)); // Решение не ограничено
-                    return;
-                }
-
-                simplexTable.setPivot(new Pivot(row, col));
-                return;
-            }
+            col = currentPricing().selectColumn(mRow, rows, simplexTable.getActiveColumns());
+        }
+        if (col < 0) {
+            col = currentPricing().selectColumn(zRow, rows, simplexTable.getActiveColumns());
+        }
+        if (col < 0) {
+            simplexTable.setPivot(new Pivot(null, null));
+            return;
         }
 
-        // Иначе используем Z-строку
-        if (zRow.stream().anyMatch(f -> f.compareTo(Fraction.ZERO) < 0)) {
-            int col = Integer.MAX_VALUE;
-            Fraction minFraction = Fraction.MAX_VALUE;
-            for (int i = 0; i < zRow.size(); i++) {
-                if (zRow.get(i).compareTo(minFraction) < 0) {
-                    minFraction = zRow.get(i);
-                    col = i;
-                }
-            }
+        int row = findPivotRow(col);
+        if (boundFlip) {
+            simplexTable.setPivot(new Pivot(null, col));
+            return;
+        }
+        if (row < 0) {
+            simplexTable.setPivot(new Pivot(null, null)); // Решение не ограничено
+            return;
+        }
 
-            if (col == Integer.MAX_VALUE) {
-                simplexTable.setPivot(new Pivot(null, null)); // Решение не ограничено
-                return;
-            }
+        simplexTable.setPivot(new Pivot(row, col));
+    }
 
-            //  Поиск ведущей строки — минимальное положительное отношение b_i / a_ij
-            int row = Integer.MAX_VALUE;
-            minFraction = Fraction.MAX_VALUE;
-            for (int i = 0; i < rows.size(); i++) {
-                Fraction a_ij = rows.get(i).get(col);
-                if (a_ij.compareTo(Fraction.ZERO) > 0) {
-                    Fraction b_i = rows.get(i).getLast();
-                    Fraction result = b_i.divide(a_ij);
-                    if (result.compareTo(minFraction) < 0) {
-                        minFraction = result;
-                        row = i;
-                    }
+    /*
+     * Поиск ведущей строки — минимальное положительное отношение b_i / a_ij. При верхних
+     * границах строка с a_ij < 0 ограничивает шаг величиной (u_k - b_i) / -a_ij (базисная
+     * переменная доходит до верхней границы, leavingAtUpper), а сама входящая переменная —
+     * своей границей u_j: тогда базис не меняется (boundFlip).
+     */
+    private int findPivotRow(int col) {
+        boundFlip = false;
+        leavingAtUpper = false;
+        List<List<Fraction>> rows = simplexTable.getRows();
+        int row = -1;
+        Fraction minFraction = null;  // значимо только при row >= 0
+        for (int i = 0; i < rows.size(); i++) {
+            Fraction a_ij = rows.get(i).get(col);
+            Fraction b_i = rows.get(i).getLast();
+            // Искусственная переменная, оставшаяся в базисе после Phase I, должна остаться нулевой
+            boolean blocking = !hasMRow && a_ij.signum() != 0 && basis.isArtificial(basis.get(i));
+            Fraction result = null;
+            boolean atUpper = false;
+            if (a_ij.compareTo(Fraction.ZERO) > 0 || blocking) {
+                result = blocking ? Fraction.ZERO : b_i.divide(a_ij);
+            } else if (a_ij.signum() < 0 && upperBounds != null) {
+                Fraction upper = upperBound(basis.get(i));
+                if (upper != null) {
+                    result = upper.subtract(b_i).divide(a_ij.negate());
+                    atUpper = true;
                 }
             }
-
-            if (row == Integer.MAX_VALUE) {
-                simplexTable.setPivot(new Pivot(null, null)); // Решение не ограничено
-                return;
+            if (result == null) continue;
+            int cmp = row < 0 ? -1 : result.compareTo(minFraction);
+            // По правилу Бленда из равных отношений берётся строка с меньшим номером базисной переменной
+            if (cmp < 0 || (cmp == 0 && blandRule && basis.get(i) < basis.get(row))) {
+                minFraction = result;
+                row = i;
+                leavingAtUpper = atUpper;
             }
+        }
 
-            simplexTable.setPivot(new Pivot(row, col));
-            return;
+        Fraction upper = upperBounds == null ? null : upperBound(col);
+        if (upper != null && (row < 0 || upper.compareTo(minFraction) < 0)) {
+            boundFlip = true;
+            leavingAtUpper = false;
+            return -1;
         }
+        return row;
+    }
 
-        simplexTable.setPivot(new Pivot(null, null));
+    private void flipBound(int col) {
+        listener.onBoundFlip(col);
+        complementColumn(col);
+        iteration++;
     }
 
-    private void removeArtificialVars() {
-        List<Integer> colsToRemove = new ArrayList<>();
-        for (int var : artificialVars) {
-            if (!basis.contains(var)) {
-                colsToRemove.add(var);
-            }
-        }
+    private PricingStrategy currentPricing() {
+        return blandRule ? BLAND_PRICING : pricingStrategy;
+    }
 
-        // Удаление столбцов в обратном порядке
-        colsToRemove.sort(Collections.reverseOrder());
-        for (int col : colsToRemove) {
-            for (List<Fraction> row : simplexTable.getRows()) {
-                row.remove(col);
+    /*
+     * Считает подряд идущие вырожденные шаги (нулевое отношение в опорной строке).
+     * После degeneracyThreshold таких шагов включается правило Бленда, исключающее
+     * зацикливание; после первого невырожденного шага возвращается обычное правило.
+     */
+    private void trackDegeneracy() {
+        int row = simplexTable.getPivot().getRow();
+        Fraction step = simplexTable.getRows().get(row).getLast();
+        if (leavingAtUpper) {
+            step = upperBound(basis.get(row)).subtract(step);
+        }
+        if (step.signum() == 0) {
+            degeneratePivots++;
+            if (degeneratePivots >= degeneracyThreshold) {
+                blandRule = true;
             }
-            basis.replaceAll(b -> b > col ? b - 1 : b);
+        } else {
+            degeneratePivots = 0;
+            blandRule = false;
         }
+    }
 
-        // Обновление списка искусственных переменных
-        artificialVars.removeIf(var -> !basis.contains(var));
+    private void removeArtificialVars() {
+        deactivateArtificials();
 
         // Удаление M-строки если нужно
         if (hasMRow && simplexTable.getMRow() != null) {
             List<Fraction> mRow = simplexTable.getMRow();
-            System.out.println("Delete the M-row: " + mRow);
+            listener.onPhaseChange(mRow);
             mRow.clear();
             hasMRow = false;
         }
     }
 
+    // Небазисные искусственные столбцы очищаются и выключаются маской; номера столбцов не меняются
+    private void deactivateArtificials() {
+        int[] columns = basis.artificialColumns()
+                .filter(var -> !basis.isBasic(var) && simplexTable.isActive(var))
+                .toArray();
+        if (columns.length == 0) {
+            return;
+        }
+        for (List<Fraction> row : simplexTable.getRows()) {
+            for (int col : columns) {
+                row.set(col, Fraction.ZERO);
+            }
+        }
+        for (int col : columns) {
+            simplexTable.deactivate(col);
+        }
+    }
+
     private void restoreOriginalZRow() {
         List<Fraction> zRow = new ArrayList<>(
                 Collections.nCopies(simplexTable.getRows().getFirst().size(), Fraction.ZERO));
 
         // Восстановление исходных коэффициентов
-        int objSize = zCoefficients.size();
-        for (int j = 0; j < Math.min(objSize, zRow.size() - 1); j++) {
-            zRow.set(j, zCoefficients.get(j).multiply(-1));
+        for (int j = 0; j < zRow.size() - 1; j++) {
+            zRow.set(j, tableCost(j).negate());
         }
 
         // Корректировка по базису
         for (int i = 0; i < basis.size(); i++) {
-            int var = basis.get(i);
-            if (var < objSize) {
-                Fraction coef = zCoefficients.get(var);
-                List<Fraction> tableRow = simplexTable.getRows().get(i);
-                for (int j = 0; j < zRow.size(); j++) {
-                    zRow.set(j, zRow.get(j).add(coef.multiply(tableRow.get(j))));
-                }
+            Fraction coef = tableCost(basis.get(i));
+            if (coef.signum() == 0) continue;
+            SparseRow tableRow = (SparseRow) simplexTable.getRows().get(i);
+            for (int k = 0; k < tableRow.nonZeroCount(); k++) {
+                int j = tableRow.indexAt(k);
+                zRow.set(j, zRow.get(j).add(coef.multiply(tableRow.valueAt(k))));
+            }
+        }
+
+        // Переменные у верхней границы дают постоянную часть c_j * u_j
+        for (int j = 0; j < originalVarsCount; j++) {
+            if (complemented[j]) {
+                zRow.set(zRow.size() - 1, zRow.getLast().add(zCoefficients.get(j).multiply(upperBounds[j])));
             }
         }
 
         simplexTable.setZRow(zRow);
     }
 
+    // Коэффициент целевой функции (в форме максимизации) для столбца таблицы
+    private Fraction tableCost(int column) {
+        if (column >= zCoefficients.size()) {
+            return Fraction.ZERO; // искусственная переменная
+        }
+        Fraction cost = zCoefficients.get(column);
+        return column < originalVarsCount && complemented[column] ? cost.negate() : cost;
+    }
+
     private boolean isOptimal() {
         List<Fraction> zRow = simplexTable.getZRow();
-        return zRow.stream()
-                .limit(zRow.size() - 1)
-                .noneMatch(f -> f.compareTo(Fraction.ZERO) < 0);
+        return Arrays.stream(simplexTable.getActiveColumns())
+                .noneMatch(j -> zRow.get(j).compareTo(Fraction.ZERO) < 0);
     }
 
     private void performPivotOperationPhaseTwo() {
-        List<List<Fraction>> rows = simplexTable.getRows();
         int row = simplexTable.getPivot().getRow();
         int col = simplexTable.getPivot().getColumn();
-        List<Fraction> pivotRow = new ArrayList<>(rows.get(row));
-        Fraction pivotVal = pivotRow.get(col);
-
-        List<Fraction> newRow = new ArrayList<>();
-        for (Fraction value : pivotRow) {
-            newRow.add(value.divide(pivotVal));
+        if (leavingAtUpper) {
+            complementBasic(row);
+            leavingAtUpper = false;
         }
-        rows.set(row, newRow);
 
-        // Обновление остальных строк
-        for (int i = 0; i < rows.size(); i++) {
-            if (i == row) continue;
+        pricingStrategy.beforePivot(simplexTable.getRows(), row, col, basis.get(row));
+        eliminate(row, col, false);
 
-            List<Fraction> currentRow = rows.get(i);
-            Fraction factor = currentRow.get(col);
-            List<Fraction> updatedRow = new ArrayList<>();
+        // Обновление базиса; вышедшая искусственная переменная больше не может войти в базис
+        basis.set(row, col);
+        List<Fraction> zRow = simplexTable.getZRow();
+        basis.artificialColumns()
+                .filter(var -> var != col && !basis.isBasic(var))
+                .forEach(var -> zRow.set(var, Fraction.ZERO));
+    }
 
-            for (int j = 0; j < currentRow.size(); j++) {
-                Fraction result = currentRow.get(j).subtract(factor.multiply(newRow.get(j)));
-                updatedRow.add(result);
-            }
+    @Override
+    public SolutionStatus solve() {
+        if (listener != SimplexListener.NONE) {
+            listener.onCanonicalForm(explicitCanonicalForm(), zCoefficients);
+        }
 
-            rows.set(i, updatedRow);
+        if (upperBounds != null) {
+            for (int j = 0; j < originalVarsCount; j++) {
+                if (upperBounds[j] != null && upperBounds[j].signum() < 0) {
+                    listener.onTermination(SolutionStatus.INFEASIBLE,
+                            "\nThe upper bound of x" + (j + 1) + " is below its lower bound, the solution is impossible.");
+                    return status = SolutionStatus.INFEASIBLE;
+                }
+            }
         }
 
-        // Обновление базиса
-        basis.set(row, col);
-        restoreOriginalZRow();
-    }
+        if (startingBasis != null) {
+            SolutionStatus warmStatus = warmStart();
+            if (warmStatus != null) {
+                return warmStatus;
+            }
+            // Базис не подошёл: обычный запуск с искусственным базисом
+            buildInitialSimplexTable();
+        }
 
-    public void solve() {
         // Phase I
+        updateMRow();
+        pricingStrategy.reset(simplexTable.getRows().getFirst().size() - 1);
         while (true) {
-            updateMRow();
             List<Fraction> mRow = simplexTable.getMRow();
 
             if (mRow.stream()
@@ -483,17 +808,33 @@ public class SimplexSolver {
                     .limit(mRow.size() - 1)
                     .allMatch(x -> x.compareTo(Fraction.ZERO) >= 0)) {
 
-                System.out.println("\nThe system of constraints is inconsistent: only positive values remain in the M-row, and the solution is impossible.");
-                return;
+                // Сумма искусственных переменных уже нулевая: вырожденный, но допустимый базис
+                if (mRow.getLast().equals(Fraction.ZERO)) {
+                    break;
+                }
+                listener.onTermination(SolutionStatus.INFEASIBLE,
+                        "\nThe system of constraints is inconsistent: only positive values remain in the M-row, and the solution is impossible.");
+                return status = SolutionStatus.INFEASIBLE;
+            }
+
+            if (iteration > maxIterations) {
+                return terminateOnIterationLimit();
             }
 
             findPivot();
+            if (boundFlip) {
+                flipBound(simplexTable.getPivot().getColumn());
+                continue;
+            }
             if (simplexTable.getPivot().getRow() == null || simplexTable.getPivot().getColumn() == null) {
-                System.out.println("\nThere is no feasible solution or the solution is not constrained.");
-                return;
+                listener.onTermination(SolutionStatus.INFEASIBLE,
+                        "\nThere is no feasible solution or the solution is not constrained.");
+                return status = SolutionStatus.INFEASIBLE;
             }
 
-            simplexTable.printFirstPhase(basis, zCoefficients.size(), artificialVars.size(), iteration);
+            listener.onPivotChosen(simplexTable.getPivot().getRow(), simplexTable.getPivot().getColumn());
+            listener.onPhaseOneIteration(simplexTable, basis, zCoefficients.size(), basis.artificialCount(), iteration);
+            trackDegeneracy();
             performPivotOperation();
 //            if (simplexTable.getMRow().stream() // Опять смотрим на mRow
 //                    .limit(mRow.size() - 1)
@@ -506,45 +847,61 @@ public class SimplexSolver {
 
         for (int i = 0; i < basis.size(); i++) {
             int var = basis.get(i);
-            if (!simplexTable.getRows().get(i).getLast().equals(Fraction.ZERO) && artificialVars.contains(var)) {
-                System.out.println("No feasible solution (artificial variables remain in the basis with non-zero values)");
-                return;
+            if (!simplexTable.getRows().get(i).getLast().equals(Fraction.ZERO) && basis.isArtificial(var)) {
+                listener.onTermination(SolutionStatus.INFEASIBLE,
+                        "No feasible solution (artificial variables remain in the basis with non-zero values)");
+                return status = SolutionStatus.INFEASIBLE;
             }
         }
 
         // Phase II
         removeArtificialVars();
         restoreOriginalZRow();
+        return solvePhaseTwo();
+    }
+
+    private SolutionStatus solvePhaseTwo() {
+        pricingStrategy.reset(simplexTable.getRows().getFirst().size() - 1);
         simplexTable.setPivot(new Pivot());
 
-        System.out.print("\nPhase I is complete. Moving on to Phase II (optimization of the original objective function)\n");
-        simplexTable.printSecondPhase(basis, iteration);
+        listener.onPhaseTwoStarted(simplexTable, basis, iteration);
 
         while (!isOptimal()) {
+            if (iteration > maxIterations) {
+                return terminateOnIterationLimit();
+            }
+
             findPivot();
+            if (boundFlip) {
+                flipBound(simplexTable.getPivot().getColumn());
+                continue;
+            }
             Integer row = simplexTable.getPivot().getRow();
             Integer col = simplexTable.getPivot().getColumn();
 
             if (row == null || col == null) {
-                System.out.println("The optimal solution is unattainable.");
-                return;
+                listener.onTermination(SolutionStatus.UNBOUNDED, "The optimal solution is unattainable.");
+                return status = SolutionStatus.UNBOUNDED;
             }
 
+            listener.onPivotChosen(row, col);
+            trackDegeneracy();
             performPivotOperationPhaseTwo();
             iteration++;
-            simplexTable.printSecondPhase(basis, iteration);
+            listener.onPhaseTwoIteration(simplexTable, basis, iteration);
         }
 
-        System.out.println("\nIteration " + iteration + "(first optimal solution):");
-        simplexTable.printSecondPhase(basis, iteration);
+        finalBasis = exportBasis();
         List<Fraction> firstSolution = getCurrentSolution();
-        printSolution();
+        solution = firstSolution;
+        zValue = currentZValue();
+        listener.onSolution(simplexTable, basis, firstSolution, zValue, iteration, false);
 
         // Ищем альтернативные решения
         List<Fraction> zRow = simplexTable.getZRow();
         List<Integer> nonBasic = new ArrayList<>();
-        for (int j = 0; j < zRow.size() - 1; j++) {
-            if (!basis.contains(j)) {
+        for (int j : simplexTable.getActiveColumns()) {
+            if (!basis.isBasic(j) && !basis.isArtificial(j)) {
                 nonBasic.add(j);
             }
         }
@@ -558,188 +915,681 @@ public class SimplexSolver {
 
         List<Fraction> secondSolution = null;
         for (int col : alternativeCols) {
-            List<Fraction> ratios = new ArrayList<>();
-            int minIdx = Integer.MAX_VALUE;
-            Fraction minFraction = Fraction.MAX_VALUE;
+            int minIdx = -1;  // -1 — ни одна строка не ограничивает шаг
+            Fraction minFraction = null;
+            boolean minAtUpper = false;
+            boolean artificialBlocks = false;  // искусственная переменная в базисе должна остаться нулевой
             for (int i = 0; i < simplexTable.getRows().size(); i++) {
                 List<Fraction> row = simplexTable.getRows().get(i);
                 Fraction aij = row.get(col);
+                Fraction upper = upperBound(basis.get(i));
+                artificialBlocks |= aij.signum() != 0 && basis.isArtificial(basis.get(i));
                 if (aij.compareTo(Fraction.ZERO) > 0) {
                     Fraction ratio = row.getLast().divide(row.get(col));
-                    ratios.add(ratio);
-                    if (ratio.compareTo(minFraction) < 0) {
+                    if (minIdx < 0 || ratio.compareTo(minFraction) < 0) {
                         minFraction = ratio;
                         minIdx = i;
+                        minAtUpper = false;
+                    }
+                } else if (aij.signum() < 0 && upper != null) {
+                    // Базисная переменная растёт до своей верхней границы
+                    Fraction ratio = upper.subtract(row.getLast()).divide(aij.negate());
+                    if (minIdx < 0 || ratio.compareTo(minFraction) < 0) {
+                        minFraction = ratio;
+                        minIdx = i;
+                        minAtUpper = true;
                     }
                 }
             }
 
-            if (ratios.isEmpty()) continue;
+            Fraction enteringUpper = upperBound(col);
+            boolean flip = enteringUpper != null && (minIdx < 0 || enteringUpper.compareTo(minFraction) < 0);
+            if (minIdx < 0 && !flip || flip && artificialBlocks) continue;
 
             int row = minIdx;
-            List<List<Fraction>> savedRows = new ArrayList<>(simplexTable.getRows());
+            List<List<Fraction>> savedRows = new ArrayList<>();
+            for (List<Fraction> tableRow : simplexTable.getRows()) {
+                savedRows.add(SparseRow.of(tableRow));
+            }
             List<Fraction> savedZRow = new ArrayList<>(simplexTable.getZRow());
-            List<Integer> savedBasis = new ArrayList<>(basis);
+            Basis savedBasis = new Basis(basis);
+            boolean[] savedComplemented = complemented.clone();
             int savedIteration = iteration;
 
-            simplexTable.setPivot(new Pivot(row, col));
-            simplexTable.printSecondPhase(basis, iteration);
-            performPivotOperationPhaseTwo();
+            if (flip) {
+                listener.onBoundFlip(col);
+                complementColumn(col);
+            } else {
+                simplexTable.setPivot(new Pivot(row, col));
+                listener.onPivotChosen(row, col);
+                listener.onPhaseTwoIteration(simplexTable, basis, iteration);
+                leavingAtUpper = minAtUpper;
+                performPivotOperationPhaseTwo();
+            }
             iteration++;
 
-            System.out.printf("%nИтерация %d (альтернативное оптимальное решение):%n", iteration);
-            simplexTable.printSecondPhase(basis, iteration);
             secondSolution = getCurrentSolution();
-            printSolution();
+            listener.onSolution(simplexTable, basis, secondSolution, zValue, iteration, true);
 
             simplexTable.setRows(savedRows);
             simplexTable.setZRow(savedZRow);
             this.basis = savedBasis;
+            this.complemented = savedComplemented;
             this.iteration = savedIteration;
             break;
         }
 
-        if (secondSolution != null) {
-            System.out.println("\nThere are infinitely many optimal solutions.");
-            System.out.println("The general form of the solutions can be represented as:");
-            System.out.println("l * x1 + (1 - l) * x2, where 0 <= l <= 1");
-            System.out.printf("x1 = %s%n", formatSolution(firstSolution));
-            System.out.printf("x2 = %s%n", formatSolution(secondSolution));
+        alternativeSolution = secondSolution;
+        status = secondSolution != null ? SolutionStatus.ALTERNATIVE_OPTIMA : SolutionStatus.OPTIMAL;
+        listener.onResult(status, firstSolution, secondSolution, zValue);
+        return status;
+    }
+
+    /*
+     * Тёплый старт: переменные startingBasis вводятся в базис исходной таблицы, затем
+     * оставшиеся искусственные переменные выводятся из базиса. Допустимый базис сразу
+     * переходит к Phase II, двойственно допустимый — к двойственному симплекс-методу.
+     * null означает, что базис не подходит и нужен обычный запуск.
+     */
+    private SolutionStatus warmStart() {
+        if (!installBasis()) {
+            return null;
+        }
 
-            Fraction z = simplexTable.getZRow().getLast();
-            if (goal == Goal.MIN) {
-                z = z.multiply(-1);
+        boolean primalFeasible = true;
+        for (int i = 0; i < basis.size(); i++) {
+            primalFeasible &= boundViolation(i).signum() == 0;
+        }
+        if (!primalFeasible) {
+            restoreOriginalZRow();
+            // Небазисные переменные с отрицательной оценкой переводятся на верхнюю границу
+            List<Fraction> zRow = simplexTable.getZRow();
+            for (int j : simplexTable.getActiveColumns()) {
+                if (zRow.get(j).signum() < 0 && upperBound(j) != null
+                        && !basis.isBasic(j) && !basis.isArtificial(j)) {
+                    complementColumn(j);
+                }
             }
+            if (!isDualFeasible()) {
+                return null;
+            }
+        }
 
-            List<String> varExprs = getGeneralSolution(firstSolution, secondSolution);
-            System.out.println("\nGeneral solution in open form:");
-            System.out.println("(" + String.join(", ", varExprs) + ")");
-            System.out.printf("Z = %s (the same for all solutions)%n", z);
-        } else {
-            System.out.println("\nThere is only one solution.");
+        removeArtificialVars();
+        restoreOriginalZRow();
+        if (!primalFeasible) {
+            SolutionStatus dualStatus = runDualSimplex();
+            if (dualStatus != null) {
+                return dualStatus;
+            }
         }
+        return solvePhaseTwo();
     }
 
-    private List<String> getGeneralSolution(List<Fraction> firstSolution, List<Fraction> secondSolution) {
-        List<String> varExprs = new ArrayList<>();
-        for (int i = 0; i < firstSolution.size(); i++) {
-            Fraction x1 = firstSolution.get(i);
-            Fraction x2 = secondSolution.get(i);
-            Fraction delta = x1.subtract(x2);
+    private boolean installBasis() {
+        List<List<Fraction>> rows = simplexTable.getRows();
+        Set<Integer> targets = new LinkedHashSet<>();
+        for (int var : startingBasis) {
+            int col = decodeBasisVariable(var);
+            if (col >= 0) {
+                targets.add(col);
+            }
+        }
 
-            if (delta.equals(Fraction.ZERO)) {
-                varExprs.add(x2.toString());
-            } else if (x2.equals(Fraction.ZERO)) {
-                varExprs.add(delta + "l");
-            } else {
-                String sign = delta.compareTo(Fraction.ZERO) > 0 ? "+" : "-";
-                varExprs.add(String.format("%s %s %sl", x2, sign, delta.abs()));
+        for (int col : targets) {
+            if (basis.isBasic(col)) continue;
+            // Строка, базисная переменная которой не нужна; сначала вытесняются искусственные
+            int row = -1;
+            for (int i = 0; i < rows.size(); i++) {
+                if (targets.contains(basis.get(i)) || rows.get(i).get(col).signum() == 0) continue;
+                if (row < 0 || (basis.isArtificial(basis.get(i)) && !basis.isArtificial(basis.get(row)))) {
+                    row = i;
+                }
+            }
+            if (row >= 0) {
+                pivotBasis(row, col);
+            }
+        }
+
+        // Искусственные переменные, оставшиеся в базисе, заменяются любым ненулевым столбцом строки
+        for (int i = 0; i < rows.size(); i++) {
+            if (!basis.isArtificial(basis.get(i))) continue;
+            List<Fraction> row = rows.get(i);
+            int col = -1;
+            for (int j = 0; j < row.size() - 1 && col < 0; j++) {
+                if (row.get(j).signum() != 0 && !basis.isArtificial(j) && !basis.isBasic(j)) {
+                    col = j;
+                }
+            }
+            if (col >= 0) {
+                pivotBasis(i, col);
+            } else if (row.getLast().signum() != 0) {
+                return false;
             }
         }
-        return varExprs;
+        return true;
     }
 
-    private List<Fraction> getCurrentSolution() {
+    private void pivotBasis(int row, int col) {
+        simplexTable.setPivot(new Pivot(row, col));
+        listener.onPivotChosen(row, col);
+        eliminate(row, col, true);
+        basis.set(row, col);
+        iteration++;
+    }
+
+    private boolean isDualFeasible() {
+        List<Fraction> zRow = simplexTable.getZRow();
+        for (int j : simplexTable.getActiveColumns()) {
+            if (!basis.isArtificial(j) && zRow.get(j).signum() < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Двойственный симплекс-метод: из базиса выводится переменная с наименьшим отрицательным
+     * значением, входящая выбирается по минимуму z_j / |a_rj| среди a_rj < 0, так что Z-строка
+     * остаётся неотрицательной. null — базис стал допустимым.
+     */
+    private SolutionStatus runDualSimplex() {
         List<List<Fraction>> rows = simplexTable.getRows();
-        if (rows.isEmpty()) return Collections.emptyList();
+        while (true) {
+            int row = -1;
+            Fraction maxViolation = Fraction.ZERO;
+            for (int i = 0; i < rows.size(); i++) {
+                Fraction violation = boundViolation(i);
+                if (violation.compareTo(maxViolation) > 0) {
+                    maxViolation = violation;
+                    row = i;
+                }
+            }
+            if (row < 0) {
+                return null;
+            }
+            if (iteration > maxIterations) {
+                return terminateOnIterationLimit();
+            }
+            if (rows.get(row).getLast().signum() > 0) {
+                // Значение выше верхней границы: после замены u - x оно становится отрицательным
+                complementBasic(row);
+            }
 
-        int numVars = rows.getFirst().size() - 1;
-        List<Fraction> solution = new ArrayList<>(Collections.nCopies(numVars, Fraction.ZERO));
+            int col = findDualPivotColumn(row);
+            if (col < 0) {
+                listener.onTermination(SolutionStatus.INFEASIBLE,
+                        "\nThe system of constraints is inconsistent: a row with a negative value has no negative coefficients.");
+                return status = SolutionStatus.INFEASIBLE;
+            }
 
-        for (int i = 0; i < basis.size(); i++) {
-            int var = basis.get(i);
-            if (var < numVars) {
-                solution.set(var, rows.get(i).getLast());
+            simplexTable.setPivot(new Pivot(row, col));
+            listener.onPivotChosen(row, col);
+            leavingAtUpper = false;
+            performPivotOperationPhaseTwo();
+            iteration++;
+            listener.onPhaseTwoIteration(simplexTable, basis, iteration);
+        }
+    }
+
+    // Насколько значение базисной переменной строки выходит за границы [0, u]
+    private Fraction boundViolation(int row) {
+        Fraction value = simplexTable.getRows().get(row).getLast();
+        if (value.signum() < 0) {
+            return value.negate();
+        }
+        Fraction upper = upperBound(basis.get(row));
+        return upper != null && value.compareTo(upper) > 0 ? value.subtract(upper) : Fraction.ZERO;
+    }
+
+    private int findDualPivotColumn(int row) {
+        List<Fraction> pivotRow = simplexTable.getRows().get(row);
+        List<Fraction> zRow = simplexTable.getZRow();
+        int col = -1;
+        Fraction minRatio = null;
+        for (int j = 0; j < pivotRow.size() - 1; j++) {
+            Fraction a_rj = pivotRow.get(j);
+            if (a_rj.signum() >= 0 || basis.isArtificial(j)) continue;
+            Fraction ratio = zRow.get(j).divide(a_rj.negate());
+            if (minRatio == null || ratio.compareTo(minRatio) < 0) {
+                minRatio = ratio;
+                col = j;
             }
         }
+        return col;
+    }
 
-        return solution.subList(0, originalVarsCount);
+    /*
+     * Номера переменных базиса не зависят от внутренней нумерации таблицы:
+     * 0..n-1 — исходные переменные, n + i — дополнительная переменная i-го ограничения
+     * (n — число переменных задачи), -1 — искусственная переменная.
+     */
+    private List<Integer> exportBasis() {
+        List<Integer> exported = new ArrayList<>(basis.size());
+        for (int var : basis) {
+            if (basis.isArtificial(var)) {
+                exported.add(-1);
+                continue;
+            }
+            if (var < originalVarsCount) {
+                exported.add(var);
+                continue;
+            }
+            int slackRow = -1;
+            for (int i = 0; i < slackColumns.length; i++) {
+                if (slackColumns[i] == var) slackRow = i;
+            }
+            exported.add(slackRow < 0 ? -1 : originalVarsCount + slackRow);
+        }
+        return exported;
     }
 
-    private String formatSolution(List<Fraction> solution) {
-        return "(" + solution.stream()
-                .map(Fraction::toString)
-                .collect(Collectors.joining(", ")) + ")";
+    // Столбец таблицы для номера переменной базиса или -1, если такого столбца нет
+    private int decodeBasisVariable(int var) {
+        if (var >= 0 && var < originalVarsCount) {
+            return var;
+        } else if (var >= originalVarsCount && var - originalVarsCount < slackColumns.length) {
+            return slackColumns[var - originalVarsCount];
+        }
+        return -1;
     }
 
-    private void printCanonicalForm() {
-        System.out.println("\nCanonical form:\n");
+    /*
+     * Решение двойственным симплекс-методом от базиса из дополнительных переменных.
+     * Подходит, когда все ограничения — неравенства, а оценки этого базиса неотрицательны
+     * (например, минимизация с неотрицательными коэффициентами и ограничениями ">=").
+     * В остальных случаях выполняется обычное решение.
+     */
+    public SolutionStatus solveDual() {
+        List<Integer> slackBasis = new ArrayList<>();
+        for (int i = 0; i < slackColumns.length; i++) {
+            slackBasis.add(originalVarsCount + i);
+        }
+        startingBasis = slackBasis;
+        return solve();
+    }
 
-        for (Equation equation : equations) {
-            List<Fraction> coefficients = equation.getCoefficients();
-            Fraction b = equation.getResult();
+    /*
+     * Изменение правой части ограничения после решения. Если у строки есть дополнительная
+     * переменная, её столбец в таблице равен столбцу обратной базисной матрицы, и новые
+     * значения базисных переменных получаются без пересчёта таблицы; затем допустимость
+     * восстанавливается двойственным симплекс-методом.
+     */
+    public SolutionStatus changeResult(int constraint, Fraction value) {
+        Equation original = problem.getEquations().get(constraint);
+        Fraction delta = value.subtract(original.getResult());
+        original.setResult(value);
+
+        int slack = decodeBasisVariable(originalVarsCount + constraint);
+        if (!isSolved() || slack < 0 || hasBasicArtificials()) {
+            return resolveFromBasis();
+        }
+
+        // Строка могла быть умножена на -1 в канонической форме, знак дополнительной переменной -1 у ">="
+        Equation canonical = equations.get(constraint);
+        boolean negated = negatedRows[constraint];
+        Fraction shift = canonical.getSign().equals("<=") == negated ? delta.negate() : delta;
+        canonical.setResult(canonical.getResult().add(negated ? delta.negate() : delta));
+
+        List<List<Fraction>> rows = simplexTable.getRows();
+        for (List<Fraction> row : rows) {
+            Fraction factor = row.get(slack);
+            if (factor.signum() != 0) {
+                row.set(row.size() - 1, row.getLast().add(factor.multiply(shift)));
+            }
+        }
+        List<Fraction> zRow = simplexTable.getZRow();
+        zRow.set(zRow.size() - 1, zRow.getLast().add(zRow.get(slack).multiply(shift)));
+        return reoptimize();
+    }
 
-            List<String> terms = getTerms(coefficients);
+    /*
+     * Добавление ограничения после решения. Неравенство записывается в текущую таблицу:
+     * его дополнительная переменная становится базисной, базисные столбцы исключаются из
+     * новой строки, а нарушенное ограничение исправляется двойственным симплекс-методом.
+     * Выключенные нулевые столбцы, которые встречаются в новой строке, снова включаются.
+     * Равенства решаются заново от текущего базиса.
+     */
+    public SolutionStatus addConstraint(Equation equation) {
+        return addConstraints(List.of(equation));
+    }
+
+    // Несколько ограничений сразу: таблица дополняется всеми строками, затем одна дооптимизация
+    public SolutionStatus addConstraints(List<Equation> added) {
+        boolean rebuild = !isSolved() || hasBasicArtificials();
+        for (Equation equation : added) {
+            List<Fraction> coefficients = equation.getCoefficients();
+            for (int j = 0; j < coefficients.size(); j++) {
+                if (coefficients.get(j).signum() == 0) continue;
+                if (j >= originalVarsCount) {
+                    throw new IllegalArgumentException("Constraint refers to variable " + (j + 1)
+                            + ", but the problem has " + originalVarsCount + " variables");
+                }
+            }
+            rebuild |= equation.getSign().equals("=");
+        }
 
-            String equationStr = String.join(" ", terms);
-            if (equationStr.startsWith("+ ")) {
-                equationStr = equationStr.substring(2);
+        for (Equation equation : added) {
+            Equation copy = new Equation(equation.getCoefficients(), equation.getSign(), equation.getResult());
+            problem.getEquations().add(copy);
+            if (rebuild) {
+                if (finalBasis != null) {
+                    // Новая строка получает в базисе свою дополнительную переменную
+                    finalBasis = new ArrayList<>(finalBasis);
+                    finalBasis.add(originalVarsCount + problem.getEquations().size() - 1);
+                }
+            } else {
+                appendRow(copy);
             }
-            equationStr = equationStr.replace("+ -", "- ");
+        }
+        return rebuild ? resolveFromBasis() : reoptimize();
+    }
 
-            System.out.printf("%s = %s%n", equationStr, b);
+    private void appendRow(Equation added) {
+        List<Fraction> coefficients = added.getCoefficients();
+        // Каноническая форма новой строки: неотрицательная правая часть и дополнительная переменная.
+        // Её столбец дописывается в конец таблицы, поэтому номера прежних столбцов не меняются
+        List<List<Fraction>> rows = simplexTable.getRows();
+        List<Fraction> zRow = simplexTable.getZRow();
+        int slackColumn = zRow.size() - 1;
+        SparseRow canonicalRow = SparseRow.of(coefficients);
+        canonicalRow.resize(originalVarsCount);
+        String sign = added.getSign();
+        Fraction result = added.getResult();
+        for (int k = 0; k < canonicalRow.nonZeroCount(); k++) {
+            result = result.subtract(canonicalRow.valueAt(k).multiply(lowerBounds[canonicalRow.indexAt(k)]));
+        }
+        negatedRows = Arrays.copyOf(negatedRows, negatedRows.length + 1);
+        if (result.signum() < 0) {
+            negatedRows[negatedRows.length - 1] = true;
+            canonicalRow.divideInPlace(Fraction.MINUS_ONE);
+            result = result.negate();
+            sign = sign.equals("<=") ? ">=" : "<=";
+        }
+        Fraction slackSign = sign.equals("<=") ? Fraction.ONE : Fraction.MINUS_ONE;
+        equations.add(new Equation(canonicalRow, sign, result));
+        // Искусственные столбцы между прежними и новым получают нулевую стоимость
+        while (zCoefficients.size() <= slackColumn) {
+            zCoefficients.add(Fraction.ZERO);
+        }
+        slackColumns = Arrays.copyOf(slackColumns, slackColumns.length + 1);
+        slackColumns[slackColumns.length - 1] = slackColumn;
+
+        int width = slackColumn + 1;
+        for (List<Fraction> row : rows) {
+            Fraction rowResult = row.set(slackColumn, Fraction.ZERO);
+            ((SparseRow) row).resize(width + 1);
+            row.set(width, rowResult);
+        }
+        zRow.add(zRow.set(slackColumn, Fraction.ZERO));
+
+        SparseRow tableRow = new SparseRow(width + 1, canonicalRow.nonZeroCount() + 1);
+        Fraction tableResult = result;
+        for (int k = 0; k < canonicalRow.nonZeroCount(); k++) {
+            int column = canonicalRow.indexAt(k);
+            Fraction value = canonicalRow.valueAt(k);
+            if (complemented[column]) {
+                // Переменная на верхней границе входит в строку как u - x
+                tableResult = tableResult.subtract(value.multiply(upperBounds[column]));
+                value = value.negate();
+            }
+            tableRow.appendNonZero(column, value);
+            simplexTable.activate(column);
         }
+        tableRow.appendNonZero(slackColumn, slackSign);
+        tableRow.set(tableRow.size() - 1, tableResult);
+        tableRow.divideInPlace(slackSign);
+        for (int i = 0; i < rows.size(); i++) {
+            Fraction factor = tableRow.get(basis.get(i));
+            if (factor.signum() != 0) {
+                tableRow.subtractMultipleInPlace(factor, (SparseRow) rows.get(i));
+            }
+        }
+        rows.add(tableRow);
+        basis.add(slackColumn);
+    }
+
+    private boolean isSolved() {
+        return status == SolutionStatus.OPTIMAL || status == SolutionStatus.ALTERNATIVE_OPTIMA;
+    }
 
-        List<String> zTerms = getTerms(zCoefficients);
+    // Искусственная переменная в базисе обязана оставаться нулевой, а двойственный шаг может это нарушить
+    private boolean hasBasicArtificials() {
+        List<List<Fraction>> rows = simplexTable.getRows();
+        for (int i = 0; i < rows.size(); i++) {
+            if (!basis.isArtificial(basis.get(i))) continue;
+            SparseRow row = (SparseRow) rows.get(i);
+            for (int k = 0; k < row.nonZeroCount(); k++) {
+                int j = row.indexAt(k);
+                if (j < row.size() - 1 && !basis.isArtificial(j)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
 
-        String zEquation = String.join(" ", zTerms);
-        if (zEquation.startsWith("+ ")) {
-            zEquation = zEquation.substring(2);
+    // Оптимальный базис остался двойственно допустимым: восстанавливается только допустимость
+    private SolutionStatus reoptimize() {
+        solution = null;
+        alternativeSolution = null;
+        zValue = null;
+        SolutionStatus dualStatus = runDualSimplex();
+        if (dualStatus != null) {
+            return dualStatus;
         }
-        zEquation = zEquation.replace("+ -", "- ");
+        return solvePhaseTwo();
+    }
 
-        System.out.println("\nZ-function (for simplex-method):");
-        System.out.printf("Z = %s%n%n", zEquation);
+    // Повторное решение изменённой задачи с тёплым стартом от последнего оптимального базиса
+    private SolutionStatus resolveFromBasis() {
+        List<Integer> basisHint = finalBasis;
+        initialize();
+        startingBasis = basisHint;
+        status = null;
+        solution = null;
+        alternativeSolution = null;
+        zValue = null;
+        finalBasis = null;
+        degeneratePivots = 0;
+        blandRule = false;
+        return solve();
     }
 
-    private List<String> getTerms(List<Fraction> zCoefficients) {
-        List<String> terms = new ArrayList<>();
-        for (int j = 0; j < zCoefficients.size(); j++) {
-            Fraction coeff = zCoefficients.get(j);
-            if (coeff.equals(Fraction.ZERO)) continue;
+    /*
+     * Анализ чувствительности по оптимальной таблице за один проход. Столбец дополнительной
+     * переменной строки равен (с точностью до знака) столбцу обратной базисной матрицы, а её
+     * оценка в Z-строке — двойственной оценке строки. Для равенств без дополнительной
+     * переменной базисная матрица один раз раскладывается в LU, и те же величины дают btran/ftran.
+     */
+    public SensitivityReport analyzeSensitivity() {
+        if (!isSolved()) {
+            throw new IllegalStateException("Sensitivity analysis requires an optimal solution");
+        }
+        List<List<Fraction>> rows = simplexTable.getRows();
+        List<Fraction> zRow = simplexTable.getZRow();
+        int rowCount = rows.size();
+        int width = zRow.size() - 1;
+        boolean max = goal == Goal.MAX;
+
+        BasisFactorization factorization = null;
+        Fraction[] equalityDuals = null;
+        if (Arrays.stream(slackColumns).anyMatch(column -> column < 0)) {
+            factorization = new BasisFactorization(rowCount, Integer.MAX_VALUE);
+            Fraction[][] columns = new Fraction[rowCount][];
+            Fraction[] basicCosts = new Fraction[rowCount];
+            for (int r = 0; r < rowCount; r++) {
+                columns[r] = canonicalColumn(basis.get(r));
+                basicCosts[r] = tableCost(basis.get(r));
+            }
+            factorization.factorize(columns);
+            equalityDuals = factorization.btran(basicCosts);
+        }
+
+        List<Fraction> shadowPrices = new ArrayList<>(rowCount);
+        List<SensitivityReport.Range> resultRanges = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            // Столбец обратной базисной матрицы и двойственная оценка строки канонической формы
+            Fraction[] inverseColumn;
+            Fraction dual;
+            if (slackColumns[i] >= 0) {
+                int slack = slackColumns[i];
+                boolean minusSlack = equations.get(i).getSign().equals(">=");
+                inverseColumn = new Fraction[rowCount];
+                for (int r = 0; r < rowCount; r++) {
+                    Fraction value = rows.get(r).get(slack);
+                    inverseColumn[r] = minusSlack ? value.negate() : value;
+                }
+                dual = minusSlack ? zRow.get(slack).negate() : zRow.get(slack);
+            } else {
+                Fraction[] unit = new Fraction[rowCount];
+                Arrays.fill(unit, Fraction.ZERO);
+                unit[i] = Fraction.ONE;
+                inverseColumn = factorization.ftran(unit);
+                dual = equalityDuals[i];
+            }
+            // Переход от канонической формы к исходной: знак строки и направление оптимизации
+            shadowPrices.add(negatedRows[i] == max ? dual.negate() : dual);
+
+            // Базис остаётся допустимым, пока 0 <= x_B + delta * B^-1 e_i <= u_B
+            Fraction lower = null;
+            Fraction upper = null;
+            for (int r = 0; r < rowCount; r++) {
+                Fraction u = inverseColumn[r];
+                if (u.signum() == 0) continue;
+                Fraction value = rows.get(r).getLast();
+                if (basis.isArtificial(basis.get(r))) {
+                    // Искусственная переменная обязана остаться нулевой
+                    lower = Fraction.ZERO;
+                    upper = Fraction.ZERO;
+                    break;
+                }
+                Fraction bound = value.negate().divide(u);
+                Fraction basicUpper = upperBound(basis.get(r));
+                Fraction upperLimit = basicUpper == null ? null : basicUpper.subtract(value).divide(u);
+                if (u.signum() > 0) {
+                    lower = lower == null || bound.compareTo(lower) > 0 ? bound : lower;
+                    if (upperLimit != null) {
+                        upper = upper == null || upperLimit.compareTo(upper) < 0 ? upperLimit : upper;
+                    }
+                } else {
+                    upper = upper == null || bound.compareTo(upper) < 0 ? bound : upper;
+                    if (upperLimit != null) {
+                        lower = lower == null || upperLimit.compareTo(lower) > 0 ? upperLimit : lower;
+                    }
+                }
+            }
+            resultRanges.add(shiftedRange(problem.getEquations().get(i).getResult(), lower, upper, negatedRows[i]));
+        }
+
+        List<Fraction> reducedCosts = new ArrayList<>(originalVarsCount);
+        List<SensitivityReport.Range> objectiveRanges = new ArrayList<>(originalVarsCount);
+        for (int j = 0; j < originalVarsCount; j++) {
+            Fraction estimate = zRow.get(j);
+            if (complemented[j]) {
+                // Столбец переменной на верхней границе хранит оценку с обратным знаком
+                estimate = estimate.negate();
+            }
+            reducedCosts.add(max ? estimate.negate() : estimate);
+
+            // Оценки небазисных столбцов должны остаться неотрицательными (у верхней границы — неположительными)
+            Fraction lower = complemented[j] ? estimate : null;
+            Fraction upper = complemented[j] ? null : estimate;
+            int row = basis.rowOf(j);
+            if (row >= 0) {
+                lower = null;
+                upper = null;
+                SparseRow tableRow = (SparseRow) rows.get(row);
+                for (int k = 0; k < tableRow.nonZeroCount(); k++) {
+                    int col = tableRow.indexAt(k);
+                    if (col >= width || basis.isBasic(col) || basis.isArtificial(col)) continue;
+                    Fraction a = tableRow.valueAt(k);
+                    Fraction bound = zRow.get(col).divide(a).negate();
+                    if (a.signum() > 0) {
+                        lower = lower == null || bound.compareTo(lower) > 0 ? bound : lower;
+                    } else {
+                        upper = upper == null || bound.compareTo(upper) < 0 ? bound : upper;
+                    }
+                }
+                if (complemented[j]) {
+                    // В таблице стоимость базисной переменной u - x равна -c_j
+                    Fraction swap = lower;
+                    lower = upper == null ? null : upper.negate();
+                    upper = swap == null ? null : swap.negate();
+                }
+            }
+            objectiveRanges.add(shiftedRange(problem.getZCoefficients().get(j), lower, upper, !max));
+        }
+
+        return new SensitivityReport(shadowPrices, reducedCosts, objectiveRanges, resultRanges);
+    }
 
-            String sign = coeff.getNumerator().intValue() > 0 ? "+" : "-";
-            if (coeff.abs().equals(Fraction.ONE)) {
-                terms.add(String.format("%s x%d", sign, j + 1));
+    // Столбец базисной переменной в канонической форме (искусственная — единичный столбец своей строки)
+    private Fraction[] canonicalColumn(int var) {
+        Fraction[] column = new Fraction[equations.size()];
+        int origin = basis.originOf(var);
+        for (int i = 0; i < equations.size(); i++) {
+            if (origin >= 0) {
+                column[i] = origin == i ? Fraction.ONE : Fraction.ZERO;
             } else {
-                terms.add(String.format("%s %sx%d", sign, coeff.abs(), j + 1));
+                Fraction value = canonicalCoefficient(i, var);
+                column[i] = var < originalVarsCount && complemented[var] ? value.negate() : value;
             }
         }
-        return terms;
+        return column;
     }
 
-    public void printSolution() {
-        System.out.println("\nOptimal solution:");
+    // Диапазон base + [lower, upper] (или base - [upper, lower] при flip); null — бесконечность
+    private static SensitivityReport.Range shiftedRange(Fraction base, Fraction lower, Fraction upper, boolean flip) {
+        if (flip) {
+            return new SensitivityReport.Range(upper == null ? null : base.subtract(upper),
+                    lower == null ? null : base.subtract(lower));
+        }
+        return new SensitivityReport.Range(lower == null ? null : base.add(lower),
+                upper == null ? null : base.add(upper));
+    }
+
+    private SolutionStatus terminateOnIterationLimit() {
+        listener.onTermination(SolutionStatus.ITERATION_LIMIT,
+                String.format("%nIteration limit reached (%d iterations).", maxIterations));
+        return status = SolutionStatus.ITERATION_LIMIT;
+    }
 
+    private List<Fraction> getCurrentSolution() {
         List<List<Fraction>> rows = simplexTable.getRows();
-        if (rows.isEmpty()) {
-            System.out.println("The table is empty.");
-            return;
-        }
+        if (rows.isEmpty()) return Collections.emptyList();
 
-        int numVars = rows.getFirst().size() - 1; // без свободного члена
-        List<Fraction> solution = new ArrayList<>(Collections.nCopies(numVars, Fraction.ZERO));
+        int numVars = rows.getFirst().size() - 1;
+        List<Fraction> values = new ArrayList<>(Collections.nCopies(numVars, Fraction.ZERO));
 
-        // Заполняем значения базисных переменных
         for (int i = 0; i < basis.size(); i++) {
             int var = basis.get(i);
             if (var < numVars) {
-                Fraction value = rows.get(i).getLast();
-                solution.set(var, value);
+                values.set(var, rows.get(i).getLast());
             }
         }
 
-        // Выводим значения переменных
-        for (int i = 0; i < solution.size(); i++) {
-            System.out.printf("x%d = %s%n", i + 1, solution.get(i));
+        // Возврат к исходным переменным: снятие замены u - x и сдвига на нижнюю границу
+        List<Fraction> solution = new ArrayList<>(originalVarsCount);
+        for (int j = 0; j < originalVarsCount; j++) {
+            Fraction value = values.get(j);
+            if (complemented[j]) {
+                value = upperBounds[j].subtract(value);
+            }
+            solution.add(value.add(lowerBounds[j]));
         }
+        return solution;
+    }
 
-        // Вычисляем значение Z
-        Fraction zValue = simplexTable.getZRow().getLast();
-        if (goal == Goal.MIN) {
-            zValue = zValue.multiply(-1);
-        }
+    // Значение целевой функции исходной задачи
+    private Fraction currentZValue() {
+        Fraction value = simplexTable.getZRow().getLast();
+        return (goal == Goal.MIN ? value.negate() : value).add(objectiveOffset);
+    }
 
-        System.out.printf("%nZ = %s%n", zValue);
+    public void printSolution() {
+        PrintingSimplexListener printer = new PrintingSimplexListener(new PrintWriter(System.out));
+        printer.printSolution(simplexTable, basis, solution, zValue);
+        printer.flush();
     }
 }
@@ -1,117 +1,71 @@
 package ru.sibsutis.artificial_basis;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 
-import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
-
-@Getter
-@Setter
-@AllArgsConstructor
+import java.util.stream.IntStream;
+
+/**
+ * Симплекс-таблица. Столбцы не удаляются физически: нулевые столбцы и вышедшие из базиса
+ * искусственные переменные выключаются маской. У выключенного столбца нет ненулевых элементов
+ * в строках, поэтому исключение их не затрагивает, а выбор ведущего столбца просматривает
+ * только индекс активных столбцов, который перестраивается лишь после изменения маски или ширины.
+ */
 public class SimplexTable {
+    @Getter
+    @Setter
     private List<List<Fraction>> rows;
+    @Getter
+    @Setter
     private List<Fraction> zRow;
+    @Getter
+    @Setter
     private List<Fraction> mRow;
+    @Getter
+    @Setter
     private Pivot pivot;
 
-    public void printFirstPhase(List<Integer> basis, int zCount, int artificialCount, int iteration) {
-        System.out.printf("%nIteration: %d (Phase I):%n", iteration);
-        System.out.println("Simplex-table:");
-
-        List<String> headers = new ArrayList<>();
-        headers.add("b.v.");
-        headers.add("1");
-        for (int i = 0; i < rows.getFirst().size() - 1; i++) {
-            headers.add("x" + (i + 1));
-        }
-        printFormattedRow(headers);
+    private final BitSet inactiveColumns = new BitSet();
+    private int[] activeColumns;  // null — индекс нужно перестроить
+    private int indexedWidth;
 
-        for (int i = 0; i < rows.size(); i++) {
-            List<Fraction> row = rows.get(i);
-            String bp;
-            int basisIndex = basis.get(i);
-            if (basisIndex < zCount + artificialCount) {
-                bp = "x" + (basisIndex + 1);
-            } else {
-                bp = "x" + (basisIndex - zCount + 1);
-            }
-
-            List<String> rowStr = new ArrayList<>();
-            rowStr.add(bp);
-            rowStr.add(row.getLast().toString());
-            for (int j = 0; j < row.size() - 1; j++) {
-                rowStr.add(row.get(j).toString());
-            }
-            printFormattedRow(rowStr);
-        }
-
-        List<String> zStr = new ArrayList<>();
-        zStr.add("Z");
-        zStr.add(zRow.getLast().toString());
-        for (int j = 0; j < zRow.size() - 1; j++) {
-            zStr.add(zRow.get(j).toString());
-        }
-        printFormattedRow(zStr);
-
-        // Строка M (если есть)
-        if (!mRow.isEmpty()) {
-            List<String> mStr = new ArrayList<>();
-            mStr.add("M");
-            mStr.add(mRow.getLast().toString());
-            for (int j = 0; j < mRow.size() - 1; j++) {
-                mStr.add(mRow.get(j).toString());
-            }
-            printFormattedRow(mStr);
-        }
-
-        if (pivot.getColumn() != null && pivot.getRow() != null) {
-            System.out.printf("%nPivot column: x%d, pivot row: %d%n", pivot.getColumn() + 1, pivot.getRow() + 1);
-        }
+    public SimplexTable(List<List<Fraction>> rows, List<Fraction> zRow, List<Fraction> mRow, Pivot pivot) {
+        this.rows = rows;
+        this.zRow = zRow;
+        this.mRow = mRow;
+        this.pivot = pivot;
     }
 
-    public void printSecondPhase(List<Integer> basis, int iteration) {
-        System.out.printf("%nIteration %d (Phase II):%n", iteration);
-        System.out.println("Simplex-table:");
-
-        List<String> headers = new ArrayList<>();
-        headers.add("b.v.");
-        headers.add("1");
-        for (int i = 0; i < rows.getFirst().size() - 1; i++) {
-            headers.add("x" + (i + 1));
-        }
-        printFormattedRow(headers);
-
-        for (int i = 0; i < rows.size(); i++) {
-            List<Fraction> row = rows.get(i);
-            String bp = "x" + (basis.get(i) + 1);
-            List<String> rowStr = new ArrayList<>();
-            rowStr.add(bp);
-            rowStr.add(row.getLast().toString());
-            for (int j = 0; j < row.size() - 1; j++) {
-                rowStr.add(row.get(j).toString());
-            }
-            printFormattedRow(rowStr);
-        }
+    public boolean isActive(int column) {
+        return !inactiveColumns.get(column);
+    }
 
-        List<String> zStr = new ArrayList<>();
-        zStr.add("Z");
-        zStr.add(zRow.getLast().toString());
-        for (int j = 0; j < zRow.size() - 1; j++) {
-            zStr.add(zRow.get(j).toString());
+    public void deactivate(int column) {
+        if (!inactiveColumns.get(column)) {
+            inactiveColumns.set(column);
+            activeColumns = null;
         }
-        printFormattedRow(zStr);
+    }
 
-        if (pivot.getColumn() != null && pivot.getRow() != null) {
-            System.out.printf("%nPivot column: x%d, pivot row: %d%n", pivot.getColumn() + 1, pivot.getRow() + 1);
+    public void activate(int column) {
+        if (inactiveColumns.get(column)) {
+            inactiveColumns.clear(column);
+            activeColumns = null;
         }
     }
 
-    private void printFormattedRow(List<String> row) {
-        for (String cell : row) {
-            System.out.printf("%7s ", cell);
+    // Активные столбцы по возрастанию, без столбца свободных членов
+    public int[] getActiveColumns() {
+        // Дописанные в конец таблицы столбцы активны и тоже требуют перестройки индекса
+        int width = zRow.size() - 1;
+        if (activeColumns == null || indexedWidth != width) {
+            indexedWidth = width;
+            activeColumns = IntStream.range(0, width)
+                    .filter(this::isActive)
+                    .toArray();
         }
-        System.out.println();
+        return activeColumns;
     }
 }
@@ -0,0 +1,17 @@
+package ru.sibsutis.artificial_basis;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SimplexTolerances {
+    public static final SimplexTolerances DEFAULT = new SimplexTolerances(1e-9, 1e-9, 1e-10);
+
+    // Допустимое нарушение ограничений (отрицательное значение базисной переменной)
+    private double feasibility;
+    // Порог, ниже которого оценка в Z/M-строке считается отрицательной
+    private double optimality;
+    // Минимальный модуль элемента, который может быть опорным
+    private double pivot;
+}
@@ -0,0 +1,9 @@
+package ru.sibsutis.artificial_basis;
+
+public enum SolutionStatus {
+    OPTIMAL,
+    ALTERNATIVE_OPTIMA,
+    INFEASIBLE,
+    UNBOUNDED,
+    ITERATION_LIMIT
+}
@@ -0,0 +1,30 @@
+package ru.sibsutis.artificial_basis;
+
+public enum SolverMode {
+    EXACT {
+        @Override
+        public LinearSolver createSolver(SimplexProblem problem) {
+            return new SimplexSolver(problem);
+        }
+    },
+    FRACTION_FREE {
+        @Override
+        public LinearSolver createSolver(SimplexProblem problem) {
+            return new BareissSimplexSolver(problem);
+        }
+    },
+    FLOATING_POINT {
+        @Override
+        public LinearSolver createSolver(SimplexProblem problem) {
+            return new DoubleSimplexSolver(problem, SimplexTolerances.DEFAULT);
+        }
+    },
+    REVISED {
+        @Override
+        public LinearSolver createSolver(SimplexProblem problem) {
+            return new RevisedSimplexSolver(problem);
+        }
+    };
+
+    public abstract LinearSolver createSolver(SimplexProblem problem);
+}
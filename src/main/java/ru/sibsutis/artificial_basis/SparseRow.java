@@ -0,0 +1,223 @@
+package ru.sibsutis.artificial_basis;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Разреженная строка коэффициентов: хранятся только ненулевые элементы
+ * (отсортированные индексы и значения). Для остального кода это обычный
+ * {@code List<Fraction>}, в котором отсутствующие элементы равны {@link Fraction#ZERO}.
+ */
+public class SparseRow extends AbstractList<Fraction> implements RandomAccess {
+    private int size;
+    private int nonZeroCount;
+    private int[] indices;
+    private Fraction[] values;
+
+    public SparseRow(int size, int capacity) {
+        this.size = size;
+        this.indices = new int[Math.max(capacity, 1)];
+        this.values = new Fraction[Math.max(capacity, 1)];
+    }
+
+    public SparseRow() {
+        this(0, 4);
+    }
+
+    public static SparseRow of(List<Fraction> row) {
+        if (row instanceof SparseRow sparse) {
+            SparseRow copy = new SparseRow(sparse.size, sparse.nonZeroCount);
+            System.arraycopy(sparse.indices, 0, copy.indices, 0, sparse.nonZeroCount);
+            System.arraycopy(sparse.values, 0, copy.values, 0, sparse.nonZeroCount);
+            copy.nonZeroCount = sparse.nonZeroCount;
+            return copy;
+        }
+        SparseRow result = new SparseRow(0, 4);
+        for (Fraction value : row) {
+            result.add(value);
+        }
+        return result;
+    }
+
+    public int nonZeroCount() {
+        return nonZeroCount;
+    }
+
+    public int indexAt(int k) {
+        return indices[k];
+    }
+
+    public Fraction valueAt(int k) {
+        return values[k];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Fraction get(int index) {
+        checkIndex(index, size);
+        int k = Arrays.binarySearch(indices, 0, nonZeroCount, index);
+        return k >= 0 ? values[k] : Fraction.ZERO;
+    }
+
+    @Override
+    public Fraction set(int index, Fraction value) {
+        checkIndex(index, size);
+        int k = Arrays.binarySearch(indices, 0, nonZeroCount, index);
+        if (k >= 0) {
+            Fraction old = values[k];
+            if (value.signum() == 0) {
+                removeEntry(k);
+            } else {
+                values[k] = value;
+            }
+            return old;
+        }
+        if (value.signum() != 0) {
+            insertEntry(-k - 1, index, value);
+        }
+        return Fraction.ZERO;
+    }
+
+    @Override
+    public void add(int index, Fraction value) {
+        checkIndex(index, size + 1);
+        int k = Arrays.binarySearch(indices, 0, nonZeroCount, index);
+        int position = k >= 0 ? k : -k - 1;
+        for (int p = position; p < nonZeroCount; p++) {
+            indices[p]++;
+        }
+        size++;
+        if (value.signum() != 0) {
+            insertEntry(position, index, value);
+        }
+        modCount++;
+    }
+
+    @Override
+    public Fraction remove(int index) {
+        checkIndex(index, size);
+        int k = Arrays.binarySearch(indices, 0, nonZeroCount, index);
+        Fraction old = Fraction.ZERO;
+        int position = k >= 0 ? k : -k - 1;
+        if (k >= 0) {
+            old = values[k];
+            removeEntry(k);
+        }
+        for (int p = position; p < nonZeroCount; p++) {
+            indices[p]--;
+        }
+        size--;
+        modCount++;
+        return old;
+    }
+
+    // Дописывает ненулевой элемент с индексом больше всех имеющихся (без поиска)
+    void appendNonZero(int index, Fraction value) {
+        if (index >= size || (nonZeroCount > 0 && index <= indices[nonZeroCount - 1])) {
+            throw new IllegalArgumentException("Index " + index + " is not after the last non-zero element");
+        }
+        ensureCapacity(nonZeroCount + 1);
+        indices[nonZeroCount] = index;
+        values[nonZeroCount] = value;
+        nonZeroCount++;
+    }
+
+    // Меняет длину строки; при укорачивании отбрасываются элементы за новой границей
+    public void resize(int newSize) {
+        if (newSize < 0) {
+            throw new IllegalArgumentException("Negative size: " + newSize);
+        }
+        if (newSize < size) {
+            int k = Arrays.binarySearch(indices, 0, nonZeroCount, newSize);
+            int end = k >= 0 ? k : -k - 1;
+            Arrays.fill(values, end, nonZeroCount, null);
+            nonZeroCount = end;
+        }
+        size = newSize;
+        modCount++;
+    }
+
+    // Делит строку на число на месте
+    public SparseRow divideInPlace(Fraction divisor) {
+        for (int k = 0; k < nonZeroCount; k++) {
+            values[k] = values[k].divide(divisor);
+        }
+        return this;
+    }
+
+    /*
+     * this -= factor * other на месте. Слияние идёт с конца массивов, поэтому запись
+     * никогда не затирает ещё не прочитанные элементы, а новые массивы выделяются
+     * только при росте числа ненулевых элементов.
+     */
+    public SparseRow subtractMultipleInPlace(Fraction factor, SparseRow other) {
+        ensureCapacity(nonZeroCount + other.nonZeroCount);
+        int a = nonZeroCount - 1;
+        int b = other.nonZeroCount - 1;
+        int p = nonZeroCount + other.nonZeroCount;
+        while (a >= 0 || b >= 0) {
+            int indexA = a >= 0 ? indices[a] : -1;
+            int indexB = b >= 0 ? other.indices[b] : -1;
+            int index;
+            Fraction value;
+            if (indexA > indexB) {
+                index = indexA;
+                value = values[a--];
+            } else if (indexB > indexA) {
+                index = indexB;
+                value = factor.multiply(other.values[b--]).negate();
+            } else {
+                index = indexA;
+                value = values[a--].subtract(factor.multiply(other.values[b--]));
+            }
+            if (value.signum() != 0) {
+                p--;
+                indices[p] = index;
+                values[p] = value;
+            }
+        }
+        int end = nonZeroCount + other.nonZeroCount;
+        int count = end - p;
+        System.arraycopy(indices, p, indices, 0, count);
+        System.arraycopy(values, p, values, 0, count);
+        Arrays.fill(values, count, end, null);
+        nonZeroCount = count;
+        return this;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > indices.length) {
+            int newCapacity = Math.max(capacity, indices.length * 2);
+            indices = Arrays.copyOf(indices, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+        }
+    }
+
+    private void insertEntry(int position, int index, Fraction value) {
+        ensureCapacity(nonZeroCount + 1);
+        System.arraycopy(indices, position, indices, position + 1, nonZeroCount - position);
+        System.arraycopy(values, position, values, position + 1, nonZeroCount - position);
+        indices[position] = index;
+        values[position] = value;
+        nonZeroCount++;
+    }
+
+    private void removeEntry(int position) {
+        System.arraycopy(indices, position + 1, indices, position, nonZeroCount - position - 1);
+        System.arraycopy(values, position + 1, values, position, nonZeroCount - position - 1);
+        nonZeroCount--;
+        values[nonZeroCount] = null;
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + bound);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package ru.sibsutis.artificial_basis;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Правило наискорейшего ребра: выбирается столбец с максимальным d_j^2 / gamma_j,
+ * где gamma_j = 1 + ||alpha_j||^2 — норма ребра по текущей таблице. Нормы считаются
+ * по таблице только после сброса, а на каждом шаге обновляются по формуле Голдфарба — Рида
+ * из опорной строки r и опорного столбца q:
+ * gamma_j' = gamma_j - 2 * (a_rj / a_rq) * (alpha_j, alpha_q) + (a_rj / a_rq)^2 * gamma_q,
+ * для вышедшей переменной gamma = gamma_q / a_rq^2. Скалярные произведения (alpha_j, alpha_q)
+ * набираются только по строкам с ненулём в опорном столбце — тем же строкам, что меняет исключение.
+ */
+public class SteepestEdgePricing implements PricingStrategy {
+    private double[] weights = new double[0];
+    private boolean stale = true;
+
+    @Override
+    public int selectColumn(List<Fraction> costRow, List<List<Fraction>> rows, int[] columns) {
+        if (stale || weights.length < costRow.size()) {
+            computeWeights(rows, costRow.size());
+        }
+        int col = -1;
+        double best = 0;
+        for (int j : columns) {
+            Fraction cost = costRow.get(j);
+            if (cost.signum() >= 0) continue;
+            double d = cost.doubleValue();
+            double score = d * d / weights[j];
+            if (col < 0 || score > best) {
+                best = score;
+                col = j;
+            }
+        }
+        return col;
+    }
+
+    private void computeWeights(List<List<Fraction>> rows, int columnCount) {
+        weights = new double[columnCount];
+        Arrays.fill(weights, 1);
+        for (List<Fraction> row : rows) {
+            if (row instanceof SparseRow sparse) {
+                for (int k = 0; k < sparse.nonZeroCount(); k++) {
+                    addSquare(sparse.indexAt(k), sparse.valueAt(k));
+                }
+            } else {
+                for (int j = 0; j < columnCount; j++) {
+                    addSquare(j, row.get(j));
+                }
+            }
+        }
+        stale = false;
+    }
+
+    private void addSquare(int j, Fraction value) {
+        if (j >= weights.length) return;
+        double v = value.doubleValue();
+        weights[j] += v * v;
+    }
+
+    @Override
+    public void beforePivot(List<List<Fraction>> rows, int row, int col, int leavingVar) {
+        List<Fraction> pivotRow = rows.get(row);
+        if (stale || weights.length < pivotRow.size() - 1) {
+            computeWeights(rows, pivotRow.size() - 1);
+        }
+
+        // (alpha_j, alpha_q) для всех столбцов: сумма строк таблицы с множителями a_iq
+        double[] products = new double[weights.length];
+        for (List<Fraction> tableRow : rows) {
+            double factor = tableRow.get(col).doubleValue();
+            if (factor == 0) continue;
+            if (tableRow instanceof SparseRow sparse) {
+                for (int k = 0; k < sparse.nonZeroCount() && sparse.indexAt(k) < products.length; k++) {
+                    products[sparse.indexAt(k)] += factor * sparse.valueAt(k).doubleValue();
+                }
+            } else {
+                for (int j = 0; j < products.length; j++) {
+                    products[j] += factor * tableRow.get(j).doubleValue();
+                }
+            }
+        }
+
+        double pivot = pivotRow.get(col).doubleValue();
+        double pivotWeight = weights[col];
+        if (pivotRow instanceof SparseRow sparse) {
+            for (int k = 0; k < sparse.nonZeroCount(); k++) {
+                updateWeight(sparse.indexAt(k), sparse.valueAt(k).doubleValue() / pivot, products, pivotWeight, col, leavingVar);
+            }
+        } else {
+            for (int j = 0; j < pivotRow.size() - 1; j++) {
+                updateWeight(j, pivotRow.get(j).doubleValue() / pivot, products, pivotWeight, col, leavingVar);
+            }
+        }
+        if (leavingVar < weights.length) {
+            weights[leavingVar] = Math.max(pivotWeight / (pivot * pivot), 1);
+        }
+    }
+
+    // Нижняя граница 1 + ratio^2 защищает вес от ошибок округления
+    private void updateWeight(int j, double ratio, double[] products, double pivotWeight, int col, int leavingVar) {
+        if (j == col || j == leavingVar || j >= weights.length || ratio == 0) return;
+        double updated = weights[j] - 2 * ratio * products[j] + ratio * ratio * pivotWeight;
+        weights[j] = Math.max(updated, 1 + ratio * ratio);
+    }
+
+    @Override
+    public void reset(int columnCount) {
+        stale = true;
+    }
+}
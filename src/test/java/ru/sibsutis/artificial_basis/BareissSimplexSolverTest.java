@@ -0,0 +1,84 @@
+package ru.sibsutis.artificial_basis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.sibsutis.artificial_basis.TestProblems.*;
+
+/*
+ * Целочисленная таблица выбирает те же столбцы и строки, что и SimplexSolver, поэтому результаты
+ * должны совпадать точно. Тесты запускаются с включёнными assert: неточное деление в формуле
+ * Барейса сразу приводит к ошибке.
+ */
+class BareissSimplexSolverTest {
+
+    @Test
+    void solvesEqualitiesWithMixedDenominators() {
+        SimplexProblem problem = problem(Goal.MIN, "1/2 4/3 1",
+                equation("5/3 12 2/7", "=", "9/2"),
+                equation("3/4 4 4/5", "=", "11/6"));
+        assertSameResult(problem);
+    }
+
+    @Test
+    void bealeExample() {
+        SimplexProblem problem = problem(Goal.MIN, "-3/4 20 -1/2 6",
+                equation("1/4 -8 -1 9", "<=", "0"),
+                equation("1/2 -12 -1/2 3", "<=", "0"),
+                equation("0 0 1 0", "<=", "1"));
+        BareissSimplexSolver solver = assertSameResult(problem);
+        assertEquals(new Fraction(-5, 4), solver.getZValue());
+    }
+
+    @Test
+    void matchesSimplexSolverExactly() {
+        Random random = new Random(25);
+        for (int test = 0; test < 1000; test++) {
+            assertSameResult(randomProblem(random));
+        }
+    }
+
+    @Test
+    void matchesSimplexSolverWithBounds() {
+        // Верхние границы здесь — строки, а в SimplexSolver — границы, поэтому путь решения разный
+        Random random = new Random(26);
+        for (int test = 0; test < 300; test++) {
+            SimplexProblem problem = randomProblem(random);
+            int n = problem.getZCoefficients().size();
+            List<Fraction> lower = new ArrayList<>();
+            List<Fraction> upper = new ArrayList<>();
+            for (int j = 0; j < n; j++) {
+                lower.add(new Fraction(random.nextInt(3), 1 + random.nextInt(2)));
+                upper.add(random.nextBoolean() ? null : lower.get(j).add(new Fraction(1 + random.nextInt(5))));
+            }
+            problem.setLowerBounds(lower);
+            problem.setUpperBounds(upper);
+
+            SimplexSolver expected = new SimplexSolver(problem);
+            BareissSimplexSolver solver = new BareissSimplexSolver(problem);
+            SolutionStatus status = solver.solve();
+            assertEquals(isSolved(expected.solve()), isSolved(status), "problem " + test);
+            if (isSolved(status)) {
+                assertEquals(expected.getZValue(), solver.getZValue(), "problem " + test);
+            } else {
+                assertEquals(expected.getStatus(), status, "problem " + test);
+            }
+        }
+    }
+
+    private static BareissSimplexSolver assertSameResult(SimplexProblem problem) {
+        SimplexSolver expected = new SimplexSolver(problem);
+        BareissSimplexSolver solver = new BareissSimplexSolver(problem);
+        assertEquals(expected.solve(), solver.solve());
+        if (isSolved(solver.getStatus())) {
+            assertEquals(expected.getZValue(), solver.getZValue());
+            assertEquals(expected.getSolution(), solver.getSolution());
+            assertEquals(expected.getAlternativeSolution(), solver.getAlternativeSolution());
+        }
+        return solver;
+    }
+}
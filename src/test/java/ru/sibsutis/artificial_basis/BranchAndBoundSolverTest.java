@@ -0,0 +1,169 @@
+package ru.sibsutis.artificial_basis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.sibsutis.artificial_basis.TestProblems.*;
+
+class BranchAndBoundSolverTest {
+    private static final int MAX_VALUE = 4;
+
+    @Test
+    void solvesKnapsack() {
+        // max 5a + 4b + 3c: 2a + 3b + c <= 5, 4a + b + 2c <= 11, 3a + 4b + 2c <= 8, все целые
+        SimplexProblem problem = integral(problem(Goal.MAX, "5 4 3",
+                equation("2 3 1", "<=", "5"),
+                equation("4 1 2", "<=", "11"),
+                equation("3 4 2", "<=", "8")));
+        BranchAndBoundSolver solver = new BranchAndBoundSolver(problem);
+        assertEquals(SolutionStatus.OPTIMAL, solver.solve());
+        assertEquals(new Fraction(13), solver.getZValue());
+    }
+
+    @Test
+    void matchesEnumerationBestFirst() {
+        compareWithEnumeration(1, BranchAndBoundSolver.NodeSelection.BEST_FIRST, false);
+    }
+
+    @Test
+    void matchesEnumerationDepthFirst() {
+        compareWithEnumeration(2, BranchAndBoundSolver.NodeSelection.DEPTH_FIRST, false);
+    }
+
+    @Test
+    void matchesEnumerationWithCuts() {
+        compareWithEnumeration(3, BranchAndBoundSolver.NodeSelection.BEST_FIRST, true);
+    }
+
+    @Test
+    void cutsKeepIntegerOptimumFeasible() {
+        Random random = new Random(4);
+        int cutCount = 0;
+        for (int test = 0; test < 100; test++) {
+            SimplexProblem problem = randomProblem(random);
+            Fraction best = enumerate(problem);
+            SimplexSolver relaxation = new SimplexSolver(problem);
+            if (best == null || relaxation.solve() != SolutionStatus.OPTIMAL) continue;
+            Fraction before = relaxation.getZValue();
+
+            GomoryCutGenerator generator = new GomoryCutGenerator();
+            SolutionStatus status = generator.apply(relaxation);
+            assertTrue(status == SolutionStatus.OPTIMAL || status == SolutionStatus.ALTERNATIVE_OPTIMA,
+                    "problem " + test + ": " + status);
+            cutCount += generator.getCutCount();
+            // Отсечения только сужают релаксацию, но не отрезают целочисленный оптимум
+            Fraction after = relaxation.getZValue();
+            boolean max = problem.getGoal() == Goal.MAX;
+            assertTrue(max ? after.compareTo(before) <= 0 : after.compareTo(before) >= 0, "problem " + test);
+            assertTrue(max ? after.compareTo(best) >= 0 : after.compareTo(best) <= 0, "problem " + test);
+        }
+        assertTrue(cutCount > 0);
+    }
+
+    private static void compareWithEnumeration(long seed, BranchAndBoundSolver.NodeSelection selection, boolean cuts) {
+        Random random = new Random(seed);
+        for (int test = 0; test < 150; test++) {
+            SimplexProblem problem = randomProblem(random);
+            Fraction expected = enumerate(problem);
+
+            BranchAndBoundSolver solver = new BranchAndBoundSolver(problem);
+            solver.setNodeSelection(selection);
+            if (cuts) {
+                solver.setCutGenerator(new GomoryCutGenerator());
+            }
+            SolutionStatus status = solver.solve();
+            if (expected == null) {
+                assertEquals(SolutionStatus.INFEASIBLE, status, "problem " + test);
+                continue;
+            }
+            assertEquals(SolutionStatus.OPTIMAL, status, "problem " + test);
+            assertEquals(expected, solver.getZValue(), "problem " + test);
+            List<Fraction> solution = solver.getSolution();
+            int[] point = new int[problem.getZCoefficients().size()];
+            for (int j = 0; j < point.length; j++) {
+                assertTrue(solution.get(j).isInteger(), "problem " + test);
+                point[j] = solution.get(j).getNumerator().intValueExact();
+            }
+            assertTrue(isFeasible(problem, point), "problem " + test);
+        }
+    }
+
+    // Целочисленная задача с 2-3 переменными в [0, MAX_VALUE] и небольшими коэффициентами
+    private static SimplexProblem randomProblem(Random random) {
+        int n = 2 + random.nextInt(2);
+        int m = 1 + random.nextInt(3);
+        String[] signs = {"<=", "<=", ">=", "="};
+        List<Equation> equations = new ArrayList<>();
+        for (int i = 0; i < m; i++) {
+            List<Fraction> coefficients = new ArrayList<>();
+            for (int j = 0; j < n; j++) {
+                coefficients.add(new Fraction(random.nextInt(9) - 2, 1 + random.nextInt(2)));
+            }
+            equations.add(new Equation(coefficients, signs[random.nextInt(signs.length)],
+                    new Fraction(random.nextInt(15) - 2, 1 + random.nextInt(3))));
+        }
+        List<Fraction> z = new ArrayList<>();
+        for (int j = 0; j < n; j++) {
+            z.add(new Fraction(random.nextInt(11) - 5));
+        }
+        SimplexProblem problem = new SimplexProblem(random.nextBoolean() ? Goal.MAX : Goal.MIN, z, equations);
+        problem.setUpperBounds(new ArrayList<>(Collections.nCopies(n, new Fraction(MAX_VALUE))));
+        return integral(problem);
+    }
+
+    private static SimplexProblem integral(SimplexProblem problem) {
+        problem.setIntegerVariables(new ArrayList<>(Collections.nCopies(problem.getZCoefficients().size(), true)));
+        return problem;
+    }
+
+    // Лучшее значение целевой функции перебором всех целых точек; null — точек нет
+    private static Fraction enumerate(SimplexProblem problem) {
+        int n = problem.getZCoefficients().size();
+        int[] point = new int[n];
+        Fraction best = null;
+        while (true) {
+            if (isFeasible(problem, point)) {
+                Fraction value = dot(problem.getZCoefficients(), point);
+                if (best == null || (problem.getGoal() == Goal.MAX ? value.compareTo(best) > 0 : value.compareTo(best) < 0)) {
+                    best = value;
+                }
+            }
+            int j = 0;
+            while (j < n && point[j] == MAX_VALUE) {
+                point[j++] = 0;
+            }
+            if (j == n) {
+                return best;
+            }
+            point[j]++;
+        }
+    }
+
+    private static boolean isFeasible(SimplexProblem problem, int[] point) {
+        for (Equation equation : problem.getEquations()) {
+            int comparison = dot(equation.getCoefficients(), point).compareTo(equation.getResult());
+            boolean satisfied = switch (equation.getSign()) {
+                case "<=" -> comparison <= 0;
+                case ">=" -> comparison >= 0;
+                default -> comparison == 0;
+            };
+            if (!satisfied) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Fraction dot(List<Fraction> coefficients, int[] point) {
+        Fraction sum = Fraction.ZERO;
+        for (int j = 0; j < point.length; j++) {
+            sum = sum.add(coefficients.get(j).multiply(point[j]));
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,56 @@
+package ru.sibsutis.artificial_basis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.sibsutis.artificial_basis.TestProblems.*;
+
+class DoubleSimplexSolverTest {
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void solvesWyndor() {
+        DoubleSimplexSolver solver = new DoubleSimplexSolver(wyndor(), SimplexTolerances.DEFAULT);
+        assertEquals(SolutionStatus.OPTIMAL, solver.solve());
+        assertEquals(36, solver.getZValue(), EPSILON);
+        assertEquals(2, solver.getSolution()[0], EPSILON);
+        assertEquals(6, solver.getSolution()[1], EPSILON);
+    }
+
+    @Test
+    void matchesExactSolver() {
+        Random random = new Random(11);
+        int solved = 0;
+        for (int test = 0; test < 500; test++) {
+            SimplexProblem problem = randomProblem(random);
+            SimplexSolver exact = new SimplexSolver(problem);
+            SolutionStatus expected = exact.solve();
+            DoubleSimplexSolver solver = new DoubleSimplexSolver(problem, SimplexTolerances.DEFAULT);
+            SolutionStatus actual = solver.solve();
+
+            assertEquals(isSolved(expected), isSolved(actual), "problem " + test + ": " + expected + " vs " + actual);
+            if (!isSolved(expected)) {
+                assertEquals(expected, actual, "problem " + test);
+                continue;
+            }
+            solved++;
+            assertEquals(exact.getZValue().doubleValue(), solver.getZValue(), EPSILON, "problem " + test);
+            // Решение допустимо для исходной задачи
+            for (Equation equation : problem.getEquations()) {
+                double lhs = 0;
+                for (int j = 0; j < equation.getCoefficients().size(); j++) {
+                    lhs += equation.getCoefficients().get(j).doubleValue() * solver.getSolution()[j];
+                }
+                double rhs = equation.getResult().doubleValue();
+                switch (equation.getSign()) {
+                    case "<=" -> assertTrue(lhs <= rhs + EPSILON, "problem " + test);
+                    case ">=" -> assertTrue(lhs >= rhs - EPSILON, "problem " + test);
+                    default -> assertEquals(rhs, lhs, EPSILON, "problem " + test);
+                }
+            }
+        }
+        assertTrue(solved > 100);
+    }
+}
@@ -0,0 +1,120 @@
+package ru.sibsutis.artificial_basis;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FractionTest {
+    private static final long[] EDGES = {
+            0, 1, -1, 2, -3, 1L << 32, 3037000499L, -3037000500L, 1L << 62, -(1L << 62),
+            Long.MAX_VALUE, Long.MAX_VALUE - 1, Long.MIN_VALUE + 1, Long.MIN_VALUE
+    };
+
+    @Test
+    void reducesAndNormalizesSign() {
+        Fraction value = new Fraction(6, -4);
+        assertEquals(BigInteger.valueOf(-3), value.getNumerator());
+        assertEquals(BigInteger.valueOf(2), value.getDenominator());
+        assertEquals(new Fraction(-3, 2), Fraction.parseFraction("-6/4"));
+        assertThrows(IllegalArgumentException.class, () -> new Fraction(1, 0));
+    }
+
+    @Test
+    void longMinValueIsStoredAsBigInteger() {
+        Fraction min = new Fraction(Long.MIN_VALUE);
+        assertTrue(min.isBig());
+        assertEquals(BigInteger.valueOf(Long.MIN_VALUE), min.getNumerator());
+        assertEquals(new Fraction(Long.MAX_VALUE).negate().subtract(Fraction.ONE), min);
+
+        // После сокращения значение снова помещается в long
+        Fraction half = new Fraction(Long.MIN_VALUE, 2);
+        assertFalse(half.isBig());
+        assertEquals(new Fraction(-(1L << 62)), half);
+
+        Fraction inverse = new Fraction(1, Long.MIN_VALUE);
+        assertTrue(inverse.isBig());
+        assertEquals(BigInteger.ONE.negate(), inverse.getNumerator());
+        assertEquals(new Fraction(-1, 1L << 62), inverse.multiply(new Fraction(2)));
+        assertFalse(inverse.multiply(new Fraction(2)).isBig());
+    }
+
+    @Test
+    void overflowPromotesAndDemotesBack() {
+        Fraction max = new Fraction(Long.MAX_VALUE);
+        Fraction above = max.add(Fraction.ONE);
+        assertTrue(above.isBig());
+        assertEquals(BigInteger.ONE.shiftLeft(63), above.getNumerator());
+        Fraction back = above.subtract(Fraction.ONE);
+        assertFalse(back.isBig());
+        assertEquals(max, back);
+
+        Fraction low = new Fraction(Long.MIN_VALUE + 1);
+        assertFalse(low.isBig());
+        Fraction below = low.subtract(Fraction.ONE);
+        assertTrue(below.isBig());
+        assertEquals(low, below.add(Fraction.ONE));
+        assertFalse(below.add(Fraction.ONE).isBig());
+
+        Fraction root = new Fraction(3037000500L);
+        Fraction square = root.multiply(root);
+        assertTrue(square.isBig());
+        assertEquals(root, square.divide(root));
+        assertFalse(square.divide(root).isBig());
+    }
+
+    @Test
+    void arithmeticMatchesBigInteger() {
+        for (long a : EDGES) {
+            for (long b : EDGES) {
+                if (b == 0) continue;
+                for (long c : EDGES) {
+                    long d = b == Long.MIN_VALUE ? 3 : -b + 1;
+                    if (d == 0) d = 7;
+                    Fraction x = new Fraction(a, b);
+                    Fraction y = new Fraction(c, d);
+                    BigInteger bigA = BigInteger.valueOf(a);
+                    BigInteger bigB = BigInteger.valueOf(b);
+                    BigInteger bigC = BigInteger.valueOf(c);
+                    BigInteger bigD = BigInteger.valueOf(d);
+                    assertExact(new Fraction(bigA.multiply(bigD).add(bigC.multiply(bigB)), bigB.multiply(bigD)), x.add(y));
+                    assertExact(new Fraction(bigA.multiply(bigD).subtract(bigC.multiply(bigB)), bigB.multiply(bigD)), x.subtract(y));
+                    assertExact(new Fraction(bigA.multiply(bigC), bigB.multiply(bigD)), x.multiply(y));
+                    if (c != 0) {
+                        assertExact(new Fraction(bigA.multiply(bigD), bigB.multiply(bigC)), x.divide(y));
+                    }
+                    assertEquals(Integer.signum(x.subtract(y).signum()), Integer.signum(x.compareTo(y)));
+                }
+            }
+        }
+    }
+
+    @Test
+    void equalValuesAgreeAcrossRepresentations() {
+        Fraction small = new Fraction(3, 2);
+        Fraction fromBig = new Fraction(BigInteger.valueOf(6), BigInteger.valueOf(4));
+        assertEquals(small, fromBig);
+        assertEquals(small.hashCode(), fromBig.hashCode());
+        assertEquals(0, small.compareTo(fromBig));
+
+        Fraction huge = new Fraction(BigInteger.TEN.pow(30), BigInteger.valueOf(3));
+        assertTrue(huge.compareTo(new Fraction(Long.MAX_VALUE)) > 0);
+        assertTrue(huge.negate().compareTo(new Fraction(Long.MIN_VALUE)) < 0);
+    }
+
+    @Test
+    void floorAndCeilRoundTowardInfinities() {
+        assertEquals(new Fraction(-2), new Fraction(-3, 2).floor());
+        assertEquals(new Fraction(-1), new Fraction(-3, 2).ceil());
+        assertEquals(new Fraction(1), new Fraction(3, 2).floor());
+        assertEquals(new Fraction(2), new Fraction(3, 2).ceil());
+        assertEquals(new Fraction(5), new Fraction(5).floor());
+    }
+
+    // Результат совпадает с эталоном и хранится в long, если помещается в него
+    private static void assertExact(Fraction expected, Fraction actual) {
+        assertEquals(expected, actual);
+        assertEquals(expected.isBig(), actual.isBig());
+    }
+}
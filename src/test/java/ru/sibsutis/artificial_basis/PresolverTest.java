@@ -0,0 +1,145 @@
+package ru.sibsutis.artificial_basis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.sibsutis.artificial_basis.TestProblems.*;
+
+class PresolverTest {
+    @Test
+    void duplicateRowsKeepTheTighterOne() {
+        SimplexProblem problem = problem(Goal.MAX, "1 2",
+                equation("1 1", "<=", "4"),
+                equation("2 2", "<=", "6"),
+                equation("1 3", "<=", "7"));
+        SimplexProblem reduced = new Presolver(problem).presolve();
+        assertEquals(2, reduced.getEquations().size());
+        assertEquals(fractions("2 2"), reduced.getEquations().get(0).getCoefficients());
+        assertSameAsSimplexSolver(problem);
+
+        // Равенство оставляет только себя, противоречивые строки доказывают несовместность
+        Presolver equality = new Presolver(problem(Goal.MAX, "1 2",
+                equation("2 2", "<=", "6"),
+                equation("-1 -1", "=", "-2")));
+        assertEquals(1, equality.presolve().getEquations().size());
+        Presolver contradiction = new Presolver(problem(Goal.MAX, "1 2",
+                equation("1 1", ">=", "5"),
+                equation("2 2", "<=", "6")));
+        assertNull(contradiction.presolve());
+        assertEquals(SolutionStatus.INFEASIBLE, contradiction.getStatus());
+    }
+
+    @Test
+    void singletonRowsFixOrDropVariables() {
+        // 2x = 3 фиксирует x, y >= 0 следует из границы, -y >= -5 сильнее границы и остаётся
+        SimplexProblem problem = problem(Goal.MAX, "3 2 1",
+                equation("2 0 0", "=", "3"),
+                equation("0 1 0", ">=", "0"),
+                equation("0 -1 0", ">=", "-5"),
+                equation("0 1 1", "<=", "4"));
+        Presolver presolver = new Presolver(problem);
+        SimplexProblem reduced = presolver.presolve();
+        assertEquals(2, reduced.getZCoefficients().size());
+        assertEquals(2, reduced.getEquations().size());
+        assertEquals(new Fraction(9, 2), presolver.getObjectiveOffset());
+        assertSameAsSimplexSolver(problem);
+
+        Presolver outOfBounds = new Presolver(problem(Goal.MAX, "1 1",
+                equation("-1 0", "=", "2"),
+                equation("1 1", "<=", "4")));
+        assertNull(outOfBounds.presolve());
+        assertEquals(SolutionStatus.INFEASIBLE, outOfBounds.getStatus());
+    }
+
+    @Test
+    void dominatedColumnsAreFixedAtBounds() {
+        // y только ухудшает Z и только мешает строкам: y = 0
+        SimplexProblem dominated = problem(Goal.MAX, "3 -1",
+                equation("1 1", "<=", "4"),
+                equation("1 2", "<=", "6"));
+        SimplexProblem reduced = new Presolver(dominated).presolve();
+        assertEquals(1, reduced.getZCoefficients().size());
+        assertSameAsSimplexSolver(dominated);
+
+        // Выгодный y с верхней границей, рост которого не нарушает строк: y = 3
+        SimplexProblem atUpperBound = new SimplexProblem(Goal.MAX, fractions("1 2"),
+                new ArrayList<>(List.of(equation("1 -1", "<=", "2"))),
+                new ArrayList<>(fractions("0 0")), new ArrayList<>(Arrays.asList(null, new Fraction(3))));
+        Presolver presolver = new Presolver(atUpperBound);
+        presolver.presolve();
+        assertEquals(new Fraction(3), presolver.postsolve(List.of(new Fraction(5))).get(1));
+        assertSameAsSimplexSolver(atUpperBound);
+    }
+
+    @Test
+    void unboundedOnlyIfRestIsFeasible() {
+        SimplexProblem unbounded = problem(Goal.MAX, "1 1",
+                equation("1 -1", "<=", "2"),
+                equation("1 0", "<=", "3"));
+        Presolver presolver = new Presolver(unbounded);
+        presolver.presolve();
+        assertTrue(presolver.isUnboundedIfFeasible());
+        assertEquals(SolutionStatus.UNBOUNDED, new PresolvingSolver(unbounded).solve());
+
+        // Та же неограниченная переменная, но остаток задачи несовместен
+        SimplexProblem infeasible = problem(Goal.MAX, "1 1",
+                equation("1 -1", "<=", "2"),
+                equation("1 0", ">=", "5"),
+                equation("1 0", "<=", "3"));
+        assertEquals(SolutionStatus.INFEASIBLE, new PresolvingSolver(infeasible).solve());
+        assertEquals(SolutionStatus.INFEASIBLE, new SimplexSolver(infeasible).solve());
+    }
+
+    @Test
+    void postsolvedDualsMatchUnpresolvedSolve() {
+        // Строка 0 фиксирует x, строка 1 с тем же x активна: её оценка входит в оценку строки 0
+        for (Goal goal : Goal.values()) {
+            SimplexProblem problem = problem(goal, goal == Goal.MAX ? "3 2 4" : "-3 -2 -4",
+                    equation("2 0 0", "=", "3"),
+                    equation("1 1 1", "<=", "4"),
+                    equation("1 3 0", "<=", "9"),
+                    equation("0 1 2", "<=", "8"));
+            SimplexSolver plain = new SimplexSolver(problem);
+            plain.solve();
+            PresolvingSolver presolving = new PresolvingSolver(problem);
+            presolving.solve();
+
+            List<Fraction> duals = presolving.getPresolver()
+                    .postsolveDuals(presolving.getReducedSolver().analyzeSensitivity().getShadowPrices());
+            assertEquals(plain.analyzeSensitivity().getShadowPrices(), duals, goal.toString());
+            assertEquals(goal == Goal.MAX ? new Fraction(-1, 2) : new Fraction(1, 2), duals.get(0));
+        }
+    }
+
+    @Test
+    void matchesSimplexSolver() {
+        Random random = new Random(14);
+        for (int test = 0; test < 500; test++) {
+            assertSameAsSimplexSolver(randomProblem(random));
+        }
+    }
+
+    private static void assertSameAsSimplexSolver(SimplexProblem problem) {
+        SimplexSolver plain = new SimplexSolver(problem);
+        SolutionStatus expected = plain.solve();
+        PresolvingSolver presolving = new PresolvingSolver(problem);
+        SolutionStatus actual = presolving.solve();
+
+        assertEquals(isSolved(expected), isSolved(actual), expected + " vs " + actual);
+        if (!isSolved(expected)) {
+            assertEquals(expected, actual);
+            return;
+        }
+        assertEquals(plain.getZValue(), presolving.getZValue());
+        Fraction z = Fraction.ZERO;
+        for (int j = 0; j < problem.getZCoefficients().size(); j++) {
+            z = z.add(problem.getZCoefficients().get(j).multiply(presolving.getSolution().get(j)));
+        }
+        assertEquals(plain.getZValue(), z);
+    }
+}
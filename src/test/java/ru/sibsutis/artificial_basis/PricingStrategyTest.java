@@ -0,0 +1,77 @@
+package ru.sibsutis.artificial_basis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.sibsutis.artificial_basis.TestProblems.*;
+
+class PricingStrategyTest {
+    private static final List<Supplier<PricingStrategy>> STRATEGIES = List.of(
+            () -> new PartialPricing(1),
+            () -> new PartialPricing(2),
+            DevexPricing::new,
+            SteepestEdgePricing::new,
+            BlandPricing::new);
+
+    @Test
+    void partialPricingScansFirstBlockWithNegativeCost() {
+        PartialPricing pricing = new PartialPricing(2);
+        int[] columns = {0, 1, 2, 3};
+        // В первом блоке есть отрицательная оценка, более выгодный столбец 2 не просматривается
+        assertEquals(0, pricing.selectColumn(fractions("-1 0 -5 0 0"), List.of(), columns));
+        assertEquals(2, pricing.selectColumn(fractions("0 0 -5 -1 0"), List.of(), columns));
+        // Просмотр продолжается с блока прошлого выбора
+        assertEquals(3, pricing.selectColumn(fractions("-7 0 0 -1 0"), List.of(), columns));
+        assertEquals(-1, pricing.selectColumn(fractions("0 1 0 2 0"), List.of(), columns));
+        pricing.reset(5);
+        assertEquals(0, pricing.selectColumn(fractions("-7 0 0 -1 0"), List.of(), columns));
+    }
+
+    @Test
+    void steepestEdgePrefersShortEdges() {
+        // Оценка столбца 0 больше по модулю, но его ребро длиннее: 4 / 201 < 1 / 1
+        List<List<Fraction>> rows = List.of(fractions("10 0 1 0 5"), fractions("10 0 0 1 3"));
+        int[] columns = {0, 1};
+        assertEquals(0, new DantzigPricing().selectColumn(fractions("-2 -1 0 0 0"), rows, columns));
+        assertEquals(1, new SteepestEdgePricing().selectColumn(fractions("-2 -1 0 0 0"), rows, columns));
+    }
+
+    @Test
+    void strategiesReachDantzigOptimum() {
+        Random random = new Random(7);
+        for (int test = 0; test < 300; test++) {
+            SimplexProblem problem = randomProblem(random);
+            SimplexSolver dantzig = new SimplexSolver(problem);
+            SolutionStatus expected = dantzig.solve();
+            for (Supplier<PricingStrategy> strategy : STRATEGIES) {
+                SimplexSolver solver = new SimplexSolver(problem);
+                solver.setPricingStrategy(strategy.get());
+                SolutionStatus actual = solver.solve();
+                String message = "problem " + test + ", " + solver.getPricingStrategy().getClass().getSimpleName();
+                assertEquals(isSolved(expected), isSolved(actual), message + ": " + expected + " vs " + actual);
+                if (isSolved(expected)) {
+                    assertEquals(dantzig.getZValue(), solver.getZValue(), message);
+                } else {
+                    assertEquals(expected, actual, message);
+                }
+            }
+        }
+    }
+
+    @Test
+    void strategiesSolveBeale() {
+        for (Supplier<PricingStrategy> strategy : STRATEGIES) {
+            SimplexSolver solver = new SimplexSolver(problem(Goal.MIN, "-3/4 20 -1/2 6",
+                    equation("1/4 -8 -1 9", "<=", "0"),
+                    equation("1/2 -12 -1/2 3", "<=", "0"),
+                    equation("0 0 1 0", "<=", "1")));
+            solver.setPricingStrategy(strategy.get());
+            assertEquals(SolutionStatus.OPTIMAL, solver.solve());
+            assertEquals(new Fraction(-5, 4), solver.getZValue());
+        }
+    }
+}
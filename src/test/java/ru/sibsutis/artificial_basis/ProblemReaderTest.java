@@ -0,0 +1,204 @@
+package ru.sibsutis.artificial_basis;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.sibsutis.artificial_basis.TestProblems.*;
+
+class ProblemReaderTest {
+    // Одна и та же задача: max 3x + 2y + 4z, y <= 3/2, z <= 1 целое
+    private static final String LP = """
+            \\ тестовая задача
+            Maximize
+             obj: 3 x + 2 y + 4 z
+            Subject To
+             c1: x + y + 2 z <= 4
+             c2: 2 x + z >= 1
+             c3: x + 3 y = 3
+            Bounds
+             y <= 3/2
+             z <= 1
+            General
+             z
+            End
+            """;
+
+    private static final String MPS = """
+            NAME          TEST
+            OBJSENSE
+                MAX
+            ROWS
+             N  obj
+             L  c1
+             G  c2
+             E  c3
+            COLUMNS
+                x        obj  3   c1  1
+                x        c2   2   c3  1
+                y        obj  2   c1  1
+                y        c3   3
+                MARKER   'MARKER'  'INTORG'
+                z        obj  4   c1  2
+                z        c2   1
+                MARKER   'MARKER'  'INTEND'
+            RHS
+                rhs  c1  4   c2  1
+                rhs  c3  3
+            BOUNDS
+             UP bnd  y        1.5
+             UP bnd  z        1
+            ENDATA
+            """;
+
+    @Test
+    void lpAndMpsDescribeTheSameProblem() throws IOException {
+        SimplexProblem lp = LpReader.read(stream(LP));
+        SimplexProblem mps = MpsReader.read(stream(MPS), false);
+        assertSameProblem(lp, mps);
+
+        assertEquals(Goal.MAX, lp.getGoal());
+        assertEquals(fractions("3 2 4"), lp.getZCoefficients());
+        assertEquals(fractions("1 1 2"), lp.getEquations().get(0).getCoefficients());
+        assertEquals(">=", lp.getEquations().get(1).getSign());
+        assertEquals(new Fraction(3, 2), lp.getUpperBound(1));
+        assertEquals(List.of(false, false, true), integerFlags(lp));
+    }
+
+    @Test
+    void lpRationalsAndKeywordLines() throws IOException {
+        // Строка ограничения может начинаться с переменной bin; 3/4x читается как (3/4)·x
+        SimplexProblem problem = LpReader.read(stream("""
+                Minimize
+                 3/4x + bin
+                Subject To
+                 bin + 2 x >= 1/3
+                End
+                """));
+        assertEquals(fractions("3/4 1"), problem.getZCoefficients());
+        assertEquals(1, problem.getEquations().size());
+        assertEquals(fractions("2 1"), problem.getEquations().getFirst().getCoefficients());
+        assertEquals(new Fraction(1, 3), problem.getEquations().getFirst().getResult());
+
+        assertThrows(IOException.class, () -> LpReader.read(stream("Maximize\n x/2\nEnd\n")));
+    }
+
+    @Test
+    void binaryRoundTripKeepsProblem() throws IOException {
+        for (SimplexProblem problem : List.of(LpReader.read(stream(LP)), MpsReader.read(stream(MPS), false), wyndor())) {
+            SimplexProblem copy = BinaryProblemFormat.read(ByteBuffer.wrap(toBinary(problem)));
+            assertSameProblem(problem, copy);
+
+            SimplexSolver original = new SimplexSolver(problem);
+            SimplexSolver restored = new SimplexSolver(copy);
+            assertEquals(original.solve(), restored.solve());
+            assertEquals(original.getZValue(), restored.getZValue());
+        }
+    }
+
+    @Test
+    void binaryKeepsBigRationals() throws IOException {
+        Fraction big = new Fraction(Long.MIN_VALUE).divide(new Fraction(3));
+        SimplexProblem problem = problem(Goal.MIN, "1 -1",
+                new Equation(List.of(big, new Fraction(Long.MAX_VALUE, 7)), "<=", new Fraction(Long.MIN_VALUE + 1)));
+        SimplexProblem copy = BinaryProblemFormat.read(ByteBuffer.wrap(toBinary(problem)));
+        assertSameProblem(problem, copy);
+    }
+
+    @Test
+    void readsOlderVersions() throws IOException {
+        // Без границ и целочисленных переменных версия 2 короче на байт признака целых, версия 1 — ещё и границ
+        SimplexProblem problem = wyndor();
+        byte[] current = toBinary(problem);
+        for (int version = 1; version <= 2; version++) {
+            byte[] old = Arrays.copyOf(current, current.length - (3 - version));
+            old[4] = (byte) version;
+            assertSameProblem(problem, BinaryProblemFormat.read(ByteBuffer.wrap(old)));
+        }
+    }
+
+    @Test
+    void rejectsUnknownVersionAndTruncatedData() throws IOException {
+        byte[] bytes = toBinary(wyndor());
+        byte[] future = bytes.clone();
+        future[4] = (byte) (BinaryProblemFormat.VERSION + 1);
+        assertThrows(IOException.class, () -> BinaryProblemFormat.read(ByteBuffer.wrap(future)));
+
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length - 3);
+        assertThrows(IOException.class, () -> BinaryProblemFormat.read(ByteBuffer.wrap(truncated)));
+
+        byte[] foreign = "NAME TEST".getBytes(StandardCharsets.US_ASCII);
+        assertThrows(IOException.class, () -> BinaryProblemFormat.read(ByteBuffer.wrap(foreign)));
+    }
+
+    @Test
+    void readsPlainTextFormat() throws IOException {
+        SimplexProblem problem = SimplexInputReader.read(stream("min\n1 4 1\n2\n5 12 2 = 9\n3 4 4 = 11\n"));
+        assertEquals(Goal.MIN, problem.getGoal());
+        assertEquals(fractions("1 4 1"), problem.getZCoefficients());
+        assertEquals(fractions("3 4 4"), problem.getEquations().get(1).getCoefficients());
+        assertEquals("=", problem.getEquations().get(1).getSign());
+        assertEquals(new Fraction(11), problem.getEquations().get(1).getResult());
+    }
+
+    @Test
+    void rejectsHugeExponents() {
+        assertEquals(new Fraction(BigInteger.TEN.pow(1000), BigInteger.ONE), ProblemTokenizer.parseFraction("1e1000"));
+        assertEquals(new Fraction(BigInteger.ONE, BigInteger.TEN.pow(1000)), ProblemTokenizer.parseFraction("1e-1000"));
+        assertThrows(NumberFormatException.class, () -> ProblemTokenizer.parseFraction("1e1001"));
+        assertThrows(NumberFormatException.class, () -> ProblemTokenizer.parseFraction("-2.5e-999999999"));
+        IOException error = assertThrows(IOException.class, () -> LpReader.read(stream("max\n obj: 1e999999999 x\nend\n")));
+        assertTrue(error.getMessage().contains("Exponent"), error.getMessage());
+    }
+
+    private static void assertSameProblem(SimplexProblem expected, SimplexProblem actual) {
+        int n = expected.getZCoefficients().size();
+        assertEquals(expected.getGoal(), actual.getGoal());
+        assertEquals(expected.getZCoefficients(), actual.getZCoefficients());
+        assertEquals(expected.getEquations().size(), actual.getEquations().size());
+        for (int i = 0; i < expected.getEquations().size(); i++) {
+            Equation e = expected.getEquations().get(i);
+            Equation a = actual.getEquations().get(i);
+            for (int j = 0; j < n; j++) {
+                assertEquals(coefficient(e, j), coefficient(a, j), "row " + i + ", column " + j);
+            }
+            assertEquals(e.getSign(), a.getSign());
+            assertEquals(e.getResult(), a.getResult());
+        }
+        for (int j = 0; j < n; j++) {
+            assertEquals(expected.getLowerBound(j), actual.getLowerBound(j));
+            assertEquals(expected.getUpperBound(j), actual.getUpperBound(j));
+        }
+        assertEquals(integerFlags(expected), integerFlags(actual));
+    }
+
+    private static Fraction coefficient(Equation equation, int column) {
+        List<Fraction> coefficients = equation.getCoefficients();
+        return column < coefficients.size() ? coefficients.get(column) : Fraction.ZERO;
+    }
+
+    private static List<Boolean> integerFlags(SimplexProblem problem) {
+        return IntStream.range(0, problem.getZCoefficients().size())
+                .mapToObj(problem::isInteger)
+                .toList();
+    }
+
+    private static byte[] toBinary(SimplexProblem problem) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BinaryProblemFormat.write(problem, output);
+        return output.toByteArray();
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,84 @@
+package ru.sibsutis.artificial_basis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.sibsutis.artificial_basis.TestProblems.*;
+
+class RevisedSimplexSolverTest {
+    @Test
+    void solvesWyndor() {
+        RevisedSimplexSolver solver = new RevisedSimplexSolver(wyndor());
+        assertEquals(SolutionStatus.OPTIMAL, solver.solve());
+        assertEquals(new Fraction(36), solver.getZValue());
+        assertEquals(fractions("2 6"), solver.getSolution());
+    }
+
+    // Разложение после каждой замены (интервал 1) и после серии eta-матриц даёт тот же ответ
+    @Test
+    void matchesSimplexSolver() {
+        Random random = new Random(3);
+        int solved = 0;
+        for (int test = 0; test < 500; test++) {
+            SimplexProblem problem = randomProblem(random);
+            SimplexSolver exact = new SimplexSolver(problem);
+            SolutionStatus expected = exact.solve();
+            for (int interval : new int[]{1, RevisedSimplexSolver.DEFAULT_REFACTORIZATION_INTERVAL}) {
+                RevisedSimplexSolver solver = new RevisedSimplexSolver(problem, interval);
+                SolutionStatus actual = solver.solve();
+                assertEquals(isSolved(expected), isSolved(actual), "problem " + test + ": " + expected + " vs " + actual);
+                if (!isSolved(expected)) {
+                    assertEquals(expected, actual, "problem " + test);
+                    continue;
+                }
+                assertEquals(exact.getZValue(), solver.getZValue(), "problem " + test);
+            }
+            solved += isSolved(expected) ? 1 : 0;
+        }
+        assertTrue(solved > 100);
+    }
+
+    @Test
+    void boundsBecomeRows() {
+        SimplexProblem bounded = problem(Goal.MAX, "1 1", equation("1 2", "<=", "10"));
+        bounded.setLowerBounds(fractions("1 0"));
+        bounded.setUpperBounds(fractions("3 4"));
+        RevisedSimplexSolver solver = new RevisedSimplexSolver(bounded);
+        assertEquals(SolutionStatus.OPTIMAL, solver.solve());
+        assertEquals(new Fraction(13, 2), solver.getZValue());
+        assertEquals(fractions("3 7/2"), solver.getSolution());
+    }
+
+    @Test
+    void factorizationFollowsColumnReplacement() {
+        Fraction[][] columns = {
+                fractions("2 1 0").toArray(new Fraction[0]),
+                fractions("0 3 1").toArray(new Fraction[0]),
+                fractions("1 0 4").toArray(new Fraction[0])};
+        BasisFactorization factorization = new BasisFactorization(3, 10);
+        factorization.factorize(columns);
+
+        // Второй столбец базиса заменяется на entering; eta-матрица строится по B^-1 * entering
+        Fraction[] entering = fractions("1 1 1").toArray(new Fraction[0]);
+        factorization.update(1, factorization.ftran(entering));
+        columns[1] = entering;
+        BasisFactorization fresh = new BasisFactorization(3, 10);
+        fresh.factorize(columns);
+
+        Fraction[] b = fractions("3 -1 5/2").toArray(new Fraction[0]);
+        assertArrayEquals(fresh.ftran(b), factorization.ftran(b));
+        assertArrayEquals(fresh.btran(b), factorization.btran(b));
+
+        // B * x = b для найденного x
+        Fraction[] x = factorization.ftran(b);
+        for (int i = 0; i < 3; i++) {
+            Fraction sum = Fraction.ZERO;
+            for (int k = 0; k < 3; k++) {
+                sum = sum.add(columns[k][i].multiply(x[k]));
+            }
+            assertEquals(b[i], sum);
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package ru.sibsutis.artificial_basis;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.sibsutis.artificial_basis.TestProblems.*;
+
+class SimplexSolverTest {
+
+    @Test
+    void solvesInequalities() {
+        SimplexSolver solver = new SimplexSolver(wyndor());
+        assertEquals(SolutionStatus.OPTIMAL, solver.solve());
+        assertEquals(new Fraction(36), solver.getZValue());
+        assertEquals(fractions("2 6"), solver.getSolution().subList(0, 2));
+    }
+
+    @Test
+    void solvesEqualitiesThroughArtificialBasis() {
+        SimplexProblem problem = problem(Goal.MIN, "1 4 1",
+                equation("5 12 2", "=", "9"),
+                equation("3 4 4", "=", "11"));
+        SimplexSolver solver = new SimplexSolver(problem);
+        assertEquals(SolutionStatus.OPTIMAL, solver.solve());
+        assertEquals(new Fraction(3), solver.getZValue());
+        assertEquals(fractions("1 0 2"), solver.getSolution().subList(0, 3));
+    }
+
+    @Test
+    void detectsInfeasibleAndUnbounded() {
+        SimplexProblem infeasible = problem(Goal.MAX, "1 1",
+                equation("1 1", "<=", "1"),
+                equation("1 1", ">=", "2"));
+        assertEquals(SolutionStatus.INFEASIBLE, new SimplexSolver(infeasible).solve());
+
+        SimplexProblem unbounded = problem(Goal.MAX, "1 1", equation("1 -1", "<=", "1"));
+        assertEquals(SolutionStatus.UNBOUNDED, new SimplexSolver(unbounded).solve());
+    }
+
+    // Нулевой столбец выключается маской, только если рост переменной не улучшает Z
+    @Test
+    void unconstrainedImprovingVariableIsUnbounded() {
+        SimplexProblem problem = problem(Goal.MAX, "1 1/3", equation("1 0", "<=", "4"));
+        assertEquals(SolutionStatus.UNBOUNDED, new SimplexSolver(problem).solve());
+
+        SimplexProblem minimized = problem(Goal.MIN, "1 1/3", equation("1 0", ">=", "4"));
+        SimplexSolver solver = new SimplexSolver(minimized);
+        assertEquals(SolutionStatus.OPTIMAL, solver.solve());
+        assertEquals(new Fraction(4), solver.getZValue());
+
+        problem.setUpperBounds(new ArrayList<>(List.of(new Fraction(10), new Fraction(6))));
+        SimplexSolver bounded = new SimplexSolver(problem);
+        assertEquals(SolutionStatus.OPTIMAL, bounded.solve());
+        assertEquals(new Fraction(6), bounded.getZValue());
+    }
+
+    // Отношения за пределами int: раньше отбрасывались сравнением с int-границей и давали UNBOUNDED
+    @Test
+    void ratiosAboveIntRange() {
+        String big = "3000000000";
+        SimplexSolver solver = new SimplexSolver(problem(Goal.MAX, "1 0", equation("1 0", "<=", big)));
+        assertEquals(SolutionStatus.OPTIMAL, solver.solve());
+        assertEquals(Fraction.parseFraction(big), solver.getZValue());
+
+        SimplexProblem bounded = problem(Goal.MAX, "1", equation("1", "<=", big));
+        bounded.setUpperBounds(new ArrayList<>(List.of(Fraction.parseFraction("5000000000"))));
+        SimplexSolver flip = new SimplexSolver(bounded);
+        assertEquals(SolutionStatus.OPTIMAL, flip.solve());
+        assertEquals(Fraction.parseFraction(big), flip.getZValue());
+
+        SimplexSolver alternative = new SimplexSolver(problem(Goal.MAX, "1 1", equation("1 1", "<=", big)));
+        assertEquals(SolutionStatus.ALTERNATIVE_OPTIMA, alternative.solve());
+        assertEquals(Fraction.parseFraction(big), alternative.getZValue());
+        assertNotEquals(alternative.getSolution(), alternative.getAlternativeSolution());
+    }
+
+    /*
+     * Пример Била: правило Данцига с выбором первой строки при равенстве отношений
+     * зацикливается на вырожденных шагах. Переход на правило Бленда выводит к оптимуму -5/4.
+     */
+    @Test
+    void bealeExampleDoesNotCycle() {
+        SimplexSolver solver = new SimplexSolver(beale());
+        assertEquals(SolutionStatus.OPTIMAL, solver.solve());
+        assertEquals(new Fraction(-5, 4), solver.getZValue());
+        assertEquals(fractions("1 0 1 0"), solver.getSolution().subList(0, 4));
+    }
+
+    @Test
+    void bealeExampleWithBlandRule() {
+        SimplexSolver solver = new SimplexSolver(beale());
+        solver.setBlandRule(true);
+        assertEquals(SolutionStatus.OPTIMAL, solver.solve());
+        assertEquals(new Fraction(-5, 4), solver.getZValue());
+    }
+
+    @Test
+    void bealeExampleCyclesWithoutFallback() {
+        SimplexSolver solver = new SimplexSolver(beale());
+        solver.setDegeneracyThreshold(Integer.MAX_VALUE);
+        solver.setMaxIterations(1000);
+        assertEquals(SolutionStatus.ITERATION_LIMIT, solver.solve());
+    }
+
+    @Test
+    void stopsAtIterationLimit() {
+        SimplexSolver solver = new SimplexSolver(wyndor());
+        solver.setMaxIterations(1);
+        assertEquals(SolutionStatus.ITERATION_LIMIT, solver.solve());
+    }
+
+    @Test
+    void warmStartMatchesColdSolve() {
+        SimplexProblem problem = problem(Goal.MIN, "2 3 1 5",
+                equation("1 1 1 1", ">=", "4"),
+                equation("2 1 0 3", ">=", "5"),
+                equation("0 1 2 1", "<=", "7"),
+                equation("1 0 1 0", "=", "2"));
+        SimplexSolver cold = new SimplexSolver(problem);
+        assertEquals(SolutionStatus.OPTIMAL, cold.solve());
+
+        SimplexSolver warm = new SimplexSolver(problem);
+        warm.setStartingBasis(cold.getFinalBasis());
+        assertEquals(SolutionStatus.OPTIMAL, warm.solve());
+        assertEquals(cold.getZValue(), warm.getZValue());
+        assertEquals(cold.getSolution(), warm.getSolution());
+        assertTrue(warm.getIteration() <= cold.getIteration());
+    }
+
+    @Test
+    void changeResultMatchesFreshSolve() {
+        SimplexSolver solver = new SimplexSolver(wyndor());
+        solver.solve();
+        assertEquals(SolutionStatus.OPTIMAL, solver.changeResult(2, new Fraction(12)));
+
+        SimplexProblem changed = wyndor();
+        changed.getEquations().get(2).setResult(new Fraction(12));
+        SimplexSolver fresh = new SimplexSolver(changed);
+        fresh.solve();
+        assertEquals(fresh.getZValue(), solver.getZValue());
+        assertEquals(new Fraction(30), solver.getZValue());
+    }
+
+    @Test
+    void addConstraintMatchesFreshSolve() {
+        SimplexSolver solver = new SimplexSolver(wyndor());
+        solver.solve();
+        Equation added = equation("1 1", "<=", "7");
+        assertEquals(SolutionStatus.OPTIMAL, solver.addConstraint(added));
+
+        SimplexProblem extended = wyndor();
+        extended.getEquations().add(equation("1 1", "<=", "7"));
+        SimplexSolver fresh = new SimplexSolver(extended);
+        fresh.solve();
+        assertEquals(fresh.getZValue(), solver.getZValue());
+        assertEquals(new Fraction(33), solver.getZValue());
+
+        // Ограничение, отсекающее всю допустимую область
+        assertEquals(SolutionStatus.INFEASIBLE, solver.addConstraint(equation("1 1", ">=", "8")));
+    }
+
+    @Test
+    void sensitivityOfWyndor() {
+        SimplexSolver solver = new SimplexSolver(wyndor());
+        solver.solve();
+        SensitivityReport report = solver.analyzeSensitivity();
+        assertEquals(fractions("0 3/2 1"), report.getShadowPrices());
+        assertEquals(fractions("0 0"), report.getReducedCosts());
+        assertEquals(new SensitivityReport.Range(Fraction.ZERO, new Fraction(15, 2)), report.getObjectiveRanges().get(0));
+        assertEquals(new SensitivityReport.Range(new Fraction(2), null), report.getObjectiveRanges().get(1));
+        assertEquals(new SensitivityReport.Range(new Fraction(2), null), report.getResultRanges().get(0));
+        assertEquals(new SensitivityReport.Range(new Fraction(6), new Fraction(18)), report.getResultRanges().get(1));
+        assertEquals(new SensitivityReport.Range(new Fraction(12), new Fraction(24)), report.getResultRanges().get(2));
+    }
+
+    @Test
+    void boundsMatchExplicitConstraints() {
+        SimplexProblem bounded = problem(Goal.MAX, "1 1", equation("1 2", "<=", "10"));
+        bounded.setLowerBounds(fractions("1 0"));
+        bounded.setUpperBounds(new ArrayList<>(List.of(new Fraction(3), new Fraction(4))));
+        SimplexSolver solver = new SimplexSolver(bounded);
+        assertEquals(SolutionStatus.OPTIMAL, solver.solve());
+        assertEquals(new Fraction(13, 2), solver.getZValue());
+        assertEquals(fractions("3 7/2"), solver.getSolution().subList(0, 2));
+
+        SimplexSolver rows = new SimplexSolver(bounded.withBoundsAsConstraints());
+        rows.solve();
+        assertEquals(solver.getZValue(), rows.getZValue());
+    }
+
+    // Порог 0 отправляет каждое исключение в пул; порядок строк не влияет на результат
+    @Test
+    void parallelEliminationMatchesSequential() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Random random = new Random(5);
+            for (int test = 0; test < 300; test++) {
+                SimplexProblem problem = randomProblem(random);
+                SimplexSolver sequential = new SimplexSolver(problem);
+                sequential.setParallelThreshold(Integer.MAX_VALUE);
+                SimplexSolver parallel = new SimplexSolver(problem);
+                parallel.setParallelThreshold(0);
+                parallel.setPool(pool);
+
+                assertEquals(sequential.solve(), parallel.solve(), "problem " + test);
+                assertEquals(sequential.getIteration(), parallel.getIteration(), "problem " + test);
+                assertEquals(sequential.getZValue(), parallel.getZValue(), "problem " + test);
+                assertEquals(sequential.getSolution(), parallel.getSolution(), "problem " + test);
+                assertEquals(sequential.getAlternativeSolution(), parallel.getAlternativeSolution(), "problem " + test);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void printsSolutionInOriginalVariables() {
+        // x1 в [1, 3] уходит на верхнюю границу (столбец заменяется на u - x), сдвиг на 1 входит в Z
+        SimplexProblem bounded = problem(Goal.MAX, "1 1", equation("1 2", "<=", "10"));
+        bounded.setLowerBounds(fractions("1 0"));
+        bounded.setUpperBounds(new ArrayList<>(List.of(new Fraction(3), new Fraction(4))));
+        StringWriter output = new StringWriter();
+        PrintingSimplexListener printer = new PrintingSimplexListener(output);
+        SimplexSolver solver = new SimplexSolver(bounded);
+        solver.setListener(printer);
+        solver.solve();
+        printer.flush();
+
+        String text = output.toString();
+        String answer = text.substring(text.lastIndexOf("Optimal solution:"));
+        assertTrue(answer.contains("x1 = 3" + System.lineSeparator()), answer);
+        assertTrue(answer.contains("x2 = 7/2"), answer);
+        assertTrue(answer.contains("Z = 13/2"), answer);
+    }
+
+    @Test
+    void negativeLowerBound() {
+        SimplexProblem problem = problem(Goal.MIN, "1 0", equation("1 1", ">=", "-2"));
+        problem.setLowerBounds(fractions("-5 0"));
+        List<Fraction> upper = new ArrayList<>();
+        upper.add(null);
+        upper.add(Fraction.ONE);
+        problem.setUpperBounds(upper);
+        SimplexSolver solver = new SimplexSolver(problem);
+        assertEquals(SolutionStatus.OPTIMAL, solver.solve());
+        assertEquals(new Fraction(-3), solver.getZValue());
+    }
+
+    @Test
+    void crashBasisGivesSameOptimum() {
+        SimplexProblem problem = problem(Goal.MIN, "1 4 1",
+                equation("5 12 2", "=", "9"),
+                equation("3 4 4", "=", "11"));
+        SimplexSolver crash = new SimplexSolver(problem, true);
+        assertEquals(SolutionStatus.OPTIMAL, crash.solve());
+        assertEquals(new Fraction(3), crash.getZValue());
+    }
+
+    // min -3/4 x1 + 20 x2 - 1/2 x3 + 6 x4
+    private static SimplexProblem beale() {
+        return problem(Goal.MIN, "-3/4 20 -1/2 6",
+                equation("1/4 -8 -1 9", "<=", "0"),
+                equation("1/2 -12 -1/2 3", "<=", "0"),
+                equation("0 0 1 0", "<=", "1"));
+    }
+}
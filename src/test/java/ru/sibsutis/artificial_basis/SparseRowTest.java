@@ -0,0 +1,94 @@
+package ru.sibsutis.artificial_basis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SparseRowTest {
+
+    @Test
+    void keepsOnlyNonZeroElements() {
+        SparseRow row = SparseRow.of(fractions(0, 2, 0, -1, 0));
+        assertEquals(5, row.size());
+        assertEquals(2, row.nonZeroCount());
+        assertEquals(1, row.indexAt(0));
+        assertEquals(3, row.indexAt(1));
+
+        row.set(3, Fraction.ZERO);
+        row.set(4, new Fraction(7));
+        assertEquals(2, row.nonZeroCount());
+        assertEquals(fractions(0, 2, 0, 0, 7), row);
+    }
+
+    @Test
+    void insertAndRemoveShiftIndices() {
+        SparseRow row = SparseRow.of(fractions(1, 0, 3));
+        row.add(1, new Fraction(5));
+        assertEquals(fractions(1, 5, 0, 3), row);
+        row.add(0, Fraction.ZERO);
+        assertEquals(fractions(0, 1, 5, 0, 3), row);
+        assertEquals(new Fraction(5), row.remove(2));
+        assertEquals(fractions(0, 1, 0, 3), row);
+
+        row.resize(2);
+        assertEquals(fractions(0, 1), row);
+        assertEquals(1, row.nonZeroCount());
+        row.resize(3);
+        assertEquals(fractions(0, 1, 0), row);
+    }
+
+    @Test
+    void subtractMultipleMergesAndCancels() {
+        SparseRow row = SparseRow.of(fractions(1, 0, 2, 0, 4, 0));
+        SparseRow other = SparseRow.of(fractions(0, 3, 1, 0, 2, 5));
+        row.subtractMultipleInPlace(new Fraction(2), other);
+        assertEquals(fractions(1, -6, 0, 0, 0, -10), row);
+        assertEquals(3, row.nonZeroCount());
+
+        // Повторное слияние с той же строкой проверяет упорядоченность индексов
+        row.subtractMultipleInPlace(Fraction.MINUS_ONE, other);
+        assertEquals(fractions(1, -3, 1, 0, 2, -5), row);
+    }
+
+    @Test
+    void subtractMultipleMatchesDenseComputation() {
+        Random random = new Random(7);
+        for (int test = 0; test < 200; test++) {
+            int size = 1 + random.nextInt(12);
+            List<Fraction> a = randomRow(random, size);
+            List<Fraction> b = randomRow(random, size);
+            Fraction factor = new Fraction(random.nextInt(7) - 3, 1 + random.nextInt(3));
+            List<Fraction> expected = new ArrayList<>();
+            for (int j = 0; j < size; j++) {
+                expected.add(a.get(j).subtract(factor.multiply(b.get(j))));
+            }
+            SparseRow row = SparseRow.of(a);
+            row.subtractMultipleInPlace(factor, SparseRow.of(b));
+            assertEquals(expected, row);
+            for (int k = 0; k < row.nonZeroCount(); k++) {
+                assertNotEquals(0, row.valueAt(k).signum());
+                assertTrue(k == 0 || row.indexAt(k - 1) < row.indexAt(k));
+            }
+        }
+    }
+
+    private static List<Fraction> randomRow(Random random, int size) {
+        List<Fraction> row = new ArrayList<>();
+        for (int j = 0; j < size; j++) {
+            row.add(random.nextInt(3) == 0 ? new Fraction(random.nextInt(5) - 2) : Fraction.ZERO);
+        }
+        return row;
+    }
+
+    static List<Fraction> fractions(long... values) {
+        List<Fraction> result = new ArrayList<>();
+        for (long value : values) {
+            result.add(new Fraction(value));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,65 @@
+package ru.sibsutis.artificial_basis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Короткая запись задач для тестов: коэффициенты строкой через пробел, дроби как "a/b"
+final class TestProblems {
+    private TestProblems() {
+    }
+
+    static List<Fraction> fractions(String values) {
+        List<Fraction> result = new ArrayList<>();
+        for (String value : values.trim().split("\\s+")) {
+            result.add(Fraction.parseFraction(value));
+        }
+        return result;
+    }
+
+    static Equation equation(String coefficients, String sign, String result) {
+        return new Equation(fractions(coefficients), sign, Fraction.parseFraction(result));
+    }
+
+    static SimplexProblem problem(Goal goal, String zCoefficients, Equation... equations) {
+        return new SimplexProblem(goal, fractions(zCoefficients), new ArrayList<>(Arrays.asList(equations)));
+    }
+
+    // max 3x + 5y: x <= 4, 2y <= 12, 3x + 2y <= 18; оптимум x = 2, y = 6, Z = 36
+    static SimplexProblem wyndor() {
+        return problem(Goal.MAX, "3 5",
+                equation("1 0", "<=", "4"),
+                equation("0 2", "<=", "12"),
+                equation("3 2", "<=", "18"));
+    }
+
+    /*
+     * Случайная задача ЛП: 2-5 переменных, 1-4 ограничения всех трёх видов, дробные
+     * коэффициенты с разными знаменателями и правые части любого знака. Среди таких задач
+     * встречаются и недопустимые, и неограниченные, и с альтернативными оптимумами.
+     */
+    static SimplexProblem randomProblem(Random random) {
+        int n = 2 + random.nextInt(4);
+        int m = 1 + random.nextInt(4);
+        String[] signs = {"<=", "<=", ">=", "="};
+        List<Equation> equations = new ArrayList<>();
+        for (int i = 0; i < m; i++) {
+            List<Fraction> coefficients = new ArrayList<>();
+            for (int j = 0; j < n; j++) {
+                coefficients.add(random.nextInt(3) == 0 ? Fraction.ZERO : new Fraction(random.nextInt(9) - 3, 1 + random.nextInt(4)));
+            }
+            equations.add(new Equation(coefficients, signs[random.nextInt(signs.length)],
+                    new Fraction(random.nextInt(16) - 3, 1 + random.nextInt(3))));
+        }
+        List<Fraction> z = new ArrayList<>();
+        for (int j = 0; j < n; j++) {
+            z.add(new Fraction(random.nextInt(11) - 5, 1 + random.nextInt(3)));
+        }
+        return new SimplexProblem(random.nextBoolean() ? Goal.MAX : Goal.MIN, z, equations);
+    }
+
+    static boolean isSolved(SolutionStatus status) {
+        return status == SolutionStatus.OPTIMAL || status == SolutionStatus.ALTERNATIVE_OPTIMA;
+    }
+}